@@ -0,0 +1,35 @@
+package co.empresa.gestioncontratos.benchmark;
+
+import co.empresa.gestioncontratos.service.ContratoService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Asignación masiva de operarios a predios del contrato. Cada invocación alterna entre dos
+// operarios por predio, así siempre actualiza predio_operarios en lugar de repetir lo mismo
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AsignacionBenchmark {
+
+    // Predios por llamada
+    @Param({"10", "100"})
+    public int lote;
+
+    private ContratoService contratoService;
+    private boolean pares;
+
+    @Setup(Level.Trial)
+    public void preparar(EntornoBenchmark entorno) {
+        contratoService = entorno.bean(ContratoService.class);
+    }
+
+    @Benchmark
+    public int asignarOperariosMasivo(EntornoBenchmark entorno) {
+        pares = !pares;
+        return contratoService.asignarOperariosMasivo(entorno.datos.contratoUuid(), entorno.datos.asignaciones(lote, pares));
+    }
+}
@@ -0,0 +1,171 @@
+package co.empresa.gestioncontratos.benchmark;
+
+import co.empresa.gestioncontratos.dto.AsignacionPredioOperario;
+import co.empresa.gestioncontratos.entity.*;
+import co.empresa.gestioncontratos.enums.EstadoPredio;
+import co.empresa.gestioncontratos.enums.PerfilUsuario;
+import co.empresa.gestioncontratos.enums.TipoPredio;
+import co.empresa.gestioncontratos.event.DatosModificadosEvent;
+import co.empresa.gestioncontratos.repository.*;
+import co.empresa.gestioncontratos.service.SectorRollupService;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+// Datos sintéticos proporcionales al número de predios: un sector por cada 200 predios,
+// un operario por cada 50 y un contrato por cada 500. Cada predio entra en un contrato;
+// la mitad queda asignada a un operario y una décima parte completada. Semilla fija para
+// que dos ejecuciones (o dos commits) midan exactamente los mismos datos
+public class DatosSinteticos {
+
+    private static final int LOTE = 500;
+    // Hash con formato BCrypt sin contraseña conocida: los usuarios generados no inician sesión
+    private static final String PASSWORD = "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z4rj7uJmX7B1L9Ct5pKpJX6e";
+    private static final String[] CALLES = {"Calle", "Carrera", "Avenida", "Diagonal", "Transversal"};
+    private static final String[] BARRIOS = {"Centro", "Norte", "Sur", "Prado", "Bosque", "Alameda", "Jardín", "Llano"};
+
+    Contrato contrato;
+    Sector sector;
+    List<Predio> prediosEntidad = new ArrayList<>();
+    List<Usuario> operarios = new ArrayList<>();
+    List<Sector> sectores = new ArrayList<>();
+    // Asignación masiva sobre predios del primer contrato, en dos variantes que alternan de
+    // operario para que cada invocación escriba de verdad
+    List<AsignacionPredioOperario> asignacionesPares = new ArrayList<>();
+    List<AsignacionPredioOperario> asignacionesImpares = new ArrayList<>();
+
+    static DatosSinteticos generar(ConfigurableApplicationContext contexto, int predios) {
+        DatosSinteticos datos = new DatosSinteticos();
+        TransactionTemplate transaccion = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+        Random random = new Random(42);
+
+        int totalSectores = Math.max(5, predios / 200);
+        int totalOperarios = Math.max(10, predios / 50);
+        int totalContratos = Math.max(2, predios / 500);
+
+        PlanTarifa plan = transaccion.execute(status -> contexto.getBean(PlanTarifaRepository.class)
+            .save(PlanTarifa.builder().nombre("Plan benchmark").activo(true).build()));
+
+        UsuarioRepository usuarioRepository = contexto.getBean(UsuarioRepository.class);
+        Usuario supervisor = transaccion.execute(status -> usuarioRepository.save(usuario("bench_supervisor", PerfilUsuario.SUPERVISOR)));
+        List<Usuario> operarios = new ArrayList<>();
+        for (int i = 0; i < totalOperarios; i++) {
+            operarios.add(usuario("bench_operario" + i, PerfilUsuario.OPERARIO));
+        }
+        guardarPorLotes(transaccion, operarios, lote -> datos.operarios.addAll(usuarioRepository.saveAll(lote)));
+
+        SectorRepository sectorRepository = contexto.getBean(SectorRepository.class);
+        List<Sector> sectores = new ArrayList<>();
+        for (int i = 0; i < totalSectores; i++) {
+            sectores.add(Sector.builder()
+                .nombre("Sector " + i)
+                .codigo(String.format("S%04d", i))
+                .area(100.0 + random.nextInt(900))
+                .poblacion(1000 + random.nextInt(50000))
+                .activo(true)
+                .build());
+        }
+        guardarPorLotes(transaccion, sectores, lote -> datos.sectores.addAll(sectorRepository.saveAll(lote)));
+        datos.sector = datos.sectores.get(0);
+
+        PredioRepository predioRepository = contexto.getBean(PredioRepository.class);
+        List<Predio> prediosNuevos = new ArrayList<>();
+        for (int i = 0; i < predios; i++) {
+            prediosNuevos.add(Predio.builder()
+                .direccion(CALLES[random.nextInt(CALLES.length)] + " " + (1 + random.nextInt(150)) + " # "
+                    + random.nextInt(100) + "-" + random.nextInt(100) + " " + BARRIOS[random.nextInt(BARRIOS.length)])
+                .sector(datos.sectores.get(i % totalSectores))
+                .tipo(random.nextInt(4) == 0 ? TipoPredio.RURAL : TipoPredio.URBANO)
+                .area(50.0 + random.nextInt(2000))
+                .codigoCatastral(String.format("BENCH-%08d", i))
+                .activo(true)
+                .build());
+        }
+        guardarPorLotes(transaccion, prediosNuevos, lote -> datos.prediosEntidad.addAll(predioRepository.saveAll(lote)));
+
+        ContratoRepository contratoRepository = contexto.getBean(ContratoRepository.class);
+        List<Contrato> contratos = new ArrayList<>();
+        for (int i = 0; i < totalContratos; i++) {
+            contratos.add(Contrato.builder()
+                .numeroContrato(String.format("BENCH-%04d", i))
+                .sector(datos.sectores.get(i % totalSectores))
+                .planTarifa(plan)
+                .fechaInicio(LocalDate.now().minusMonths(6))
+                .fechaFin(LocalDate.now().plusMonths(6))
+                .objetivo("Contrato sintético " + i)
+                .supervisor(supervisor)
+                .coordinadores(new HashSet<>())
+                .build());
+        }
+        List<Contrato> contratosGuardados = transaccion.execute(status -> contratoRepository.saveAll(contratos));
+        datos.contrato = contratosGuardados.get(0);
+
+        List<ContratoPredio> contratoPredios = new ArrayList<>();
+        List<PredioOperario> asignaciones = new ArrayList<>();
+        for (int i = 0; i < datos.prediosEntidad.size(); i++) {
+            Predio predio = datos.prediosEntidad.get(i);
+            Contrato contrato = contratosGuardados.get(i % totalContratos);
+            Usuario operario = datos.operarios.get(i % totalOperarios);
+            boolean asignado = i % 2 == 0;
+            EstadoPredio estado = !asignado ? EstadoPredio.PENDIENTE
+                : i % 10 == 0 ? EstadoPredio.COMPLETADO : EstadoPredio.ASIGNADO;
+            // operario_id es obligatorio en la entidad aunque la asignación vigente está en predio_operarios
+            contratoPredios.add(ContratoPredio.builder()
+                .contrato(contrato).predio(predio).operario(operario).estado(estado).activo(true).build());
+            if (asignado) {
+                asignaciones.add(PredioOperario.builder()
+                    .contrato(contrato).predio(predio).operario(operario).activo(true).build());
+            }
+            // Los completados quedan fuera: reasignarlos los devolvería a ASIGNADO en la primera
+            // iteración y las siguientes medirían otro trabajo (reversión en la serie temporal)
+            if (contrato == datos.contrato && estado != EstadoPredio.COMPLETADO) {
+                Usuario otro = datos.operarios.get((i + 1) % totalOperarios);
+                datos.asignacionesPares.add(new AsignacionPredioOperario(predio.getUuid(), operario.getUuid()));
+                datos.asignacionesImpares.add(new AsignacionPredioOperario(predio.getUuid(), otro.getUuid()));
+            }
+        }
+        guardarPorLotes(transaccion, contratoPredios, contexto.getBean(ContratoPredioRepository.class)::saveAll);
+        guardarPorLotes(transaccion, asignaciones, contexto.getBean(PredioOperarioRepository.class)::saveAll);
+
+        // Derivados que en producción se mantienen con cada escritura
+        contexto.getBean(SectorRollupService.class).verificarYReparar();
+        contexto.publishEvent(DatosModificadosEvent.de("benchmark"));
+        return datos;
+    }
+
+    private static Usuario usuario(String username, PerfilUsuario perfil) {
+        return Usuario.builder()
+            .username(username)
+            .password(PASSWORD)
+            .nombre("Nombre " + username)
+            .apellido("Apellido " + username)
+            .email(username + "@benchmark.local")
+            .perfil(perfil)
+            .activo(true)
+            .build();
+    }
+
+    private static <T> void guardarPorLotes(TransactionTemplate transaccion, List<T> filas, Consumer<List<T>> guardar) {
+        for (int desde = 0; desde < filas.size(); desde += LOTE) {
+            List<T> lote = filas.subList(desde, Math.min(desde + LOTE, filas.size()));
+            transaccion.executeWithoutResult(status -> guardar.accept(lote));
+        }
+    }
+
+    List<AsignacionPredioOperario> asignaciones(int tamano, boolean pares) {
+        List<AsignacionPredioOperario> origen = pares ? asignacionesPares : asignacionesImpares;
+        return origen.subList(0, Math.min(tamano, origen.size()));
+    }
+
+    UUID contratoUuid() {
+        return contrato.getUuid();
+    }
+}
@@ -0,0 +1,61 @@
+package co.empresa.gestioncontratos.benchmark;
+
+import co.empresa.gestioncontratos.GestionContratosApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Arrays;
+
+// Aplicación completa sobre H2 en memoria (modo PostgreSQL) con datos sintéticos.
+// Los argumentos de línea de comandos tienen prioridad sobre application.properties,
+// así que la conexión a la base real nunca se usa. Lo específico de PostgreSQL
+// (particiones, triggers de sincronización, trigramas) se omite solo con H2.
+@State(Scope.Benchmark)
+public class EntornoBenchmark {
+
+    private static final String[] ARGUMENTOS = {
+        "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+        "--spring.datasource.username=sa",
+        "--spring.datasource.password=",
+        "--spring.datasource.driver-class-name=org.h2.Driver",
+        "--spring.jpa.hibernate.ddl-auto=create-drop",
+        "--spring.jpa.show-sql=false",
+        "--spring.jpa.properties.hibernate.format_sql=false",
+        "--logging.level.root=WARN",
+        "--logging.level.org.hibernate.SQL=WARN",
+        "--logging.level.co.empresa=WARN",
+        "--spring.main.banner-mode=off",
+        "--server.port=0"
+    };
+
+    // Predios generados; -p predios=1000,10000 (o -Pjmh.predios en Gradle) para varios tamaños
+    @Param("2000")
+    public int predios;
+
+    // Tamaño de lote JDBC de Hibernate; -p loteJdbc=1,50 compara contra la inserción fila a fila
+    @Param("50")
+    public int loteJdbc;
+
+    ConfigurableApplicationContext contexto;
+    DatosSinteticos datos;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        String[] argumentos = Arrays.copyOf(ARGUMENTOS, ARGUMENTOS.length + 1);
+        argumentos[ARGUMENTOS.length] = "--spring.jpa.properties.hibernate.jdbc.batch_size=" + loteJdbc;
+        contexto = new SpringApplicationBuilder(GestionContratosApplication.class).run(argumentos);
+        datos = DatosSinteticos.generar(contexto, predios);
+    }
+
+    @TearDown(Level.Trial)
+    public void detener() {
+        if (contexto != null) {
+            contexto.close();
+        }
+    }
+
+    <T> T bean(Class<T> tipo) {
+        return contexto.getBean(tipo);
+    }
+}
@@ -0,0 +1,50 @@
+package co.empresa.gestioncontratos.benchmark;
+
+import co.empresa.gestioncontratos.dto.PredioDTO;
+import co.empresa.gestioncontratos.enums.TipoPredio;
+import co.empresa.gestioncontratos.service.PredioService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Importación masiva de predios (una transacción por archivo). Con -p loteJdbc=1,50 muestra lo
+// que aportan los ids por secuencia: con IDENTITY cada INSERT salía al momento, fila a fila
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ImportacionBenchmark {
+
+    // Filas por archivo importado
+    @Param({"100", "1000"})
+    public int filas;
+
+    private PredioService predioService;
+    private UUID sectorUuid;
+    private long archivo;
+
+    @Setup(Level.Trial)
+    public void preparar(EntornoBenchmark entorno) {
+        predioService = entorno.bean(PredioService.class);
+        sectorUuid = entorno.datos.sector.getUuid();
+    }
+
+    @Benchmark
+    public int importarPredios() {
+        archivo++;
+        List<PredioDTO> predios = new ArrayList<>(filas);
+        for (int i = 0; i < filas; i++) {
+            predios.add(PredioDTO.builder()
+                .direccion("Importación " + archivo + " fila " + i)
+                .sectorUuid(sectorUuid)
+                .tipo(i % 4 == 0 ? TipoPredio.RURAL : TipoPredio.URBANO)
+                .build());
+        }
+        return predioService.importarPredios(predios).size();
+    }
+}
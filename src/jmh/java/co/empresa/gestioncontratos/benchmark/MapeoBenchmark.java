@@ -0,0 +1,68 @@
+package co.empresa.gestioncontratos.benchmark;
+
+import co.empresa.gestioncontratos.dto.PredioDTO;
+import co.empresa.gestioncontratos.dto.SectorDTO;
+import co.empresa.gestioncontratos.dto.UsuarioDTO;
+import co.empresa.gestioncontratos.entity.Predio;
+import co.empresa.gestioncontratos.entity.Sector;
+import co.empresa.gestioncontratos.entity.Usuario;
+import co.empresa.gestioncontratos.mapper.PredioMapper;
+import co.empresa.gestioncontratos.mapper.SectorMapper;
+import co.empresa.gestioncontratos.mapper.UsuarioMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Conversión entidad -> DTO con los mappers de MapStruct, sin base de datos: las entidades
+// ya están cargadas (con su sector) y se mide solo la copia
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapeoBenchmark {
+
+    private PredioMapper predioMapper;
+    private SectorMapper sectorMapper;
+    private UsuarioMapper usuarioMapper;
+    private List<Predio> predios;
+    private List<Sector> sectores;
+    private List<Usuario> operarios;
+
+    @Setup(Level.Trial)
+    public void preparar(EntornoBenchmark entorno) {
+        predioMapper = entorno.bean(PredioMapper.class);
+        sectorMapper = entorno.bean(SectorMapper.class);
+        usuarioMapper = entorno.bean(UsuarioMapper.class);
+        predios = entorno.datos.prediosEntidad;
+        sectores = entorno.datos.sectores;
+        operarios = entorno.datos.operarios;
+    }
+
+    @Benchmark
+    public void predios(Blackhole blackhole) {
+        for (Predio predio : predios) {
+            PredioDTO dto = predioMapper.toDTO(predio);
+            blackhole.consume(dto);
+        }
+    }
+
+    @Benchmark
+    public void sectores(Blackhole blackhole) {
+        for (Sector sector : sectores) {
+            SectorDTO dto = sectorMapper.toDTO(sector);
+            blackhole.consume(dto);
+        }
+    }
+
+    @Benchmark
+    public void usuarios(Blackhole blackhole) {
+        for (Usuario usuario : operarios) {
+            UsuarioDTO dto = usuarioMapper.toDTO(usuario);
+            blackhole.consume(dto);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package co.empresa.gestioncontratos.benchmark;
+
+import co.empresa.gestioncontratos.config.PasswordEncoderLimitado;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Logins por segundo (verificaciones BCrypt) a través del pool acotado, para distintos costos.
+// Sin base de datos. Un cliente por núcleo, tantos como hilos del pool; lanzado con más hilos
+// que núcleos (opción -t de JMH) se ven la cola y los rechazos
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class PasswordBenchmark {
+
+    private static final String CLAVE = "operario123";
+
+    @Param({"8", "10", "12"})
+    public int costo;
+
+    private PasswordEncoderLimitado encoder;
+    private String hash;
+
+    // Verificaciones rechazadas por cola llena o tiempo agotado, junto a la métrica principal
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Rechazos {
+        public long rechazados;
+    }
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        int nucleos = Runtime.getRuntime().availableProcessors();
+        encoder = new PasswordEncoderLimitado(costo, nucleos, 64, Duration.ofSeconds(30), new SimpleMeterRegistry());
+        hash = new BCryptPasswordEncoder(costo).encode(CLAVE);
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        encoder.shutdown();
+    }
+
+    @Benchmark
+    public boolean verificar(Rechazos rechazos) {
+        try {
+            return encoder.matches(CLAVE, hash);
+        } catch (AuthenticationServiceException e) {
+            rechazos.rechazados++;
+            return false;
+        }
+    }
+}
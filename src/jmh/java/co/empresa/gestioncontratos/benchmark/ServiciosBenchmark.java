@@ -0,0 +1,67 @@
+package co.empresa.gestioncontratos.benchmark;
+
+import co.empresa.gestioncontratos.entity.Predio;
+import co.empresa.gestioncontratos.enums.TipoPredio;
+import co.empresa.gestioncontratos.service.ContratoService;
+import co.empresa.gestioncontratos.service.DashboardService;
+import co.empresa.gestioncontratos.service.PredioService;
+import co.empresa.gestioncontratos.service.SectorService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Consultas de lectura de las pantallas principales, a través de los servicios (con sus
+// transacciones, cachés y proxies) contra la base sintética
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServiciosBenchmark {
+
+    private static final Pageable PAGINA = PageRequest.of(0, 20);
+
+    private ContratoService contratoService;
+    private PredioService predioService;
+    private SectorService sectorService;
+    private DashboardService dashboardService;
+
+    @Setup(Level.Trial)
+    public void preparar(EntornoBenchmark entorno) {
+        contratoService = entorno.bean(ContratoService.class);
+        predioService = entorno.bean(PredioService.class);
+        sectorService = entorno.bean(SectorService.class);
+        dashboardService = entorno.bean(DashboardService.class);
+    }
+
+    @Benchmark
+    public Map<String, Object> estadisticasContrato(EntornoBenchmark entorno) {
+        return contratoService.obtenerEstadisticas(entorno.datos.contrato);
+    }
+
+    @Benchmark
+    public Page<Predio> buscarPrediosPorTexto() {
+        return predioService.buscarConFiltros("prado", null, null, PAGINA);
+    }
+
+    @Benchmark
+    public Page<Predio> buscarPrediosPorSectorYTipo(EntornoBenchmark entorno) {
+        return predioService.buscarConFiltros(null, entorno.datos.sector.getUuid(), TipoPredio.RURAL, PAGINA);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> resumenSectores() {
+        return sectorService.obtenerResumenSectores();
+    }
+
+    @Benchmark
+    public Map<String, Object> estadisticasAdministrador() {
+        return dashboardService.getAdminStats();
+    }
+}
@@ -0,0 +1,80 @@
+package co.empresa.gestioncontratos.benchmark;
+
+import co.empresa.gestioncontratos.entity.UuidV7;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Inserción en una tabla con índice único por uuid que crece durante toda la prueba, como
+// predios o actividades: con v4 cada fila cae en una página cualquiera del índice, con v7 en
+// la última. Solo JDBC sobre H2, sin la aplicación, para medir el índice y no el resto.
+// Tiempo por fila insertada
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UuidIndiceBenchmark {
+
+    @Param({"v4", "v7"})
+    public String version;
+
+    // Filas existentes antes de medir: el efecto crece con el tamaño del índice
+    @Param("500000")
+    public int filasPrevias;
+
+    private static final int LOTE = 1000;
+
+    private Connection conexion;
+    private PreparedStatement insercion;
+    private long id;
+
+    @Setup(Level.Trial)
+    public void preparar() throws SQLException {
+        conexion = DriverManager.getConnection("jdbc:h2:mem:uuid_" + version + ";DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement sentencia = conexion.createStatement()) {
+            sentencia.execute("DROP TABLE IF EXISTS uuid_indice");
+            sentencia.execute("CREATE TABLE uuid_indice (id BIGINT PRIMARY KEY, uuid UUID NOT NULL)");
+            sentencia.execute("CREATE UNIQUE INDEX uk_uuid_indice ON uuid_indice (uuid)");
+        }
+        conexion.setAutoCommit(false);
+        insercion = conexion.prepareStatement("INSERT INTO uuid_indice (id, uuid) VALUES (?, ?)");
+        for (int i = 0; i < filasPrevias; i += LOTE) {
+            insertarLote();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() throws SQLException {
+        if (conexion != null) {
+            try (Statement sentencia = conexion.createStatement()) {
+                sentencia.execute("DROP ALL OBJECTS");
+            }
+            conexion.close();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOTE)
+    public long insertarLote() throws SQLException {
+        for (int i = 0; i < LOTE; i++) {
+            insercion.setLong(1, ++id);
+            insercion.setObject(2, generar());
+            insercion.addBatch();
+        }
+        insercion.executeBatch();
+        conexion.commit();
+        return id;
+    }
+
+    private UUID generar() {
+        return "v7".equals(version) ? UuidV7.generar() : UUID.randomUUID();
+    }
+}
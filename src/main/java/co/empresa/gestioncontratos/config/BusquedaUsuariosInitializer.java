@@ -0,0 +1,69 @@
+package co.empresa.gestioncontratos.config;
+
+import co.empresa.gestioncontratos.entity.Usuario;
+import co.empresa.gestioncontratos.repository.UsuarioRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.List;
+
+// Completa la columna usuarios.busqueda en filas antiguas y, en PostgreSQL,
+// crea el índice GIN de trigramas que usa la búsqueda con LIKE '%texto%'
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BusquedaUsuariosInitializer implements ApplicationRunner {
+
+    private final UsuarioRepository usuarioRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        completarColumnaBusqueda();
+        crearIndiceTrigramas();
+    }
+
+    private void completarColumnaBusqueda() {
+        Integer actualizados = transactionTemplate.execute(status -> {
+            List<Usuario> pendientes = usuarioRepository.findByBusquedaIsNull();
+            pendientes.forEach(Usuario::actualizarBusqueda);
+            return pendientes.size();
+        });
+        if (actualizados != null && actualizados > 0) {
+            log.info("Columna de búsqueda completada para {} usuarios", actualizados);
+        }
+    }
+
+    private void crearIndiceTrigramas() {
+        if (!esPostgres()) {
+            log.debug("Base de datos distinta de PostgreSQL, se omite el índice de trigramas");
+            return;
+        }
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_usuarios_busqueda_trgm " +
+                "ON usuarios USING gin (busqueda gin_trgm_ops)");
+            log.info("Índice de trigramas para búsqueda de usuarios verificado");
+        } catch (Exception e) {
+            // Sin permisos para la extensión la búsqueda sigue funcionando, solo sin índice
+            log.warn("No se pudo crear el índice de trigramas de usuarios: {}", e.getMessage());
+        }
+    }
+
+    private boolean esPostgres() {
+        try (Connection connection = dataSource.getConnection()) {
+            return "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package co.empresa.gestioncontratos.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+// Regiones de la caché de segundo nivel de Hibernate sobre Caffeine (JCache en proceso). Se crean
+// aquí con tamaño y vencimiento propios en lugar de dejar que Hibernate las cree sin límites.
+// Las escrituras por JDBC directo (generador, rollups) no invalidan estas regiones: se corrigen al vencer
+@Configuration
+public class CacheSegundoNivelConfig {
+
+    private static final String[] REGIONES_REFERENCIA = {"sectores", "planes-tarifas", "servicios", "tarifas"};
+
+    @Bean(destroyMethod = "close")
+    public static CacheManager cacheManagerHibernate(
+            @Value("${app.cache.referencia.max-size:10000}") long maxReferencia,
+            @Value("${app.cache.referencia.ttl:PT1H}") Duration ttlReferencia,
+            @Value("${app.cache.usuarios.max-size:20000}") long maxUsuarios,
+            @Value("${app.cache.usuarios.ttl:PT10M}") Duration ttlUsuarios,
+            @Value("${app.cache.consultas.max-size:1000}") long maxConsultas,
+            @Value("${app.cache.consultas.ttl:PT5M}") Duration ttlConsultas) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+
+        for (String region : REGIONES_REFERENCIA) {
+            crear(cacheManager, region, maxReferencia, ttlReferencia);
+            crear(cacheManager, region + "-uuid", maxReferencia, ttlReferencia);
+        }
+        crear(cacheManager, "usuarios", maxUsuarios, ttlUsuarios);
+        crear(cacheManager, "roles", maxConsultas, ttlConsultas);
+        crear(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, maxConsultas, ttlConsultas);
+        // Las marcas de actualización por tabla deciden si un resultado cacheado sigue vigente: sin vencimiento
+        crear(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, 1000, null);
+        return cacheManager;
+    }
+
+    @Bean
+    public static HibernatePropertiesCustomizer cacheSegundoNivel(CacheManager cacheManagerHibernate) {
+        return propiedades -> propiedades.put(ConfigSettings.CACHE_MANAGER, cacheManagerHibernate);
+    }
+
+    private static void crear(CacheManager cacheManager, String region, long maximo, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuracion = new CaffeineConfiguration<>();
+        configuracion.setStoreByValue(false);
+        configuracion.setStatisticsEnabled(true);
+        configuracion.setMaximumSize(OptionalLong.of(maximo));
+        if (ttl != null) {
+            configuracion.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        // El proveedor comparte el CacheManager por classloader: un contexto reiniciado las encuentra creadas
+        if (cacheManager.getCache(region) != null) {
+            cacheManager.destroyCache(region);
+        }
+        cacheManager.createCache(region, configuracion);
+    }
+}
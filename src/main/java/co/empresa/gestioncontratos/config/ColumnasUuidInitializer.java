@@ -0,0 +1,88 @@
+package co.empresa.gestioncontratos.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.List;
+
+// Identificadores públicos en el tipo uuid nativo de PostgreSQL (16 bytes, comparación binaria).
+// Las entidades ya lo declaran; esto convierte las columnas que una versión anterior del esquema
+// dejó como texto o bytea. ddl-auto=update no cambia el tipo de una columna existente.
+// En la tabla particionada de actividades el cambio se propaga a todas las particiones
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@Slf4j
+public class ColumnasUuidInitializer implements ApplicationRunner {
+
+    private static final List<String[]> COLUMNAS = List.of(
+        new String[] {"servicios", "uuid"}, new String[] {"planes_tarifas", "uuid"}, new String[] {"tarifas", "uuid"},
+        new String[] {"sectores", "uuid"}, new String[] {"usuarios", "uuid"}, new String[] {"predios", "uuid"},
+        new String[] {"contratos", "uuid"}, new String[] {"contrato_predios", "uuid"},
+        new String[] {"predio_operarios", "uuid"}, new String[] {"actividades", "uuid"},
+        new String[] {"actividad_revisiones", "lote"});
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final TransactionTemplate transactionTemplate;
+
+    public ColumnasUuidInitializer(JdbcTemplate jdbcTemplate, DataSource dataSource,
+                                   PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!esPostgres()) {
+            log.debug("Base de datos distinta de PostgreSQL, se omite la revisión de columnas uuid");
+            return;
+        }
+        for (String[] columna : COLUMNAS) {
+            try {
+                convertir(columna[0], columna[1]);
+            } catch (Exception e) {
+                log.error("No se pudo convertir {}.{} a uuid: {}", columna[0], columna[1], e.getMessage());
+            }
+        }
+    }
+
+    private void convertir(String tabla, String columna) {
+        List<String> tipos = jdbcTemplate.queryForList(
+            "SELECT data_type FROM information_schema.columns " +
+            "WHERE table_name = ? AND column_name = ? AND table_schema = current_schema()", String.class, tabla, columna);
+        if (tipos.isEmpty() || "uuid".equals(tipos.get(0))) {
+            return;
+        }
+        String tipo = tipos.get(0);
+        String conversion = switch (tipo) {
+            case "character varying", "character", "text" -> columna + "::uuid";
+            case "bytea" -> "encode(" + columna + ", 'hex')::uuid";
+            default -> null;
+        };
+        if (conversion == null) {
+            log.warn("{}.{} es de tipo {}, no se sabe convertir a uuid", tabla, columna, tipo);
+            return;
+        }
+        log.info("Convirtiendo {}.{} de {} a uuid", tabla, columna, tipo);
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.execute(
+            "ALTER TABLE " + tabla + " ALTER COLUMN " + columna + " TYPE uuid USING " + conversion));
+    }
+
+    private boolean esPostgres() {
+        try (Connection connection = dataSource.getConnection()) {
+            return "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
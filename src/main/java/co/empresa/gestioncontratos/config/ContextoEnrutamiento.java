@@ -0,0 +1,53 @@
+package co.empresa.gestioncontratos.config;
+
+// Estado de enrutamiento del hilo actual: si la sesión escribió hace poco (o esta misma petición
+// ya abrió una transacción de escritura) las lecturas van a la primaria, para que el usuario vea
+// sus propios cambios aunque la réplica vaya atrasada. Lo abre FiltroLecturaPrimaria por petición;
+// un proceso que necesite leer lo recién escrito puede abrirlo con iniciar(true)
+public final class ContextoEnrutamiento implements AutoCloseable {
+
+    private static final ThreadLocal<ContextoEnrutamiento> ACTUAL = new ThreadLocal<>();
+
+    private final ContextoEnrutamiento anterior;
+    private final boolean escrituraReciente;
+    private boolean huboEscritura;
+
+    private ContextoEnrutamiento(ContextoEnrutamiento anterior, boolean escrituraReciente) {
+        this.anterior = anterior;
+        this.escrituraReciente = escrituraReciente;
+    }
+
+    public static ContextoEnrutamiento iniciar(boolean escrituraReciente) {
+        ContextoEnrutamiento contexto = new ContextoEnrutamiento(ACTUAL.get(), escrituraReciente);
+        ACTUAL.set(contexto);
+        return contexto;
+    }
+
+    @Override
+    public void close() {
+        if (anterior != null) {
+            ACTUAL.set(anterior);
+        } else {
+            ACTUAL.remove();
+        }
+    }
+
+    static void registrarEscritura() {
+        for (ContextoEnrutamiento contexto = ACTUAL.get(); contexto != null; contexto = contexto.anterior) {
+            contexto.huboEscritura = true;
+        }
+    }
+
+    static boolean requierePrimaria() {
+        for (ContextoEnrutamiento contexto = ACTUAL.get(); contexto != null; contexto = contexto.anterior) {
+            if (contexto.escrituraReciente || contexto.huboEscritura) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean huboEscritura() {
+        return huboEscritura;
+    }
+}
@@ -8,7 +8,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
 import org.springframework.stereotype.Component;
 
-import co.empresa.gestioncontratos.entity.Usuario;
+import co.empresa.gestioncontratos.dto.UsuarioPrincipal;
 import co.empresa.gestioncontratos.enums.PerfilUsuario;
 
 import java.io.IOException;
@@ -20,7 +20,7 @@ public class CustomAuthenticationSuccessHandler implements AuthenticationSuccess
     public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response,
                                         Authentication authentication) throws IOException, ServletException {
         
-        Usuario usuario = (Usuario) authentication.getPrincipal();
+        UsuarioPrincipal usuario = (UsuarioPrincipal) authentication.getPrincipal();
         String redirectUrl = determineTargetUrl(usuario.getPerfil());
         
         // Almacenar información del usuario en la sesión
@@ -0,0 +1,127 @@
+package co.empresa.gestioncontratos.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.util.Set;
+
+// DataSource de la aplicación instrumentado para MedicionConsultas: cuenta toda sentencia que
+// llega a JDBC (Hibernate, JdbcTemplate o JDBC directo), su tiempo de ejecución y las filas
+// leídas de cada ResultSet. Sin medición abierta en el hilo solo delega
+public class DataSourceMedido extends DelegatingDataSource {
+
+    private static final Set<String> CREAN_SENTENCIA = Set.of("createStatement", "prepareStatement", "prepareCall");
+    private static final Set<String> EJECUTAN = Set.of("execute", "executeQuery", "executeUpdate",
+        "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+    private static final Set<String> DEVUELVEN_RESULTADOS = Set.of("executeQuery", "getResultSet", "getGeneratedKeys");
+
+    public DataSourceMedido(DataSource destino) {
+        super(destino);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return conexion(obtenerDestino().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String usuario, String password) throws SQLException {
+        return conexion(obtenerDestino().getConnection(usuario, password));
+    }
+
+    private DataSource obtenerDestino() {
+        DataSource destino = getTargetDataSource();
+        if (destino == null) {
+            throw new IllegalStateException("DataSourceMedido sin DataSource de destino");
+        }
+        return destino;
+    }
+
+    private static Connection conexion(Connection conexion) {
+        return proxy(Connection.class, conexion, (metodo, args, resultado) -> {
+            if (CREAN_SENTENCIA.contains(metodo.getName()) && resultado instanceof Statement sentencia) {
+                // La sentencia preparada trae su SQL; la simple lo recibe al ejecutar
+                String sql = args != null && args.length > 0 && args[0] instanceof String texto ? texto : null;
+                return sentencia(sentencia, sql);
+            }
+            return resultado;
+        });
+    }
+
+    private static Statement sentencia(Statement sentencia, String sqlPreparado) {
+        Class<? extends Statement> tipo = sentencia instanceof CallableStatement ? CallableStatement.class
+            : sentencia instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        return proxy(tipo, sentencia, new Interceptor() {
+            @Override
+            public Object invocar(Object destino, Method metodo, Object[] args) throws Throwable {
+                MedicionConsultas medicion = MedicionConsultas.actual();
+                if (medicion == null || !EJECUTAN.contains(metodo.getName())) {
+                    return Interceptor.super.invocar(destino, metodo, args);
+                }
+                String sql = args != null && args.length > 0 && args[0] instanceof String texto ? texto : sqlPreparado;
+                long inicio = System.nanoTime();
+                try {
+                    return Interceptor.super.invocar(destino, metodo, args);
+                } finally {
+                    medicion.registrarTiempoJdbc(System.nanoTime() - inicio);
+                    medicion.registrarSentencia(sql != null ? sql : "(lote)");
+                }
+            }
+
+            @Override
+            public Object despues(Method metodo, Object[] args, Object resultado) {
+                if (DEVUELVEN_RESULTADOS.contains(metodo.getName()) && resultado instanceof ResultSet filas) {
+                    return resultados(filas);
+                }
+                return resultado;
+            }
+        });
+    }
+
+    private static ResultSet resultados(ResultSet resultados) {
+        return proxy(ResultSet.class, resultados, (metodo, args, resultado) -> {
+            if ("next".equals(metodo.getName()) && Boolean.TRUE.equals(resultado)) {
+                MedicionConsultas medicion = MedicionConsultas.actual();
+                if (medicion != null) {
+                    medicion.registrarFila();
+                }
+            }
+            return resultado;
+        });
+    }
+
+    // Delega cada llamada y deja transformar el resultado (envolver sentencias y ResultSet)
+    @FunctionalInterface
+    private interface Interceptor {
+
+        Object despues(Method metodo, Object[] args, Object resultado);
+
+        default Object invocar(Object destino, Method metodo, Object[] args) throws Throwable {
+            try {
+                return metodo.invoke(destino, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private static <T> T proxy(Class<T> tipo, T destino, Interceptor interceptor) {
+        InvocationHandler manejador = (proxy, metodo, args) -> {
+            // unwrap e isWrapperFor llegan al objeto real: quien pide el tipo del driver lo recibe
+            if (metodo.getDeclaringClass() == Object.class) {
+                return switch (metodo.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> metodo.invoke(destino, args);
+                };
+            }
+            return interceptor.despues(metodo, args, interceptor.invocar(destino, metodo, args));
+        };
+        return tipo.cast(Proxy.newProxyInstance(DataSourceMedido.class.getClassLoader(), new Class<?>[] {tipo}, manejador));
+    }
+}
@@ -0,0 +1,32 @@
+package co.empresa.gestioncontratos.config;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.sql.SQLException;
+
+// Una transacción que lee de la réplica puede ver datos atrasados: la sesión solo consulta la caché
+// de segundo nivel y la de consultas (CacheMode.GET), sin guardar lo leído, para que un resultado
+// viejo no quede servido desde la caché a todos. El resto de transacciones vuelve a NORMAL (con
+// open-in-view la misma sesión atraviesa varias transacciones de la petición)
+public class DialectoJpaReplica extends HibernateJpaDialect {
+
+    private final ObjectProvider<MonitorReplica> monitor;
+
+    public DialectoJpaReplica(ObjectProvider<MonitorReplica> monitor) {
+        this.monitor = monitor;
+    }
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws SQLException {
+        Object datos = super.beginTransaction(entityManager, definition);
+        boolean replica = definition.isReadOnly() && EnrutadorDataSource.leeDeReplica(monitor.getObject());
+        entityManager.unwrap(Session.class).setCacheMode(replica ? CacheMode.GET : CacheMode.NORMAL);
+        return datos;
+    }
+}
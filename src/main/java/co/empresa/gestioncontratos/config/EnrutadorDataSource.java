@@ -0,0 +1,76 @@
+package co.empresa.gestioncontratos.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+// Transacciones readOnly a la réplica; escrituras, trabajo fuera de transacción (inicializadores,
+// JDBC directo) y lecturas de una sesión que acaba de escribir, a la primaria. Si la réplica está
+// atrasada o no entrega conexión, la lectura cae en la primaria.
+// Debe ir detrás de un LazyConnectionDataSourceProxy: la transacción se marca como readOnly después
+// de pedir la conexión, y el proxy retrasa la elección hasta la primera sentencia
+public class EnrutadorDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARIA = "primaria";
+    static final String REPLICA = "replica";
+
+    private final DataSource primaria;
+    private final DataSource replica;
+    private final MonitorReplica monitor;
+    private final Counter conexionesPrimaria;
+    private final Counter conexionesReplica;
+    private final Counter caidasReplica;
+
+    public EnrutadorDataSource(DataSource primaria, DataSource replica, MonitorReplica monitor, MeterRegistry registry) {
+        this.primaria = primaria;
+        this.replica = replica;
+        this.monitor = monitor;
+        this.conexionesPrimaria = registry.counter("app.datasource.conexiones", "destino", PRIMARIA);
+        this.conexionesReplica = registry.counter("app.datasource.conexiones", "destino", REPLICA);
+        this.caidasReplica = registry.counter("app.datasource.replica.fallos");
+        setTargetDataSources(Map.of(PRIMARIA, primaria, REPLICA, replica));
+        setDefaultTargetDataSource(primaria);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARIA;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            ContextoEnrutamiento.registrarEscritura();
+            return PRIMARIA;
+        }
+        return leeDeReplica(monitor) ? REPLICA : PRIMARIA;
+    }
+
+    // Destino de una transacción readOnly del hilo actual (también lo consulta DialectoJpaReplica)
+    static boolean leeDeReplica(MonitorReplica monitor) {
+        return !ContextoEnrutamiento.requierePrimaria() && monitor.disponible();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (determineTargetDataSource() != replica) {
+            conexionesPrimaria.increment();
+            return primaria.getConnection();
+        }
+        try {
+            Connection conexion = replica.getConnection();
+            conexionesReplica.increment();
+            return conexion;
+        } catch (SQLException e) {
+            caidasReplica.increment();
+            monitor.marcarCaida(e);
+            conexionesPrimaria.increment();
+            return primaria.getConnection();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package co.empresa.gestioncontratos.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+// Lectura tras escritura: una sesión (sesión HTTP de la web o token de la API) que escribió en la
+// primaria sigue leyendo de ella durante la ventana configurada, que debe cubrir el retraso
+// máximo tolerado de la réplica. Va después de FiltroMetricasConsultas y antes de la seguridad,
+// para que la carga del usuario también respete la ventana
+@Component
+@ConditionalOnProperty(name = "app.replica.habilitada", havingValue = "true")
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class FiltroLecturaPrimaria extends OncePerRequestFilter {
+
+    private static final String PREFIJO = "Bearer ";
+
+    private final Cache<String, Boolean> escriturasRecientes;
+
+    public FiltroLecturaPrimaria(@Value("${app.replica.ventana-lectura-primaria:PT15S}") Duration ventana,
+                                 @Value("${app.replica.sesiones.max-size:50000}") long maxSesiones) {
+        this.escriturasRecientes = Caffeine.newBuilder()
+            .expireAfterWrite(ventana)
+            .maximumSize(maxSesiones)
+            .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String clave = claveSesion(request);
+        boolean reciente = clave != null && escriturasRecientes.getIfPresent(clave) != null;
+        try (ContextoEnrutamiento contexto = ContextoEnrutamiento.iniciar(reciente)) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                if (contexto.huboEscritura()) {
+                    // Se recalcula: el inicio de sesión cambia el id de la sesión
+                    String claveFinal = claveSesion(request);
+                    if (claveFinal != null) {
+                        escriturasRecientes.put(claveFinal, Boolean.TRUE);
+                    }
+                }
+            }
+        }
+    }
+
+    private static String claveSesion(HttpServletRequest request) {
+        HttpSession sesion = request.getSession(false);
+        if (sesion != null) {
+            return "s:" + sesion.getId();
+        }
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(PREFIJO)) {
+            return "t:" + header.substring(PREFIJO.length()).trim();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,109 @@
+package co.empresa.gestioncontratos.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+// Abre una MedicionConsultas por petición (antes de la cadena de seguridad, para incluir la
+// carga del usuario) y al terminar publica sentencias, filas leídas y tiempo JDBC por endpoint.
+// app.consultas.entidades conserva el nombre de la métrica: ahora son filas de ResultSet.
+// Las formas de sentencia repetidas en una misma petición se registran como posible N+1.
+// Aquí la respuesta ya está escrita: el modo estricto lo aplica PresupuestoConsultasEstricto
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class FiltroMetricasConsultas extends OncePerRequestFilter {
+
+    private static final String[] ESTATICOS = {"/css/", "/js/", "/images/", "/webjars/", "/favicon.ico"};
+    private static final int LARGO_FORMA = 300;
+
+    private final MeterRegistry registry;
+    private final boolean habilitadas;
+    private final int umbralNMasUno;
+
+    public FiltroMetricasConsultas(MeterRegistry registry,
+                                   @Value("${app.consultas.metricas.habilitadas:true}") boolean habilitadas,
+                                   @Value("${app.consultas.n-mas-uno.umbral:5}") int umbralNMasUno) {
+        this.registry = registry;
+        this.habilitadas = habilitadas;
+        this.umbralNMasUno = umbralNMasUno;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!habilitadas) {
+            return true;
+        }
+        String ruta = request.getRequestURI().substring(request.getContextPath().length());
+        for (String prefijo : ESTATICOS) {
+            if (ruta.startsWith(prefijo)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        try (MedicionConsultas medicion = MedicionConsultas.iniciar()) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                publicar(request, medicion);
+            }
+        }
+    }
+
+    private void publicar(HttpServletRequest request, MedicionConsultas medicion) {
+        // Patrón de la ruta (/api/contratos/{uuid}), no la URI, para acotar las etiquetas
+        String endpoint = endpoint(request);
+        Tags tags = Tags.of("endpoint", endpoint, "metodo", request.getMethod());
+
+        DistributionSummary.builder("app.consultas.sentencias").tags(tags)
+            .publishPercentileHistogram().register(registry).record(medicion.sentencias());
+        DistributionSummary.builder("app.consultas.entidades").tags(tags)
+            .publishPercentileHistogram().register(registry).record(medicion.filas());
+        Timer.builder("app.consultas.tiempo").tags(tags)
+            .publishPercentileHistogram().register(registry).record(medicion.tiempoJdbc());
+
+        Map<String, Integer> repetidas = medicion.repetidas(umbralNMasUno);
+        if (!repetidas.isEmpty()) {
+            Counter.builder("app.consultas.n-mas-uno").tags(tags).register(registry).increment();
+            repetidas.forEach((forma, veces) -> log.warn("Posible N+1 en {} {}: {} ejecuciones de {}",
+                request.getMethod(), endpoint, veces, recortar(forma)));
+        }
+        if (medicion.excedePresupuesto()) {
+            Counter.builder("app.consultas.presupuesto-excedido").tags(tags).register(registry).increment();
+            log.warn("{} {} ejecutó {} sentencias SQL (presupuesto {})",
+                request.getMethod(), endpoint, medicion.sentencias(), medicion.presupuesto());
+        }
+        log.debug("{} {}: {} sentencias, {} filas, {} ms JDBC, {} ms en total", request.getMethod(), endpoint,
+            medicion.sentencias(), medicion.filas(), medicion.tiempoJdbc().toMillis(), medicion.duracion().toMillis());
+    }
+
+    static String endpoint(HttpServletRequest request) {
+        Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return patron != null ? patron.toString() : "desconocido";
+    }
+
+    private static String recortar(String forma) {
+        return forma.length() > LARGO_FORMA ? forma.substring(0, LARGO_FORMA) + "..." : forma;
+    }
+}
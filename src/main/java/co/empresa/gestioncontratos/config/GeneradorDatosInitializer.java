@@ -0,0 +1,432 @@
+package co.empresa.gestioncontratos.config;
+
+import co.empresa.gestioncontratos.entity.Usuario;
+import co.empresa.gestioncontratos.entity.UuidV7;
+import co.empresa.gestioncontratos.enums.EstadoActividad;
+import co.empresa.gestioncontratos.enums.EstadoContrato;
+import co.empresa.gestioncontratos.enums.EstadoPredio;
+import co.empresa.gestioncontratos.enums.PerfilUsuario;
+import co.empresa.gestioncontratos.enums.TipoPredio;
+import co.empresa.gestioncontratos.event.DatosModificadosEvent;
+import co.empresa.gestioncontratos.service.ActividadRollupService;
+import co.empresa.gestioncontratos.service.ParticionesActividadService;
+import co.empresa.gestioncontratos.service.SectorRollupService;
+import co.empresa.gestioncontratos.service.TarifaService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+// Perfil "generador": siembra volúmenes de producción con datos sintéticos para pruebas de carga
+// y benchmarks, contra H2 o un PostgreSQL local (--spring.profiles.active=generador).
+// Cada atributo de cada fila es función pura de (semilla, atributo, índice): el resultado es el
+// mismo con cualquier número de hilos. Las tablas se llenan en orden de dependencias, cada una
+// en tramos paralelos de lotes JDBC, con ids explícitos a continuación de los existentes.
+// El sesgo imita producción: pocos sectores, contratos y operarios concentran la mayoría de
+// predios y actividades, y las actividades recientes son más que las antiguas
+@Component
+@Profile("generador")
+@Slf4j
+public class GeneradorDatosInitializer implements ApplicationRunner {
+
+    private static final int TRAMO = 50_000;
+    private static final int PLANES = 5;
+    private static final String MARCA = "GEN-";
+    // 2024-01-01T00:00:00Z
+    private static final long ORIGEN_UUID = 1_704_067_200_000L;
+    private static final String[] SERVICIOS = {"Poda", "Fumigación", "Limpieza de zonas verdes", "Recolección",
+        "Riego", "Mantenimiento de cercas", "Inspección", "Siembra"};
+    private static final String[] CALLES = {"Calle", "Carrera", "Avenida", "Diagonal", "Transversal"};
+    private static final String[] BARRIOS = {"Centro", "Norte", "Sur", "Prado", "Bosque", "Alameda", "Jardín", "Llano"};
+    private static final String[] NOMBRES = {"Ana", "Carlos", "María", "José", "Luisa", "Andrés", "Sofía", "Jorge",
+        "Camila", "Diego", "Valentina", "Julián"};
+    private static final String[] APELLIDOS = {"Gómez", "Rodríguez", "Martínez", "López", "García", "Pérez",
+        "Sánchez", "Ramírez", "Torres", "Díaz", "Vargas", "Castro"};
+
+    // Un valor por atributo: atributos distintos de la misma fila son independientes
+    private static final long SECTOR = 1, USUARIO = 2, PREDIO = 3, PREDIO_SECTOR = 4, PREDIO_TIPO = 5,
+        CONTRATO = 6, CONTRATO_SECTOR = 7, CONTRATO_FECHA = 8, CP = 9, CP_CONTRATO = 10, CP_ESTADO = 11,
+        CP_OPERARIO = 12, ASIGNACION = 13, ACTIVIDAD = 14, ACT_CP = 15, ACT_FECHA = 16, ACT_ESTADO = 17,
+        ACT_SERVICIO = 18, ACT_CANTIDAD = 19, TARIFA = 20, SERVICIO = 21, PLAN = 22;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final ParticionesActividadService particionesActividadService;
+    private final SectorRollupService sectorRollupService;
+    private final ActividadRollupService actividadRollupService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SecuenciasInitializer secuenciasInitializer;
+    private final TarifaService tarifaService;
+
+    private final long semilla;
+    private final int hilos;
+    private final int lote;
+    private final int diasHistoria;
+    private final long sectores;
+    private final long usuarios;
+    private final long predios;
+    private final long contratos;
+    private final long contratoPredios;
+    private final long actividades;
+
+    // Ids base y catálogo, fijados antes de generar cada tabla
+    private long baseSector, baseUsuario, basePredio, baseContrato, baseCp, basePlan;
+    private long supervisores, coordinadores, operarios;
+    private List<Long> servicios;
+    private BigDecimal[][][] precios;
+
+    public GeneradorDatosInitializer(JdbcTemplate jdbcTemplate,
+                                     PlatformTransactionManager transactionManager,
+                                     PasswordEncoder passwordEncoder,
+                                     ParticionesActividadService particionesActividadService,
+                                     SectorRollupService sectorRollupService,
+                                     ActividadRollupService actividadRollupService,
+                                     ApplicationEventPublisher eventPublisher,
+                                     SecuenciasInitializer secuenciasInitializer,
+                                     TarifaService tarifaService,
+                                     @Value("${app.generador.semilla:42}") long semilla,
+                                     @Value("${app.generador.hilos:0}") int hilos,
+                                     @Value("${app.generador.lote:1000}") int lote,
+                                     @Value("${app.generador.dias-historia:365}") int diasHistoria,
+                                     @Value("${app.generador.sectores:200}") long sectores,
+                                     @Value("${app.generador.usuarios:5000}") long usuarios,
+                                     @Value("${app.generador.predios:1000000}") long predios,
+                                     @Value("${app.generador.contratos:2000}") long contratos,
+                                     @Value("${app.generador.contrato-predios:5000000}") long contratoPredios,
+                                     @Value("${app.generador.actividades:20000000}") long actividades) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder;
+        this.particionesActividadService = particionesActividadService;
+        this.sectorRollupService = sectorRollupService;
+        this.actividadRollupService = actividadRollupService;
+        this.eventPublisher = eventPublisher;
+        this.secuenciasInitializer = secuenciasInitializer;
+        this.tarifaService = tarifaService;
+        this.semilla = semilla;
+        this.hilos = hilos > 0 ? hilos : Math.min(Runtime.getRuntime().availableProcessors(), 8);
+        this.lote = lote;
+        this.diasHistoria = diasHistoria;
+        this.sectores = Math.max(1, sectores);
+        this.usuarios = Math.max(3, usuarios);
+        this.predios = Math.max(1, predios);
+        this.contratos = Math.max(1, contratos);
+        // Un predio entra a lo sumo una vez en cada contrato
+        this.contratoPredios = Math.min(contratoPredios, this.predios * this.contratos);
+        this.actividades = actividades;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Long generados = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM contratos WHERE numero_contrato LIKE ?", Long.class, MARCA + "%");
+        if (generados != null && generados > 0) {
+            log.info("Ya hay {} contratos generados, no se vuelven a generar datos", generados);
+            return;
+        }
+
+        log.info("=== GENERANDO DATOS SINTÉTICOS (semilla {}, {} hilos) ===", semilla, hilos);
+        long inicio = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        try {
+            generar(executor);
+        } finally {
+            executor.shutdown();
+        }
+
+        sectorRollupService.verificarYReparar();
+        actividadRollupService.verificarYReparar();
+        // Planes y tarifas insertados por JDBC: la matriz de precios no los ve hasta recargarla
+        tarifaService.tarifasModificadas();
+        eventPublisher.publishEvent(DatosModificadosEvent.de("generador"));
+        log.info("=== DATOS SINTÉTICOS GENERADOS EN {} s ===", (System.nanoTime() - inicio) / 1_000_000_000);
+    }
+
+    private void generar(ExecutorService executor) {
+        Timestamp ahora = new Timestamp(System.currentTimeMillis());
+        LocalDate hoy = LocalDate.now();
+
+        generarCatalogo(ahora);
+
+        baseSector = siguienteId("sectores");
+        insertar(executor, "sectores",
+            "INSERT INTO sectores (id, uuid, nombre, codigo, descripcion, area, poblacion, activo, " +
+            "fecha_creacion, fecha_actualizacion) VALUES (?, ?, ?, ?, ?, ?, ?, true, ?, ?)",
+            sectores, i -> new Object[] {
+                baseSector + i, uuid(SECTOR, i), "Sector " + MARCA + i, MARCA + i, "Sector generado",
+                redondear(1 + 500 * Math.pow(uniforme(SECTOR, i), 2)), 500 + (int) (200_000 * Math.pow(uniforme(SECTOR, ~i), 3)),
+                ahora, ahora});
+
+        // Por cada 100 usuarios: 2 supervisores, 3 coordinadores y el resto operarios
+        supervisores = Math.max(1, usuarios / 50);
+        coordinadores = Math.max(1, usuarios / 33);
+        operarios = usuarios - supervisores - coordinadores;
+        baseUsuario = siguienteId("usuarios");
+        String password = passwordEncoder.encode("generador123");
+        insertar(executor, "usuarios",
+            "INSERT INTO usuarios (id, uuid, username, password, nombre, apellido, email, telefono, perfil, activo, " +
+            "busqueda, fecha_creacion, fecha_actualizacion) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+            usuarios, i -> {
+                PerfilUsuario perfil = i < supervisores ? PerfilUsuario.SUPERVISOR
+                    : i < supervisores + coordinadores ? PerfilUsuario.COORDINADOR : PerfilUsuario.OPERARIO;
+                String username = "gen_" + perfil.name().toLowerCase() + "_" + i;
+                String nombre = NOMBRES[entero(USUARIO, i, NOMBRES.length)];
+                String apellido = APELLIDOS[entero(USUARIO, ~i, APELLIDOS.length)];
+                String email = username + "@generador.local";
+                return new Object[] {
+                    baseUsuario + i, uuid(USUARIO, i), username, password, nombre, apellido, email,
+                    String.format("3%09d", Math.floorMod(azar(USUARIO, i), 1_000_000_000L)), perfil.name(),
+                    uniforme(USUARIO, i) > 0.03 || perfil != PerfilUsuario.OPERARIO,
+                    Usuario.normalizarBusqueda(String.join(" ", nombre, apellido, username, email)), ahora, ahora};
+            });
+
+        basePredio = siguienteId("predios");
+        insertar(executor, "predios",
+            "INSERT INTO predios (id, uuid, direccion, sector_id, tipo, activo, area, fecha_creacion, codigo_catastral) " +
+            "VALUES (?, ?, ?, ?, ?, true, ?, ?, ?)",
+            predios, i -> new Object[] {
+                basePredio + i, uuid(PREDIO, i),
+                CALLES[entero(PREDIO, i, CALLES.length)] + " " + (1 + entero(PREDIO, ~i, 150)) + " # "
+                    + entero(PREDIO_TIPO, ~i, 100) + "-" + entero(PREDIO_SECTOR, ~i, 100) + " "
+                    + BARRIOS[entero(PREDIO, i + predios, BARRIOS.length)],
+                baseSector + sesgado(PREDIO_SECTOR, i, sectores, 1.8), tipoPredio(i).name(),
+                redondear(40 + 5_000 * Math.pow(uniforme(PREDIO, i + 2 * predios), 4)), ahora,
+                String.format("%s%09d", MARCA, i)});
+
+        baseContrato = siguienteId("contratos");
+        insertar(executor, "contratos",
+            "INSERT INTO contratos (id, uuid, numero_contrato, sector_id, plan_tarifa_id, fecha_inicio, fecha_fin, " +
+            "objetivo, estado, supervisor_id, fecha_creacion, fecha_actualizacion) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+            contratos, c -> {
+                LocalDate fechaInicio = hoy.minusDays(entero(CONTRATO_FECHA, c, 720));
+                LocalDate fechaFin = fechaInicio.plusDays(180 + entero(CONTRATO_FECHA, ~c, 540));
+                EstadoContrato estado = fechaFin.isBefore(hoy) ? EstadoContrato.FINALIZADO
+                    : uniforme(CONTRATO, c) < 0.05 ? EstadoContrato.SUSPENDIDO : EstadoContrato.ACTIVO;
+                return new Object[] {
+                    baseContrato + c, uuid(CONTRATO, c), String.format("%s%06d", MARCA, c),
+                    baseSector + sesgado(CONTRATO_SECTOR, c, sectores, 1.5), basePlan + c % PLANES,
+                    fechaInicio, fechaFin, "Contrato generado " + c, estado.name(),
+                    baseUsuario + sesgado(CONTRATO, c, supervisores, 1.3), ahora, ahora};
+            });
+
+        baseCp = siguienteId("contrato_predios");
+        insertar(executor, "contrato_predios",
+            "INSERT INTO contrato_predios (id, uuid, operario_id, contrato_id, predio_id, activo, estado, " +
+            "fecha_creacion, fecha_actualizacion) VALUES (?, ?, ?, ?, ?, true, ?, ?, ?)",
+            contratoPredios, k -> new Object[] {
+                baseCp + k, uuid(CP, k), operarioDeCp(k), baseContrato + contratoDeCp(k), basePredio + k % predios,
+                estadoCp(k).name(), ahora, ahora});
+
+        // Una asignación vigente por predio de contrato no pendiente; ids dispersos (base + índice)
+        long baseAsignacion = siguienteId("predio_operarios");
+        insertar(executor, "predio_operarios",
+            "INSERT INTO predio_operarios (id, uuid, predio_id, operario_id, contrato_id, activo, fecha_asignacion, " +
+            "fecha_creacion, fecha_actualizacion) VALUES (?, ?, ?, ?, ?, true, ?, ?, ?)",
+            contratoPredios, k -> estadoCp(k) == EstadoPredio.PENDIENTE ? null : new Object[] {
+                baseAsignacion + k, uuid(ASIGNACION, k), basePredio + k % predios, operarioDeCp(k),
+                baseContrato + contratoDeCp(k), ahora, ahora, ahora});
+
+        if (contratoPredios > 0 && actividades > 0) {
+            particionesActividadService.asegurarParticionesDesde(YearMonth.from(hoy.minusDays(diasHistoria)));
+            insertar(executor, "actividades",
+                "INSERT INTO actividades (uuid, predio_id, operario_id, servicio_id, contrato_predio_id, descripcion, " +
+                "fecha_actividad, cantidad, precio_aplicado, estado, observaciones, fecha_creacion, fecha_actualizacion) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                actividades, a -> actividad(a, hoy));
+            // La ingesta descarta reenvíos contra actividad_uuids: los uuids generados también van ahí
+            particionesActividadService.registrarUuids();
+        }
+
+        // Con ids explícitos las secuencias quedan atrás: se adelantan al máximo actual
+        secuenciasInitializer.ajustarSecuencias();
+    }
+
+    // Servicios activos existentes (o unos por defecto) y planes propios con sus tarifas
+    private void generarCatalogo(Timestamp ahora) {
+        servicios = jdbcTemplate.queryForList("SELECT id FROM servicios WHERE activo = true ORDER BY id", Long.class);
+        if (servicios.isEmpty()) {
+            long base = siguienteId("servicios");
+            for (int s = 0; s < SERVICIOS.length; s++) {
+                jdbcTemplate.update("INSERT INTO servicios (id, uuid, nombre, descripcion, activo, fecha_creacion) " +
+                    "VALUES (?, ?, ?, ?, true, ?)", base + s, uuid(SERVICIO, s), SERVICIOS[s], "Servicio generado", ahora);
+            }
+            servicios = jdbcTemplate.queryForList("SELECT id FROM servicios WHERE activo = true ORDER BY id", Long.class);
+        }
+
+        basePlan = siguienteId("planes_tarifas");
+        long baseTarifa = siguienteId("tarifas");
+        precios = new BigDecimal[PLANES][servicios.size()][2];
+        for (int p = 0; p < PLANES; p++) {
+            jdbcTemplate.update("INSERT INTO planes_tarifas (id, uuid, nombre, descripcion, activo, fecha_creacion) " +
+                "VALUES (?, ?, ?, ?, true, ?)", basePlan + p, uuid(PLAN, p), "Plan " + MARCA + p, "Plan generado", ahora);
+            for (int s = 0; s < servicios.size(); s++) {
+                long indice = (long) p * servicios.size() + s;
+                BigDecimal urbano = BigDecimal.valueOf(200L + entero(TARIFA, indice, 1800)).multiply(BigDecimal.valueOf(100))
+                    .setScale(2, RoundingMode.HALF_UP);
+                BigDecimal rural = urbano.multiply(new BigDecimal("1.25")).setScale(2, RoundingMode.HALF_UP);
+                precios[p][s][TipoPredio.URBANO.ordinal()] = urbano;
+                precios[p][s][TipoPredio.RURAL.ordinal()] = rural;
+                jdbcTemplate.update("INSERT INTO tarifas (id, uuid, plan_tarifa_id, servicio_id, precio_urbano, precio_rural, " +
+                    "activo, fecha_creacion) VALUES (?, ?, ?, ?, ?, ?, true, ?)",
+                    baseTarifa + indice, uuid(TARIFA, indice), basePlan + p, servicios.get(s), urbano, rural, ahora);
+            }
+        }
+    }
+
+    private Object[] actividad(long a, LocalDate hoy) {
+        // Los predios de contrato con más actividad son los primeros; solo se registra sobre asignados
+        long k = sesgado(ACT_CP, a, contratoPredios, 1.2);
+        for (int intento = 0; intento < 64 && estadoCp(k) == EstadoPredio.PENDIENTE; intento++) {
+            k = (k + 1) % contratoPredios;
+        }
+        long predio = k % predios;
+        long contrato = contratoDeCp(k);
+        int servicio = (int) sesgado(ACT_SERVICIO, a, servicios.size(), 1.5);
+
+        // Más actividades recientes que antiguas; las antiguas casi todas revisadas
+        int edad = (int) (diasHistoria * Math.pow(uniforme(ACT_FECHA, a), 2));
+        double u = uniforme(ACT_ESTADO, a);
+        EstadoActividad estado = edad > 30
+            ? (u < 0.88 ? EstadoActividad.APROBADA : u < 0.95 ? EstadoActividad.RECHAZADA : EstadoActividad.PENDIENTE)
+            : (u < 0.6 ? EstadoActividad.PENDIENTE : u < 0.95 ? EstadoActividad.APROBADA : EstadoActividad.RECHAZADA);
+        LocalDate fecha = hoy.minusDays(edad);
+        Timestamp registro = Timestamp.valueOf(fecha.atTime(6 + entero(ACT_FECHA, ~a, 12), entero(ACT_ESTADO, ~a, 60)));
+
+        return new Object[] {
+            uuid(ACTIVIDAD, a), basePredio + predio, operarioDeCp(k), servicios.get(servicio), baseCp + k,
+            SERVICIOS[servicio % SERVICIOS.length] + " (registro generado)", fecha,
+            BigDecimal.valueOf(1 + entero(ACT_CANTIDAD, a, 8)).setScale(2, RoundingMode.HALF_UP),
+            precios[(int) (contrato % PLANES)][servicio][tipoPredio(predio).ordinal()], estado.name(),
+            null, registro, registro};
+    }
+
+    // ==================== RELACIONES DERIVADAS ====================
+
+    // Cada predio está en varios contratos distintos: la ronda k / predios desplaza el contrato base
+    private long contratoDeCp(long k) {
+        long predio = k % predios;
+        long ronda = k / predios;
+        return (sesgado(CP_CONTRATO, predio, contratos, 1.3) + ronda) % contratos;
+    }
+
+    private EstadoPredio estadoCp(long k) {
+        double u = uniforme(CP_ESTADO, k);
+        return u < 0.3 ? EstadoPredio.PENDIENTE : u < 0.85 ? EstadoPredio.ASIGNADO : EstadoPredio.COMPLETADO;
+    }
+
+    private long operarioDeCp(long k) {
+        return baseUsuario + supervisores + coordinadores + sesgado(CP_OPERARIO, k, operarios, 1.5);
+    }
+
+    private TipoPredio tipoPredio(long predio) {
+        return uniforme(PREDIO_TIPO, predio) < 0.25 ? TipoPredio.RURAL : TipoPredio.URBANO;
+    }
+
+    // ==================== INSERCIÓN ====================
+
+    // Tramos de TRAMO filas en paralelo, cada uno en su transacción con lotes de "lote" filas.
+    // La función devuelve null para las filas que no se insertan
+    private void insertar(ExecutorService executor, String tabla, String sql, long total, LongFunction<Object[]> fila) {
+        long inicio = System.nanoTime();
+        AtomicLong insertadas = new AtomicLong();
+        List<Future<?>> tramos = new ArrayList<>();
+        for (long desde = 0; desde < total; desde += TRAMO) {
+            long inicioTramo = desde;
+            long finTramo = Math.min(total, desde + TRAMO);
+            tramos.add(executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                List<Object[]> filas = new ArrayList<>(lote);
+                for (long i = inicioTramo; i < finTramo; i++) {
+                    Object[] valores = fila.apply(i);
+                    if (valores != null) {
+                        filas.add(valores);
+                    }
+                    if (filas.size() == lote) {
+                        jdbcTemplate.batchUpdate(sql, filas);
+                        filas.clear();
+                    }
+                }
+                if (!filas.isEmpty()) {
+                    jdbcTemplate.batchUpdate(sql, filas);
+                }
+                long antes = insertadas.getAndAdd(finTramo - inicioTramo);
+                if ((antes + finTramo - inicioTramo) / 1_000_000 > antes / 1_000_000) {
+                    log.info("{}: {} de {} filas procesadas", tabla, antes + finTramo - inicioTramo, total);
+                }
+            })));
+        }
+        for (Future<?> tramo : tramos) {
+            try {
+                tramo.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Generación de " + tabla + " interrumpida", e);
+            } catch (ExecutionException e) {
+                tramos.forEach(pendiente -> pendiente.cancel(true));
+                throw new RuntimeException("Error generando " + tabla + ": " + e.getCause().getMessage(), e.getCause());
+            }
+        }
+        log.info("{}: {} filas en {} ms", tabla, total, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    // A continuación de los existentes y de los bloques de ids que Hibernate ya reservó
+    private long siguienteId(String tabla) {
+        return secuenciasInitializer.primerIdLibre(tabla);
+    }
+
+    // ==================== AZAR DETERMINISTA ====================
+
+    // SplitMix64 sobre (semilla, atributo, índice)
+    private long azar(long atributo, long indice) {
+        long z = semilla + atributo * 0x9E3779B97F4A7C15L + indice * 0xD1B54A32D192ED03L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private double uniforme(long atributo, long indice) {
+        return (azar(atributo, indice) >>> 11) * 0x1.0p-53;
+    }
+
+    private int entero(long atributo, long indice, int limite) {
+        return (int) (uniforme(atributo, indice) * limite);
+    }
+
+    // Índice en [0, n) concentrado en los primeros: con exponente 1 es uniforme
+    private long sesgado(long atributo, long indice, long n, double exponente) {
+        return Math.min(n - 1, (long) (n * Math.pow(uniforme(atributo, indice), exponente)));
+    }
+
+    // Versión 7 como los de las entidades pero reproducible: la marca de tiempo parte de una fecha
+    // fija y avanza con el índice, así las filas quedan en el índice en el orden en que se generan
+    private UUID uuid(long atributo, long indice) {
+        return UuidV7.de(ORIGEN_UUID + (indice >>> 12), indice, azar(atributo, indice));
+    }
+
+    private static double redondear(double valor) {
+        return Math.round(valor * 100) / 100.0;
+    }
+}
@@ -0,0 +1,43 @@
+package co.empresa.gestioncontratos.config;
+
+import co.empresa.gestioncontratos.service.JwtService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Autentica peticiones de /api/** con "Authorization: Bearer <token>".
+// No es un @Component: solo se registra en la cadena de seguridad de la API
+@RequiredArgsConstructor
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String PREFIJO = "Bearer ";
+
+    private final JwtService jwtService;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+
+        if (header != null && header.startsWith(PREFIJO)) {
+            jwtService.verificar(header.substring(PREFIJO.length()).trim()).ifPresent(principal -> {
+                UsernamePasswordAuthenticationToken autenticacion =
+                    new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+                SecurityContext contexto = SecurityContextHolder.createEmptyContext();
+                contexto.setAuthentication(autenticacion);
+                SecurityContextHolder.setContext(contexto);
+            });
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
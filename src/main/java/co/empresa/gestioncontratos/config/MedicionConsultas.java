@@ -0,0 +1,135 @@
+package co.empresa.gestioncontratos.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// Sentencias que el hilo actual ejecuta contra el DataSource de la aplicación (DataSourceMedido:
+// Hibernate, JdbcTemplate y JDBC directo) mientras hay una medición abierta: una por petición
+// HTTP (FiltroMetricasConsultas) o la que abra una prueba con try-with-resources.
+//
+//   try (MedicionConsultas medicion = MedicionConsultas.iniciar()) {
+//       sectorService.listarResumen();
+//       medicion.exigirMaximo(2);
+//   }
+public final class MedicionConsultas implements AutoCloseable {
+
+    private static final ThreadLocal<MedicionConsultas> ACTUAL = new ThreadLocal<>();
+
+    // La forma de una sentencia ignora literales y el largo de las listas IN
+    private static final Pattern LISTA_IN = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern LITERALES = Pattern.compile("'(?:[^']|'')*'|\\b\\d+\\b");
+    private static final Pattern ESPACIOS = Pattern.compile("\\s+");
+
+    private final MedicionConsultas anterior;
+    private final long inicio = System.nanoTime();
+    private final Map<String, Integer> formas = new HashMap<>();
+    private int sentencias;
+    private long filas;
+    private long nanosJdbc;
+    private Integer presupuesto;
+
+    private MedicionConsultas(MedicionConsultas anterior) {
+        this.anterior = anterior;
+    }
+
+    public static MedicionConsultas iniciar() {
+        MedicionConsultas medicion = new MedicionConsultas(ACTUAL.get());
+        ACTUAL.set(medicion);
+        return medicion;
+    }
+
+    // Medición abierta en este hilo o null
+    public static MedicionConsultas actual() {
+        return ACTUAL.get();
+    }
+
+    @Override
+    public void close() {
+        if (anterior != null) {
+            ACTUAL.set(anterior);
+        } else {
+            ACTUAL.remove();
+        }
+    }
+
+    // ==================== REGISTRO ====================
+
+    void registrarSentencia(String sql) {
+        sentencias++;
+        formas.merge(forma(sql), 1, Integer::sum);
+        if (anterior != null) {
+            anterior.registrarSentencia(sql);
+        }
+    }
+
+    void registrarFila() {
+        filas++;
+        if (anterior != null) {
+            anterior.registrarFila();
+        }
+    }
+
+    void registrarTiempoJdbc(long nanos) {
+        nanosJdbc += nanos;
+        if (anterior != null) {
+            anterior.registrarTiempoJdbc(nanos);
+        }
+    }
+
+    void presupuesto(Integer maximo) {
+        this.presupuesto = maximo;
+    }
+
+    // ==================== RESULTADOS ====================
+
+    public int sentencias() {
+        return sentencias;
+    }
+
+    // Filas leídas de los ResultSet (también las de proyecciones y JdbcTemplate)
+    public long filas() {
+        return filas;
+    }
+
+    public Duration tiempoJdbc() {
+        return Duration.ofNanos(nanosJdbc);
+    }
+
+    public Duration duracion() {
+        return Duration.ofNanos(System.nanoTime() - inicio);
+    }
+
+    public Integer presupuesto() {
+        return presupuesto;
+    }
+
+    public boolean excedePresupuesto() {
+        return presupuesto != null && sentencias > presupuesto;
+    }
+
+    // Formas ejecutadas al menos "umbral" veces, de más a menos repetida: candidatas a N+1
+    public Map<String, Integer> repetidas(int umbral) {
+        Map<String, Integer> repetidas = new LinkedHashMap<>();
+        formas.entrySet().stream()
+            .filter(forma -> forma.getValue() >= umbral)
+            .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+            .forEach(forma -> repetidas.put(forma.getKey(), forma.getValue()));
+        return repetidas;
+    }
+
+    public void exigirMaximo(int maximo) {
+        if (sentencias > maximo) {
+            throw new RuntimeException("Se ejecutaron " + sentencias + " sentencias SQL con un máximo de " + maximo
+                + "; más repetidas: " + repetidas(2));
+        }
+    }
+
+    static String forma(String sql) {
+        String forma = LITERALES.matcher(sql).replaceAll("?");
+        forma = LISTA_IN.matcher(forma).replaceAll("in (...)");
+        return ESPACIOS.matcher(forma).replaceAll(" ").trim();
+    }
+}
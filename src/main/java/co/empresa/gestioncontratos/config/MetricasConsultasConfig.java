@@ -0,0 +1,65 @@
+package co.empresa.gestioncontratos.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+// Instrumentación para MedicionConsultas a nivel de DataSource (DataSourceMedido): cuenta las
+// sentencias de Hibernate y también las de JdbcTemplate, su tiempo y las filas leídas. El
+// interceptor toma el @PresupuestoConsultas del endpoint
+@Configuration
+public class MetricasConsultasConfig implements WebMvcConfigurer {
+
+    private final PresupuestoConsultasEstricto presupuestoEstricto;
+
+    public MetricasConsultasConfig(PresupuestoConsultasEstricto presupuestoEstricto) {
+        this.presupuestoEstricto = presupuestoEstricto;
+    }
+
+    // Envuelve el DataSource de la aplicación (el único o el enrutador de ReplicaDataSourceConfig)
+    // antes de que lo tomen JPA y JdbcTemplate. Estático: es un post-procesador de beans
+    @Bean
+    public static BeanPostProcessor dataSourceMedido(
+            @Value("${app.consultas.metricas.habilitadas:true}") boolean habilitadas) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String nombre) {
+                if (habilitadas && "dataSource".equals(nombre) && bean instanceof DataSource dataSource
+                        && !(bean instanceof DataSourceMedido)) {
+                    return new DataSourceMedido(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                MedicionConsultas medicion = MedicionConsultas.actual();
+                if (medicion != null && handler instanceof HandlerMethod metodo) {
+                    PresupuestoConsultas presupuesto = metodo.getMethodAnnotation(PresupuestoConsultas.class);
+                    if (presupuesto == null) {
+                        presupuesto = metodo.getBeanType().getAnnotation(PresupuestoConsultas.class);
+                    }
+                    if (presupuesto != null) {
+                        medicion.presupuesto(presupuesto.value());
+                    }
+                }
+                return true;
+            }
+        });
+        registry.addInterceptor(presupuestoEstricto);
+    }
+}
@@ -0,0 +1,104 @@
+package co.empresa.gestioncontratos.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Retraso de la réplica medido con un latido: cada intervalo se escribe la hora en replica_latido
+// de la primaria y se lee la fila replicada. Si la réplica ya tiene el último latido escrito el
+// retraso es cero; si no, es la antigüedad del que tiene (pesimista en hasta un intervalo).
+// No depende de funciones del motor, así sirve igual con PostgreSQL y con las dos H2 locales
+@Slf4j
+public class MonitorReplica {
+
+    private static final String TABLA = "replica_latido";
+
+    private final JdbcTemplate primaria;
+    private final JdbcTemplate replica;
+    private final long retrasoMaximoMs;
+
+    private volatile boolean disponible;
+    private volatile long retrasoMs = -1;
+    private volatile long ultimoLatido;
+
+    public MonitorReplica(DataSource primaria, DataSource replica, Duration retrasoMaximo, MeterRegistry registry) {
+        this.primaria = new JdbcTemplate(primaria);
+        this.replica = new JdbcTemplate(replica);
+        this.retrasoMaximoMs = retrasoMaximo.toMillis();
+        Gauge.builder("app.replica.retraso", this, monitor -> monitor.retrasoMs)
+            .baseUnit("milliseconds").register(registry);
+        Gauge.builder("app.replica.disponible", this, monitor -> monitor.disponible ? 1 : 0).register(registry);
+        try {
+            this.primaria.execute("CREATE TABLE IF NOT EXISTS " + TABLA + " (id INT PRIMARY KEY, marca BIGINT NOT NULL)");
+        } catch (DataAccessException e) {
+            log.warn("No se pudo crear {} en la primaria: {}", TABLA, e.getMessage());
+        }
+    }
+
+    public boolean disponible() {
+        return disponible;
+    }
+
+    public long retrasoMs() {
+        return retrasoMs;
+    }
+
+    // La réplica no entregó conexión: fuera hasta que el próximo latido la vuelva a encontrar al día
+    void marcarCaida(Exception causa) {
+        if (disponible) {
+            log.warn("Réplica no disponible, las lecturas pasan a la primaria: {}", causa.getMessage());
+        }
+        disponible = false;
+    }
+
+    @Scheduled(fixedDelayString = "${app.replica.latido-ms:1000}")
+    public void latido() {
+        try {
+            Long replicado = replica.queryForObject("SELECT marca FROM " + TABLA + " WHERE id = 1", Long.class);
+            long ahora = System.currentTimeMillis();
+            if (replicado == null) {
+                retrasoMs = -1;
+            } else {
+                // Sin latido propio todavía no se sabe si el replicado es reciente
+                retrasoMs = ultimoLatido > 0 && replicado >= ultimoLatido ? 0 : Math.max(0, ahora - replicado);
+            }
+            actualizar(retrasoMs >= 0 && retrasoMs <= retrasoMaximoMs);
+        } catch (DataAccessException e) {
+            // Sin la tabla (réplica recién creada) o sin conexión
+            retrasoMs = -1;
+            actualizar(false);
+            log.debug("No se pudo leer el latido de la réplica: {}", e.getMessage());
+        }
+        escribirLatido();
+    }
+
+    private void escribirLatido() {
+        long marca = System.currentTimeMillis();
+        try {
+            if (primaria.update("UPDATE " + TABLA + " SET marca = ? WHERE id = 1", marca) == 0) {
+                primaria.update("INSERT INTO " + TABLA + " (id, marca) VALUES (1, ?)", marca);
+            }
+            ultimoLatido = marca;
+        } catch (DataAccessException e) {
+            log.warn("No se pudo escribir el latido de réplica en la primaria: {}", e.getMessage());
+        }
+    }
+
+    private void actualizar(boolean alDia) {
+        if (alDia != disponible) {
+            if (alDia) {
+                log.info("Réplica al día (retraso {} ms), las lecturas readOnly vuelven a la réplica", retrasoMs);
+            } else {
+                log.warn("Réplica atrasada o sin latido (retraso {} ms, máximo {} ms), lecturas a la primaria",
+                    retrasoMs, retrasoMaximoMs);
+            }
+        }
+        disponible = alDia;
+    }
+}
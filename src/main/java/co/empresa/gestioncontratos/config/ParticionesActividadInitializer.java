@@ -0,0 +1,24 @@
+package co.empresa.gestioncontratos.config;
+
+import co.empresa.gestioncontratos.service.ParticionesActividadService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+// Primero de los inicializadores: los triggers de sincronización se instalan sobre la tabla
+// particionada, así que la conversión de actividades debe ocurrir antes
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ParticionesActividadInitializer implements ApplicationRunner {
+
+    private final ParticionesActividadService particionesActividadService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        particionesActividadService.inicializar();
+    }
+}
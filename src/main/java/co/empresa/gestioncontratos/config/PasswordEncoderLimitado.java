@@ -0,0 +1,144 @@
+package co.empresa.gestioncontratos.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Verificación BCrypt en un pool propio y acotado: en picos de login solo hay tantos cálculos
+// en paralelo como hilos del pool, y las peticiones que no caben en la cola se rechazan de
+// inmediato. El hilo de Tomcat sigue esperando el resultado (hasta el timeout): el pool limita
+// la CPU dedicada a BCrypt y el tiempo de espera, no libera el hilo que atiende la petición.
+// Si quien espera se rinde, su tarea sale de la cola: no se calcula un BCrypt que nadie leerá
+@Slf4j
+public class PasswordEncoderLimitado implements PasswordEncoder {
+
+    private final BCryptPasswordEncoder delegado;
+    private final int costo;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+
+    private final Timer timerVerificacionOk;
+    private final Timer timerVerificacionFallo;
+    private final Timer timerHash;
+    private final Counter rechazos;
+
+    public PasswordEncoderLimitado(int costo, int hilos, int capacidadCola, Duration timeout, MeterRegistry registry) {
+        this.delegado = new BCryptPasswordEncoder(costo);
+        this.costo = costo;
+        this.timeout = timeout;
+
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(hilos, hilos, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(capacidadCola),
+            r -> {
+                Thread hilo = new Thread(r, "bcrypt-" + contador.incrementAndGet());
+                hilo.setDaemon(true);
+                return hilo;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+
+        this.timerVerificacionOk = Timer.builder("auth.password.verificacion")
+            .tag("resultado", "ok").register(registry);
+        this.timerVerificacionFallo = Timer.builder("auth.password.verificacion")
+            .tag("resultado", "fallo").register(registry);
+        this.timerHash = Timer.builder("auth.password.hash").register(registry);
+        this.rechazos = Counter.builder("auth.password.rechazos").register(registry);
+        Gauge.builder("auth.password.cola", executor, e -> e.getQueue().size()).register(registry);
+        Gauge.builder("auth.password.activos", executor, ThreadPoolExecutor::getActiveCount).register(registry);
+
+        log.info("BCrypt con costo {}, {} hilos y cola de {}", costo, hilos, capacidadCola);
+    }
+
+    // Solo el login pasa por el pool: el alta de usuarios y los cambios de contraseña hashean en
+    // el hilo que llama y no pueden fallar por cola llena
+    @Override
+    public String encode(CharSequence rawPassword) {
+        long inicio = System.nanoTime();
+        String hash = delegado.encode(rawPassword);
+        timerHash.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        return hash;
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        // La latencia medida incluye la espera en cola, que es lo que percibe el usuario
+        long inicio = System.nanoTime();
+        boolean coincide = ejecutar(() -> delegado.matches(rawPassword, encodedPassword));
+        (coincide ? timerVerificacionOk : timerVerificacionFallo)
+            .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        return coincide;
+    }
+
+    // Re-hashear al iniciar sesión si el hash guardado tiene otro costo que el configurado
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int costoGuardado = extraerCosto(encodedPassword);
+        return costoGuardado > 0 && costoGuardado != costo;
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T ejecutar(Callable<T> tarea) {
+        Future<T> futuro;
+        try {
+            futuro = executor.submit(tarea);
+        } catch (RejectedExecutionException e) {
+            rechazos.increment();
+            log.warn("Verificación de contraseña rechazada: cola llena ({} en espera)", executor.getQueue().size());
+            throw new AuthenticationServiceException("El servidor está ocupado, intente de nuevo en unos segundos");
+        }
+
+        try {
+            return futuro.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            descartar(futuro);
+            rechazos.increment();
+            throw new AuthenticationServiceException("Tiempo de espera agotado verificando la contraseña");
+        } catch (InterruptedException e) {
+            descartar(futuro);
+            Thread.currentThread().interrupt();
+            throw new AuthenticationServiceException("Verificación de contraseña interrumpida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new AuthenticationServiceException("Error verificando la contraseña", e.getCause());
+        }
+    }
+
+    // Interrumpir no detiene un BCrypt en curso, que termina y se descarta. Si todavía está en
+    // cola se cancela y se quita, y deja libre su lugar de inmediato
+    private void descartar(Future<?> futuro) {
+        futuro.cancel(false);
+        if (futuro instanceof Runnable tarea) {
+            executor.remove(tarea);
+        }
+    }
+
+    // Formato $2a$10$...: el costo son los dos dígitos entre el segundo y el tercer '$'
+    static int extraerCosto(String hash) {
+        if (hash == null || hash.length() < 7 || hash.charAt(0) != '$') {
+            return -1;
+        }
+        int separador = hash.indexOf('$', 1);
+        if (separador < 0 || hash.length() < separador + 3) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(hash.substring(separador + 1, separador + 3));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package co.empresa.gestioncontratos.config;
+
+import java.lang.annotation.*;
+
+// Máximo de sentencias SQL que el endpoint puede ejecutar por petición. Superarlo se registra
+// como advertencia y en la métrica app.consultas.presupuesto-excedido; con
+// app.consultas.presupuesto.estricto=true (pruebas) la petición falla
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface PresupuestoConsultas {
+
+    int value();
+}
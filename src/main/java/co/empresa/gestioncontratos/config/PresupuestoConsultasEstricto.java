@@ -0,0 +1,67 @@
+package co.empresa.gestioncontratos.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// Con app.consultas.presupuesto.estricto=true, superar el @PresupuestoConsultas hace fallar la
+// petición antes de escribir la respuesta: justo antes de serializar el cuerpo (@ResponseBody) o
+// de renderizar la vista (postHandle). Lo que se consulte al renderizar la vista ya no puede
+// hacerla fallar; queda en las métricas y el aviso de FiltroMetricasConsultas
+@ControllerAdvice
+public class PresupuestoConsultasEstricto implements ResponseBodyAdvice<Object>, HandlerInterceptor {
+
+    // Una sola vez por petición: la respuesta de error también pasa por beforeBodyWrite
+    private static final String VERIFICADO = PresupuestoConsultasEstricto.class.getName() + ".verificado";
+
+    private final boolean estricto;
+
+    public PresupuestoConsultasEstricto(@Value("${app.consultas.presupuesto.estricto:false}") boolean estricto) {
+        this.estricto = estricto;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return estricto;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            verificar(servletRequest.getServletRequest());
+        }
+        return body;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        // Solo con vista: con @ResponseBody el cuerpo ya se escribió y se verificó antes
+        if (estricto && modelAndView != null) {
+            verificar(request);
+        }
+    }
+
+    private void verificar(HttpServletRequest request) {
+        MedicionConsultas medicion = MedicionConsultas.actual();
+        if (medicion == null || !medicion.excedePresupuesto() || request.getAttribute(VERIFICADO) != null) {
+            return;
+        }
+        request.setAttribute(VERIFICADO, Boolean.TRUE);
+        throw new RuntimeException("Presupuesto de consultas excedido en " + FiltroMetricasConsultas.endpoint(request)
+            + ": " + medicion.sentencias() + " de " + medicion.presupuesto() + " permitidas; "
+            + medicion.repetidas(2));
+    }
+}
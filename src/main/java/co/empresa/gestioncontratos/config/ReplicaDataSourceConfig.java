@@ -0,0 +1,92 @@
+package co.empresa.gestioncontratos.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Con app.replica.habilitada=true el DataSource de la aplicación enruta entre dos pools: la
+// primaria (spring.datasource.*) y la réplica de lectura (app.replica.*). Sin la propiedad no se
+// define nada y Spring Boot arma el DataSource único de siempre
+@Configuration
+@ConditionalOnProperty(name = "app.replica.habilitada", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimaria(DataSourceProperties propiedades) {
+        HikariDataSource dataSource = propiedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primaria");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.replica.hikari")
+    public HikariDataSource dataSourceReplica(@Value("${app.replica.url}") String url,
+                                              @Value("${app.replica.username:${spring.datasource.username}}") String usuario,
+                                              @Value("${app.replica.password:${spring.datasource.password}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class)
+            .url(url).username(usuario).password(password).build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public MonitorReplica monitorReplica(@Qualifier("dataSourcePrimaria") DataSource primaria,
+                                         @Qualifier("dataSourceReplica") DataSource replica,
+                                         @Value("${app.replica.retraso-maximo:PT10S}") Duration retrasoMaximo,
+                                         MeterRegistry registry) {
+        return new MonitorReplica(primaria, replica, retrasoMaximo, registry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("dataSourcePrimaria") DataSource primaria,
+                                 @Qualifier("dataSourceReplica") DataSource replica,
+                                 MonitorReplica monitor, MeterRegistry registry) {
+        EnrutadorDataSource enrutador = new EnrutadorDataSource(primaria, replica, monitor, registry);
+        enrutador.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(enrutador);
+    }
+
+    // Spring mantiene por defecto la conexión durante toda la sesión de Hibernate (con open-in-view,
+    // toda la petición): la primera transacción decidiría el destino de las siguientes
+    @Bean
+    public static HibernatePropertiesCustomizer conexionPorTransaccion() {
+        return propiedades -> propiedades.put(AvailableSettings.CONNECTION_HANDLING,
+            PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    // Lo leído de la réplica no entra en la caché de segundo nivel ni en la de consultas.
+    // Después de la inicialización: JpaTransactionManager toma el dialecto de la fábrica de JPA
+    @Bean
+    public static BeanPostProcessor dialectoJpaReplica(ObjectProvider<MonitorReplica> monitor) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String nombre) {
+                if (bean instanceof JpaTransactionManager transactionManager) {
+                    transactionManager.setJpaDialect(new DialectoJpaReplica(monitor));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,60 @@
+package co.empresa.gestioncontratos.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Perfil "replica-local": primaria y réplica son dos H2 en memoria y esta clase hace de replicación
+// asíncrona copiando la primaria entera sobre la réplica cada intervalo. Subir el intervalo por
+// encima de app.replica.retraso-maximo permite ver la caída de las lecturas a la primaria.
+// Mientras se restaura la copia, una lectura en curso sobre la réplica puede fallar
+@Component
+@Profile("replica-local")
+@Slf4j
+public class ReplicacionLocalH2 {
+
+    private final JdbcTemplate primaria;
+    private final JdbcTemplate replica;
+
+    public ReplicacionLocalH2(@Qualifier("dataSourcePrimaria") DataSource primaria,
+                              @Value("${app.replica.url}") String urlReplica,
+                              @Value("${app.replica.username:sa}") String usuario,
+                              @Value("${app.replica.password:}") String password) {
+        this.primaria = new JdbcTemplate(primaria);
+        // Conexión propia: el pool de la réplica es de solo lectura
+        this.replica = new JdbcTemplate(new DriverManagerDataSource(urlReplica, usuario, password));
+    }
+
+    @Scheduled(fixedDelayString = "${app.replica.local.intervalo-ms:3000}",
+               initialDelayString = "${app.replica.local.intervalo-ms:3000}")
+    public synchronized void replicar() {
+        Path script = null;
+        try {
+            script = Files.createTempFile("replica-local-", ".sql");
+            String ruta = script.toAbsolutePath().toString().replace("'", "''");
+            primaria.execute("SCRIPT TO '" + ruta + "'");
+            replica.execute("DROP ALL OBJECTS");
+            replica.execute("RUNSCRIPT FROM '" + ruta + "'");
+        } catch (Exception e) {
+            log.warn("No se pudo copiar la primaria H2 sobre la réplica: {}", e.getMessage());
+        } finally {
+            if (script != null) {
+                try {
+                    Files.deleteIfExists(script);
+                } catch (IOException e) {
+                    log.debug("No se pudo borrar {}", script);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package co.empresa.gestioncontratos.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.List;
+import java.util.Map;
+
+// Las entidades toman el id de una secuencia <tabla>_seq con incremento 50 (optimizador pooled):
+// cada nextval reserva un bloque de 50 ids y Hibernate puede agrupar los INSERT en lotes JDBC.
+// Migración de las tablas creadas con IDENTITY: se quita la identidad, el DEFAULT de la columna
+// pasa a ser la misma secuencia (los INSERT nativos sin id siguen funcionando: cada nextval suelto
+// reserva un bloque que Hibernate no usará) y la secuencia se adelanta al máximo id existente.
+// Corre después de la conversión de actividades y antes que cualquier inicializador que inserte
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@Slf4j
+public class SecuenciasInitializer implements ApplicationRunner {
+
+    public static final int ASIGNACION = 50;
+
+    private static final List<String> TABLAS = List.of("servicios", "planes_tarifas", "tarifas", "sectores",
+        "usuarios", "predios", "contratos", "contrato_coordinadores", "contrato_predios", "predio_operarios",
+        "actividades", "actividad_revisiones");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final TransactionTemplate transactionTemplate;
+
+    public SecuenciasInitializer(JdbcTemplate jdbcTemplate, DataSource dataSource,
+                                 PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        boolean postgres = esPostgres();
+        for (String tabla : TABLAS) {
+            // Sin secuencia ajustada Hibernate repartiría ids desde 1 y chocaría con los existentes:
+            // mejor no arrancar
+            try {
+                migrar(tabla, postgres);
+                ajustar(tabla, postgres);
+            } catch (Exception e) {
+                throw new RuntimeException("No se pudo pasar " + tabla + " a la secuencia " + secuencia(tabla)
+                    + ": " + e.getMessage(), e);
+            }
+        }
+        if (postgres) {
+            // Secuencia que usaba actividades al particionarse, reemplazada por actividades_seq
+            jdbcTemplate.execute("DROP SEQUENCE IF EXISTS actividades_part_id_seq");
+        }
+    }
+
+    // Tras insertar con ids explícitos (generador): la secuencia vuelve a quedar por delante
+    public void ajustarSecuencias() {
+        boolean postgres = esPostgres();
+        TABLAS.forEach(tabla -> ajustar(tabla, postgres));
+    }
+
+    // Primer id que se puede insertar a mano sin chocar con filas existentes ni con bloques ya
+    // reservados por Hibernate (que pueden estar a medio usar en memoria)
+    public long primerIdLibre(String tabla) {
+        return Math.max(maximoId(tabla) + 1, siguienteBloque(tabla, esPostgres()));
+    }
+
+    private void migrar(String tabla, boolean postgres) {
+        String secuencia = secuencia(tabla);
+        Map<String, Object> columna = jdbcTemplate.queryForMap(
+            "SELECT column_default, is_identity FROM information_schema.columns " +
+            "WHERE LOWER(table_name) = ? AND LOWER(column_name) = 'id' AND table_schema = CURRENT_SCHEMA", tabla);
+        boolean identidad = "YES".equalsIgnoreCase(String.valueOf(columna.get("is_identity")));
+        Object defecto = columna.get("column_default");
+        if (!identidad && defecto != null && defecto.toString().toLowerCase().contains(secuencia)) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (identidad) {
+                jdbcTemplate.execute("ALTER TABLE " + tabla + " ALTER COLUMN id DROP IDENTITY");
+            }
+            jdbcTemplate.execute("ALTER TABLE " + tabla + " ALTER COLUMN id SET DEFAULT " +
+                (postgres ? "nextval('" + secuencia + "')" : "NEXT VALUE FOR " + secuencia));
+        });
+        log.info("{}: id tomado de la secuencia {}", tabla, secuencia);
+    }
+
+    // Solo se adelanta si el próximo bloque alcanzaría ids existentes; nunca se retrocede
+    private void ajustar(String tabla, boolean postgres) {
+        long maximo = maximoId(tabla);
+        if (siguienteBloque(tabla, postgres) > maximo) {
+            return;
+        }
+        String secuencia = secuencia(tabla);
+        long valor = maximo + ASIGNACION;
+        if (postgres) {
+            jdbcTemplate.queryForObject("SELECT setval('" + secuencia + "', " + valor + ", false)", Long.class);
+        } else {
+            jdbcTemplate.execute("ALTER SEQUENCE " + secuencia + " RESTART WITH " + valor);
+        }
+        log.info("Secuencia {} adelantada a {} (máximo id {})", secuencia, valor, maximo);
+    }
+
+    // Primer id del bloque que entregará el próximo nextval: Hibernate usa (valor - 49 .. valor],
+    // salvo el primer valor de la secuencia (1), con el que empieza en 1
+    private long siguienteBloque(String tabla, boolean postgres) {
+        String secuencia = secuencia(tabla);
+        long proximo;
+        if (postgres) {
+            Map<String, Object> estado = jdbcTemplate.queryForMap("SELECT last_value, is_called FROM " + secuencia);
+            long ultimo = ((Number) estado.get("last_value")).longValue();
+            proximo = Boolean.TRUE.equals(estado.get("is_called")) ? ultimo + ASIGNACION : ultimo;
+        } else {
+            proximo = jdbcTemplate.queryForObject("SELECT base_value FROM information_schema.sequences " +
+                "WHERE LOWER(sequence_name) = ? AND sequence_schema = CURRENT_SCHEMA", Long.class, secuencia);
+        }
+        return Math.max(1, proximo - ASIGNACION + 1);
+    }
+
+    private long maximoId(String tabla) {
+        Long maximo = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + tabla, Long.class);
+        return maximo != null ? maximo : 0;
+    }
+
+    private static String secuencia(String tabla) {
+        return tabla + "_seq";
+    }
+
+    private boolean esPostgres() {
+        try (Connection connection = dataSource.getConnection()) {
+            return "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
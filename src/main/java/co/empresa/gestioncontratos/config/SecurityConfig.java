@@ -1,21 +1,33 @@
 package co.empresa.gestioncontratos.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import co.empresa.gestioncontratos.dto.UsuarioPrincipal;
 import co.empresa.gestioncontratos.service.CustomUserDetailsService;
+import co.empresa.gestioncontratos.service.JwtService;
+
+import java.time.Duration;
 
 @Configuration
 @EnableWebSecurity
@@ -24,17 +36,38 @@ import co.empresa.gestioncontratos.service.CustomUserDetailsService;
 public class SecurityConfig {
 
     private final CustomUserDetailsService userDetailsService;
+    private final JwtService jwtService;
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${app.security.bcrypt.cost:10}") int costo,
+                                           @Value("${app.security.bcrypt.hilos:0}") int hilos,
+                                           @Value("${app.security.bcrypt.cola:0}") int cola,
+                                           @Value("${app.security.bcrypt.timeout:PT1S}") Duration timeout,
+                                           @Value("${server.tomcat.threads.max:200}") int hilosTomcat) {
+        // Por defecto un hilo por núcleo: BCrypt es puramente CPU
+        int hilosEfectivos = hilos > 0 ? hilos : Runtime.getRuntime().availableProcessors();
+        // Cada login en cola bloquea un hilo de Tomcat: por defecto a lo sumo una cuarta parte de
+        // ellos puede estar esperando a BCrypt, el resto sigue atendiendo otras peticiones
+        int colaEfectiva = cola > 0 ? cola : Math.max(hilosEfectivos, hilosTomcat / 4);
+        return new PasswordEncoderLimitado(costo, hilosEfectivos, colaEfectiva, timeout, meterRegistry);
     }
 
     @Bean
-    public DaoAuthenticationProvider authenticationProvider() {
-        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
+    public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
+        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider() {
+            // El principal cacheado es inmutable: a la sesión va una copia sin el hash
+            @Override
+            protected Authentication createSuccessAuthentication(Object principal, Authentication authentication,
+                                                                 UserDetails user) {
+                Object principalSesion = principal instanceof UsuarioPrincipal usuario ? usuario.sinPassword() : principal;
+                return super.createSuccessAuthentication(principalSesion, authentication, user);
+            }
+        };
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        // Re-hash transparente cuando el costo guardado difiere del configurado
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
 
@@ -48,8 +81,32 @@ public class SecurityConfig {
         return new CustomAuthenticationSuccessHandler();
     }
 
+    // Clientes móviles e integraciones: token Bearer, sin sesión HTTP
+    @Bean
+    @Order(1)
+    public SecurityFilterChain apiFilterChain(HttpSecurity http, DaoAuthenticationProvider authenticationProvider) throws Exception {
+        http
+            .securityMatcher("/api/**")
+            .csrf(AbstractHttpConfigurer::disable)
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .authorizeHttpRequests(authz -> authz
+                .requestMatchers("/api/auth/token").permitAll()
+                .requestMatchers("/api/admin/**").hasRole("ADMINISTRADOR")
+                .requestMatchers("/api/supervisor/**").hasAnyRole("ADMINISTRADOR", "SUPERVISOR")
+                .requestMatchers("/api/coordinador/**").hasAnyRole("ADMINISTRADOR", "SUPERVISOR", "COORDINADOR")
+                .requestMatchers("/api/operario/**").hasAnyRole("ADMINISTRADOR", "SUPERVISOR", "COORDINADOR", "OPERARIO")
+                .anyRequest().authenticated()
+            )
+            .exceptionHandling(ex -> ex.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+            .addFilterBefore(new JwtAuthenticationFilter(jwtService), UsernamePasswordAuthenticationFilter.class)
+            .authenticationProvider(authenticationProvider);
+
+        return http.build();
+    }
+
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    @Order(2)
+    public SecurityFilterChain filterChain(HttpSecurity http, DaoAuthenticationProvider authenticationProvider) throws Exception {
         http
             .csrf(AbstractHttpConfigurer::disable)
             .authorizeHttpRequests(authz -> authz
@@ -63,12 +120,6 @@ public class SecurityConfig {
                 .requestMatchers("/coordinador/**").hasAnyRole("ADMINISTRADOR", "SUPERVISOR", "COORDINADOR")
                 .requestMatchers("/operario/**").hasAnyRole("ADMINISTRADOR", "SUPERVISOR", "COORDINADOR", "OPERARIO")
                 
-                // API REST
-                .requestMatchers("/api/admin/**").hasRole("ADMINISTRADOR")
-                .requestMatchers("/api/supervisor/**").hasAnyRole("ADMINISTRADOR", "SUPERVISOR")
-                .requestMatchers("/api/coordinador/**").hasAnyRole("ADMINISTRADOR", "SUPERVISOR", "COORDINADOR")
-                .requestMatchers("/api/operario/**").hasAnyRole("ADMINISTRADOR", "SUPERVISOR", "COORDINADOR", "OPERARIO")
-                
                 // Dashboard y rutas generales
                 .requestMatchers("/", "/dashboard", "/perfil/**", "/cambiar-password").authenticated()
                 
@@ -95,7 +146,7 @@ public class SecurityConfig {
                 .maximumSessions(1)
                 .maxSessionsPreventsLogin(false)
             )
-            .authenticationProvider(authenticationProvider());
+            .authenticationProvider(authenticationProvider);
 
         return http.build();
     }
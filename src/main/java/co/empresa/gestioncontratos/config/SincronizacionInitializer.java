@@ -0,0 +1,86 @@
+package co.empresa.gestioncontratos.config;
+
+import co.empresa.gestioncontratos.service.SincronizacionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.List;
+
+// Infraestructura de la sincronización incremental (PostgreSQL): secuencia cambios_seq,
+// triggers que asignan version_cambio en cada inserción/actualización de predio_operarios,
+// contrato_predios y actividades (también en las escrituras JDBC y por lotes), tabla
+// cambios_eliminados con las bajas físicas, que de otro modo no dejarían rastro, y tabla
+// cambios_marcas con las marcas que limitan el cursor. Sin ellas la sincronización no sirve:
+// mejor no arrancar. Corre después de ParticionesActividadInitializer (orden por defecto).
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SincronizacionInitializer implements ApplicationRunner {
+
+    private static final List<String> TABLAS = List.of("predio_operarios", "contrato_predios", "actividades");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final SincronizacionService sincronizacionService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!esPostgres()) {
+            log.debug("Base de datos distinta de PostgreSQL, se omite la secuencia de cambios");
+            return;
+        }
+        try {
+            jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS cambios_seq");
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS cambios_eliminados (" +
+                "version_cambio BIGINT PRIMARY KEY, tabla VARCHAR(40) NOT NULL, uuid UUID NOT NULL, " +
+                "operario_id BIGINT, contrato_id BIGINT, predio_id BIGINT, fecha TIMESTAMP NOT NULL)");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_cambios_eliminados_operario " +
+                "ON cambios_eliminados (operario_id, version_cambio)");
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS cambios_marcas (" +
+                "version BIGINT NOT NULL, xid BIGINT NOT NULL, fecha TIMESTAMP NOT NULL)");
+
+            jdbcTemplate.execute("CREATE OR REPLACE FUNCTION fn_version_cambio() RETURNS trigger AS $$ " +
+                "BEGIN NEW.version_cambio := nextval('cambios_seq'); RETURN NEW; END $$ LANGUAGE plpgsql");
+            // Las columnas que no existen en la tabla quedan en null (to_jsonb en lugar de OLD.columna)
+            jdbcTemplate.execute("CREATE OR REPLACE FUNCTION fn_cambio_eliminado() RETURNS trigger AS $$ " +
+                "DECLARE fila jsonb := to_jsonb(OLD); " +
+                "BEGIN INSERT INTO cambios_eliminados (version_cambio, tabla, uuid, operario_id, contrato_id, predio_id, fecha) " +
+                "VALUES (nextval('cambios_seq'), TG_TABLE_NAME, OLD.uuid, (fila->>'operario_id')::bigint, " +
+                "(fila->>'contrato_id')::bigint, (fila->>'predio_id')::bigint, now()); " +
+                "RETURN OLD; END $$ LANGUAGE plpgsql");
+
+            for (String tabla : TABLAS) {
+                jdbcTemplate.execute("DROP TRIGGER IF EXISTS trg_" + tabla + "_version ON " + tabla);
+                jdbcTemplate.execute("CREATE TRIGGER trg_" + tabla + "_version BEFORE INSERT OR UPDATE ON " + tabla +
+                    " FOR EACH ROW EXECUTE FUNCTION fn_version_cambio()");
+                jdbcTemplate.execute("DROP TRIGGER IF EXISTS trg_" + tabla + "_eliminado ON " + tabla);
+                jdbcTemplate.execute("CREATE TRIGGER trg_" + tabla + "_eliminado AFTER DELETE ON " + tabla +
+                    " FOR EACH ROW EXECUTE FUNCTION fn_cambio_eliminado()");
+                // Filas anteriores a la columna
+                int completadas = jdbcTemplate.update("UPDATE " + tabla +
+                    " SET version_cambio = nextval('cambios_seq') WHERE version_cambio IS NULL");
+                if (completadas > 0) {
+                    log.info("Versión de cambio asignada a {} filas de {}", completadas, tabla);
+                }
+            }
+            log.info("Secuencia de cambios para sincronización verificada");
+        } catch (Exception e) {
+            throw new RuntimeException("No se pudo preparar la secuencia de cambios: " + e.getMessage(), e);
+        }
+        sincronizacionService.activarMarcas();
+    }
+
+    private boolean esPostgres() {
+        try (Connection connection = dataSource.getConnection()) {
+            return "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package co.empresa.gestioncontratos.controller;
+
+import co.empresa.gestioncontratos.dto.ActividadLoteDTO;
+import co.empresa.gestioncontratos.dto.UsuarioPrincipal;
+import co.empresa.gestioncontratos.service.ActividadService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Controller
+@RequestMapping("/api/operario/actividades")
+@RequiredArgsConstructor
+@Slf4j
+public class ActividadApiController {
+
+    private static final int MAX_ACTIVIDADES = 1000;
+
+    private final ActividadService actividadService;
+
+    // Ingesta de las actividades acumuladas sin conexión. Idempotente por el uuid de cada actividad:
+    // el cliente puede reenviar el lote completo si no recibió respuesta
+    @PostMapping("/lote")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> registrarLote(@AuthenticationPrincipal UsuarioPrincipal usuario,
+                                                             @RequestBody List<ActividadLoteDTO> actividades) {
+        log.info("=== API: LOTE DE {} ACTIVIDADES DE {} ===", actividades.size(), usuario.getUsername());
+
+        Map<String, Object> response = new HashMap<>();
+        if (actividades.size() > MAX_ACTIVIDADES) {
+            response.put("success", false);
+            response.put("message", "Máximo " + MAX_ACTIVIDADES + " actividades por solicitud");
+            return ResponseEntity.badRequest().body(response);
+        }
+
+        try {
+            List<Map<String, Object>> resultados = actividadService.registrarLote(usuario.getId(), actividades);
+            response.put("success", true);
+            response.put("creadas", contar(resultados, ActividadService.CREADA));
+            response.put("duplicadas", contar(resultados, ActividadService.DUPLICADA));
+            response.put("rechazadas", contar(resultados, ActividadService.RECHAZADA));
+            response.put("resultados", resultados);
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            log.error("Error registrando lote de actividades de {}: {}", usuario.getUsername(), e.getMessage());
+            response.put("success", false);
+            response.put("message", "Error al registrar las actividades: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(response);
+        }
+    }
+
+    private static long contar(List<Map<String, Object>> resultados, String estado) {
+        return resultados.stream().filter(r -> estado.equals(r.get("estado"))).count();
+    }
+}
@@ -0,0 +1,48 @@
+package co.empresa.gestioncontratos.controller;
+
+import co.empresa.gestioncontratos.dto.RevisionMasivaDTO;
+import co.empresa.gestioncontratos.dto.UsuarioPrincipal;
+import co.empresa.gestioncontratos.service.ActividadService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Controller
+@RequestMapping("/supervisor/actividades")
+@RequiredArgsConstructor
+@Slf4j
+public class ActividadController {
+
+    private final ActividadService actividadService;
+
+    // ==================== API REST ====================
+
+    // Aprueba o rechaza de una vez las actividades pendientes por lista o por filtro
+    @PostMapping("/api/revision-masiva")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> revisionMasiva(@AuthenticationPrincipal UsuarioPrincipal usuario,
+                                                              @RequestBody RevisionMasivaDTO revision) {
+        log.info("=== API: REVISIÓN MASIVA DE ACTIVIDADES ({}) POR {} ===", revision.getEstado(), usuario.getUsername());
+
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            response.putAll(actividadService.revisarMasivo(revision, usuario));
+            response.put("success", true);
+            response.put("message", "Actividades revisadas: " + response.get("revisadas"));
+            return ResponseEntity.ok(response);
+
+        } catch (RuntimeException e) {
+            log.warn("Revisión masiva rechazada: {}", e.getMessage());
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package co.empresa.gestioncontratos.controller;
+
+import co.empresa.gestioncontratos.dto.UsuarioPrincipal;
+import co.empresa.gestioncontratos.service.JwtService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Controller
+@RequestMapping("/api/auth")
+@RequiredArgsConstructor
+@Slf4j
+public class AuthApiController {
+
+    private final AuthenticationManager authenticationManager;
+    private final JwtService jwtService;
+
+    @PostMapping("/token")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> emitirToken(@RequestBody Map<String, String> credenciales) {
+        String username = credenciales.get("username");
+        log.info("=== API: EMITIENDO TOKEN PARA {} ===", username);
+
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            Authentication autenticacion = authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(username, credenciales.get("password")));
+            UsuarioPrincipal usuario = (UsuarioPrincipal) autenticacion.getPrincipal();
+
+            response.put("success", true);
+            response.put("token", jwtService.generarToken(usuario));
+            response.put("tipo", "Bearer");
+            response.put("expiraEnMs", jwtService.getExpiracionMs());
+            response.put("uuid", usuario.getUuid());
+            response.put("perfil", usuario.getPerfil());
+
+            return ResponseEntity.ok(response);
+
+        } catch (AuthenticationServiceException e) {
+            // Pool de BCrypt saturado: el cliente debe reintentar
+            log.warn("No se pudo verificar la contraseña de {}: {}", username, e.getMessage());
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+
+        } catch (AuthenticationException e) {
+            log.warn("Credenciales inválidas para {}", username);
+            response.put("success", false);
+            response.put("message", "Credenciales inválidas");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+        }
+    }
+}
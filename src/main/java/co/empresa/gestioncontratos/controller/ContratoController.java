@@ -7,9 +7,11 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 
+import co.empresa.gestioncontratos.config.PresupuestoConsultas;
 import co.empresa.gestioncontratos.dto.AsignacionMasivaDTO;
 import co.empresa.gestioncontratos.dto.ContratoDTO;
 import co.empresa.gestioncontratos.dto.UsuarioDTO;
+import co.empresa.gestioncontratos.dto.UsuarioPrincipal;
 import co.empresa.gestioncontratos.entity.Contrato;
 import co.empresa.gestioncontratos.entity.ContratoPredio;
 import co.empresa.gestioncontratos.entity.Usuario;
@@ -37,7 +39,7 @@ public class ContratoController {
 
     // Vista principal de contratos
     @GetMapping
-    public String listar(@AuthenticationPrincipal Usuario usuarioActual, Model model) {
+    public String listar(@AuthenticationPrincipal UsuarioPrincipal usuarioActual, Model model) {
         
         List<Contrato> contratos;
         
@@ -46,14 +48,14 @@ public class ContratoController {
                 contratos = contratoService.listarTodos();
                 break;
             case SUPERVISOR:
-                contratos = contratoService.listarPorSupervisor(usuarioActual);
+                contratos = contratoService.listarPorSupervisor(usuarioService.referencia(usuarioActual.getId()));
                 break;
             case COORDINADOR:
-                contratos = contratoService.listarPorCoordinador(usuarioActual);
+                contratos = contratoService.listarPorCoordinador(usuarioService.referencia(usuarioActual.getId()));
                 break;
             case OPERARIO:
                 // Los operarios ven contratos donde tienen predios asignados
-                contratos = contratoService.listarContratoPorOperario(usuarioActual);
+                contratos = contratoService.listarContratoPorOperario(usuarioService.referencia(usuarioActual.getId()));
                 break;
             default:
                 contratos = new ArrayList<>();
@@ -68,7 +70,7 @@ public class ContratoController {
     // Vista de detalle/asignación de un contrato
     @GetMapping("/{uuid}/asignaciones")
     public String verAsignaciones(@PathVariable UUID uuid, 
-                                 @AuthenticationPrincipal Usuario usuarioActual,
+                                 @AuthenticationPrincipal UsuarioPrincipal usuarioActual,
                                  Model model) {
         
         Contrato contrato = contratoService.buscarPorUuid(uuid);
@@ -115,7 +117,7 @@ public class ContratoController {
     @ResponseBody
     public ResponseEntity<?> asignarSupervisor(@PathVariable UUID uuid,
                                               @RequestParam UUID supervisorUuid,
-                                              @AuthenticationPrincipal Usuario usuarioActual) {
+                                              @AuthenticationPrincipal UsuarioPrincipal usuarioActual) {
         
         if (usuarioActual.getPerfil() != PerfilUsuario.ADMINISTRADOR) {
             return ResponseEntity.status(403).body(Map.of(
@@ -144,7 +146,7 @@ public class ContratoController {
     @ResponseBody
     public ResponseEntity<?> asignarCoordinador(@PathVariable UUID uuid,
                                                @RequestParam UUID coordinadorUuid,
-                                               @AuthenticationPrincipal Usuario usuarioActual) {
+                                               @AuthenticationPrincipal UsuarioPrincipal usuarioActual) {
         
         Contrato contrato = contratoService.buscarPorUuid(uuid);
         
@@ -175,7 +177,7 @@ public class ContratoController {
     @ResponseBody
     public ResponseEntity<?> removerCoordinador(@PathVariable UUID uuid,
                                                @PathVariable UUID coordinadorUuid,
-                                               @AuthenticationPrincipal Usuario usuarioActual) {
+                                               @AuthenticationPrincipal UsuarioPrincipal usuarioActual) {
         
         Contrato contrato = contratoService.buscarPorUuid(uuid);
         
@@ -206,7 +208,7 @@ public class ContratoController {
     public ResponseEntity<?> asignarOperarioAPredio(@PathVariable UUID contratoUuid,
                                                    @PathVariable UUID predioUuid,
                                                    @RequestParam UUID operarioUuid,
-                                                   @AuthenticationPrincipal Usuario usuarioActual) {
+                                                   @AuthenticationPrincipal UsuarioPrincipal usuarioActual) {
         
         Contrato contrato = contratoService.buscarPorUuid(contratoUuid);
         
@@ -240,7 +242,7 @@ public class ContratoController {
     @ResponseBody
     public ResponseEntity<?> asignarOperariosMasivo(@PathVariable UUID contratoUuid,
                                                    @RequestBody AsignacionMasivaDTO asignaciones,
-                                                   @AuthenticationPrincipal Usuario usuarioActual) {
+                                                   @AuthenticationPrincipal UsuarioPrincipal usuarioActual) {
         
         Contrato contrato = contratoService.buscarPorUuid(contratoUuid);
         
@@ -274,7 +276,7 @@ public class ContratoController {
     @GetMapping("/{contratoUuid}/operarios-disponibles")
     @ResponseBody
     public ResponseEntity<?> obtenerOperariosDisponibles(@PathVariable UUID contratoUuid,
-                                                        @AuthenticationPrincipal Usuario usuarioActual) {
+                                                        @AuthenticationPrincipal UsuarioPrincipal usuarioActual) {
         
         Contrato contrato = contratoService.buscarPorUuid(contratoUuid);
         
@@ -310,7 +312,7 @@ public class ContratoController {
     @GetMapping("/{contratoUuid}/resumen-asignaciones")
     @ResponseBody
     public ResponseEntity<?> obtenerResumenAsignaciones(@PathVariable UUID contratoUuid,
-                                                       @AuthenticationPrincipal Usuario usuarioActual) {
+                                                       @AuthenticationPrincipal UsuarioPrincipal usuarioActual) {
         
         Contrato contrato = contratoService.buscarPorUuid(contratoUuid);
         
@@ -356,7 +358,7 @@ public class ContratoController {
     }
 
     // Métodos auxiliares de permisos
-    private boolean tienePermisoVerContrato(Usuario usuario, Contrato contrato) {
+    private boolean tienePermisoVerContrato(UsuarioPrincipal usuario, Contrato contrato) {
         switch (usuario.getPerfil()) {
             case ADMINISTRADOR:
                 return true;
@@ -375,7 +377,7 @@ public class ContratoController {
         }
     }
 
-    private boolean tienePermisoParaAsignar(Usuario usuario, Contrato contrato) {
+    private boolean tienePermisoParaAsignar(UsuarioPrincipal usuario, Contrato contrato) {
         return usuario.getPerfil() == PerfilUsuario.ADMINISTRADOR ||
                (usuario.getPerfil() == PerfilUsuario.SUPERVISOR && 
                 contrato.getSupervisor() != null && 
@@ -385,14 +387,14 @@ public class ContratoController {
                     .anyMatch(coord -> coord.getId().equals(usuario.getId())));
     }
 
-    private boolean puedeAsignarCoordinador(Usuario usuario, Contrato contrato) {
+    private boolean puedeAsignarCoordinador(UsuarioPrincipal usuario, Contrato contrato) {
         return usuario.getPerfil() == PerfilUsuario.ADMINISTRADOR ||
                (usuario.getPerfil() == PerfilUsuario.SUPERVISOR && 
                 contrato.getSupervisor() != null && 
                 contrato.getSupervisor().getId().equals(usuario.getId()));
     }
 
-    private boolean puedeAsignarOperario(Usuario usuario, Contrato contrato) {
+    private boolean puedeAsignarOperario(UsuarioPrincipal usuario, Contrato contrato) {
         if (usuario.getPerfil() == PerfilUsuario.ADMINISTRADOR) return true;
         
         if (usuario.getPerfil() == PerfilUsuario.SUPERVISOR && 
@@ -408,64 +410,18 @@ public class ContratoController {
         
         return false;
     }
+    // Proyección de contratos más tres conteos agrupados, sin importar cuántos contratos haya
     @GetMapping("/api/listar")
     @ResponseBody
-    public ResponseEntity<List<ContratoDTO>> listarContratosAPI(@AuthenticationPrincipal Usuario usuarioActual) {
+    @PresupuestoConsultas(4)
+    public ResponseEntity<List<ContratoDTO>> listarContratosAPI(@AuthenticationPrincipal UsuarioPrincipal usuarioActual) {
         log.info("=== API: LISTANDO CONTRATOS ===");
         log.info("Usuario: {} ({})", usuarioActual.getUsername(), usuarioActual.getPerfil());
         
         try {
-            List<Contrato> contratos;
-            
             // Filtrar contratos según el perfil del usuario
-            switch (usuarioActual.getPerfil()) {
-                case ADMINISTRADOR:
-                    contratos = contratoService.listarTodos();
-                    break;
-                case SUPERVISOR:
-                    contratos = contratoService.listarPorSupervisor(usuarioActual);
-                    break;
-                case COORDINADOR:
-                    contratos = contratoService.listarPorCoordinador(usuarioActual);
-                    break;
-                case OPERARIO:
-                    contratos = contratoService.listarPorOperario(usuarioActual);
-                    break;
-                default:
-                    contratos = new ArrayList<>();
-            }
-            
-            // Convertir a DTOs con información adicional
-            List<ContratoDTO> contratosDTO = contratos.stream()
-                .map(contrato -> {
-                    ContratoDTO dto = ContratoDTO.builder()
-                        .uuid(contrato.getUuid())
-                        .codigo(contrato.getNumeroContrato())
-                        .objetivo(contrato.getObjetivo())
-                        .sectorUuid(contrato.getSector() != null ? contrato.getSector().getUuid() : null)
-                        .sectorNombre(contrato.getNombreSector())
-                        .fechaInicio(contrato.getFechaInicio())
-                        .fechaFin(contrato.getFechaFin())
-                        .planTarifaUuid(contrato.getPlanTarifa() != null ? contrato.getPlanTarifa().getUuid() : null)
-                        .planTarifaNombre(contrato.getNombrePlanTarifa())
-                        .supervisorUuid(contrato.getSupervisor() != null ? contrato.getSupervisor().getUuid() : null)
-                        .supervisorNombre(contrato.getNombreSupervisor())
-                        .estado(contrato.getEstado())
-                        .build();
-                    
-                    // Agregar estadísticas del contrato
-                    Map<String, Object> estadisticas = contratoService.obtenerEstadisticas(contrato);
-                    dto.setTotalPredios(((Number) estadisticas.get("totalPredios")).intValue());
-                    dto.setPrediosAsignados(((Number) estadisticas.get("prediosAsignados")).intValue());
-                    dto.setTotalOperarios(contratoService.obtenerOperariosDelContrato(contrato).size());
-                    dto.setPorcentajeAvance(((Number) estadisticas.get("porcentajeCompletado")).doubleValue());
-                    
-                    // Verificar si puede ser eliminado
-                    dto.setPuedeSerEliminado(contrato.puedeSerEliminado());
-                    
-                    return dto;
-                })
-                .collect(Collectors.toList());
+            List<ContratoDTO> contratosDTO = contratoService.listarResumen(
+                usuarioActual.getPerfil(), usuarioActual.getId());
             
             log.info("✅ Retornando {} contratos", contratosDTO.size());
             return ResponseEntity.ok(contratosDTO);
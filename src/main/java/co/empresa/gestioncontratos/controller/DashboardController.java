@@ -1,45 +1,77 @@
 package co.empresa.gestioncontratos.controller;
 
 
-import co.empresa.gestioncontratos.entity.Usuario;
+import co.empresa.gestioncontratos.dto.UsuarioPrincipal;
+import co.empresa.gestioncontratos.enums.PerfilUsuario;
+import co.empresa.gestioncontratos.service.DashboardEventosService;
 import co.empresa.gestioncontratos.service.DashboardService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Controller
 @RequiredArgsConstructor
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final DashboardEventosService dashboardEventosService;
 
     @GetMapping("/admin/dashboard")
-    public String adminDashboard(@AuthenticationPrincipal Usuario usuario, Model model) {
+    public String adminDashboard(@AuthenticationPrincipal UsuarioPrincipal usuario, Model model) {
         model.addAttribute("usuario", usuario);
         model.addAttribute("stats", dashboardService.getAdminStats());
         return "dashboard/admin";
     }
 
     @GetMapping("/supervisor/dashboard")
-    public String supervisorDashboard(@AuthenticationPrincipal Usuario usuario, Model model) {
+    public String supervisorDashboard(@AuthenticationPrincipal UsuarioPrincipal usuario, Model model) {
         model.addAttribute("usuario", usuario);
         model.addAttribute("stats", dashboardService.getSupervisorStats(usuario.getId()));
         return "dashboard/supervisor";
     }
 
     @GetMapping("/coordinador/dashboard")
-    public String coordinadorDashboard(@AuthenticationPrincipal Usuario usuario, Model model) {
+    public String coordinadorDashboard(@AuthenticationPrincipal UsuarioPrincipal usuario, Model model) {
         model.addAttribute("usuario", usuario);
         model.addAttribute("stats", dashboardService.getCoordinadorStats(usuario.getId()));
         return "dashboard/coordinador";
     }
 
     @GetMapping("/operario/dashboard")
-    public String operarioDashboard(@AuthenticationPrincipal Usuario usuario, Model model) {
+    public String operarioDashboard(@AuthenticationPrincipal UsuarioPrincipal usuario, Model model) {
         model.addAttribute("usuario", usuario);
         model.addAttribute("stats", dashboardService.getOperarioStats(usuario.getId()));
         return "dashboard/operario";
     }
-}
\ No newline at end of file
+
+    // ==================== EVENTOS EN VIVO (SSE) ====================
+
+    @GetMapping(value = "/admin/dashboard/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public SseEmitter adminEventos(@AuthenticationPrincipal UsuarioPrincipal usuario) {
+        return dashboardEventosService.suscribir(PerfilUsuario.ADMINISTRADOR, usuario);
+    }
+
+    @GetMapping(value = "/supervisor/dashboard/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public SseEmitter supervisorEventos(@AuthenticationPrincipal UsuarioPrincipal usuario) {
+        return dashboardEventosService.suscribir(PerfilUsuario.SUPERVISOR, usuario);
+    }
+
+    @GetMapping(value = "/coordinador/dashboard/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public SseEmitter coordinadorEventos(@AuthenticationPrincipal UsuarioPrincipal usuario) {
+        return dashboardEventosService.suscribir(PerfilUsuario.COORDINADOR, usuario);
+    }
+
+    @GetMapping(value = "/operario/dashboard/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public SseEmitter operarioEventos(@AuthenticationPrincipal UsuarioPrincipal usuario) {
+        return dashboardEventosService.suscribir(PerfilUsuario.OPERARIO, usuario);
+    }
+}
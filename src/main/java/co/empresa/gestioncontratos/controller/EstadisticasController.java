@@ -0,0 +1,75 @@
+package co.empresa.gestioncontratos.controller;
+
+import co.empresa.gestioncontratos.dto.UsuarioPrincipal;
+import co.empresa.gestioncontratos.enums.IntervaloSerie;
+import co.empresa.gestioncontratos.enums.PerfilUsuario;
+import co.empresa.gestioncontratos.enums.SerieEstadistica;
+import co.empresa.gestioncontratos.service.SerieTemporalService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+@Controller
+@RequestMapping("/supervisor/estadisticas")
+@RequiredArgsConstructor
+@Slf4j
+public class EstadisticasController {
+
+    private final SerieTemporalService serieTemporalService;
+
+    // ==================== API REST ====================
+
+    // Serie para gráficos: por defecto los últimos 12 meses agrupados por mes. La clave es un estado
+    // o el uuid del contrato u operario; los supervisores solo ven sus contratos
+    @GetMapping("/api/series/{serie}")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> obtenerSerie(
+            @AuthenticationPrincipal UsuarioPrincipal usuario,
+            @PathVariable SerieEstadistica serie,
+            @RequestParam(defaultValue = "MES") IntervaloSerie intervalo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(required = false) String clave) {
+
+        log.info("=== API: SERIE {} POR {} ===", serie, intervalo);
+
+        Map<String, Object> response = new HashMap<>();
+        try {
+            LocalDate fin = hasta != null ? hasta : LocalDate.now();
+            LocalDate inicio = desde != null ? desde : fin.minusMonths(12).plusDays(1);
+            Long supervisorId = usuario.getPerfil() == PerfilUsuario.ADMINISTRADOR ? null : usuario.getId();
+
+            response.put("success", true);
+            response.putAll(serieTemporalService.consultar(serie, intervalo, inicio, fin, clave, supervisorId));
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            log.error("Error al consultar serie {}: ", serie, e);
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    @GetMapping("/api/series")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> listarSeries() {
+        Map<String, Object> series = new HashMap<>();
+        for (SerieEstadistica serie : SerieEstadistica.values()) {
+            series.put(serie.name(), serie.getDescripcion());
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("series", series);
+        response.put("intervalos", IntervaloSerie.values());
+        return ResponseEntity.ok(response);
+    }
+}
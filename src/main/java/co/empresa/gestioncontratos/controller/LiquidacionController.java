@@ -0,0 +1,78 @@
+package co.empresa.gestioncontratos.controller;
+
+import co.empresa.gestioncontratos.dto.UsuarioPrincipal;
+import co.empresa.gestioncontratos.enums.PerfilUsuario;
+import co.empresa.gestioncontratos.service.ContratoService;
+import co.empresa.gestioncontratos.service.LiquidacionService;
+import co.empresa.gestioncontratos.service.MatrizTarifas;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Controller
+@RequestMapping("/supervisor/liquidaciones")
+@RequiredArgsConstructor
+@Slf4j
+public class LiquidacionController {
+
+    private final LiquidacionService liquidacionService;
+    private final ContratoService contratoService;
+
+    // ==================== API REST ====================
+
+    // Liquidación de un mes (periodo=2026-09) o de un rango; opcionalmente de un solo contrato.
+    // Los supervisores solo liquidan sus contratos
+    @GetMapping("/api")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> liquidar(
+            @AuthenticationPrincipal UsuarioPrincipal usuario,
+            @RequestParam(required = false) YearMonth periodo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(required = false) UUID contrato) {
+
+        log.info("=== API: LIQUIDANDO {} ({} a {}) CONTRATO {} ===", periodo, desde, hasta, contrato);
+
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            if (periodo != null) {
+                desde = periodo.atDay(1);
+                hasta = periodo.atEndOfMonth();
+            }
+            Long contratoId = null;
+            if (contrato != null) {
+                contratoId = contratoService.buscarPorUuid(contrato).getId();
+            }
+            Long supervisorId = usuario.getPerfil() == PerfilUsuario.ADMINISTRADOR ? null : usuario.getId();
+
+            List<LiquidacionService.Liquidacion> liquidaciones =
+                liquidacionService.liquidar(desde, hasta, contratoId, supervisorId);
+
+            response.put("success", true);
+            response.put("desde", desde);
+            response.put("hasta", hasta);
+            response.put("total", MatrizTarifas.aDecimal(liquidaciones.stream()
+                .mapToLong(LiquidacionService.Liquidacion::totalCentavos).sum()));
+            response.put("liquidaciones", liquidacionService.describir(liquidaciones));
+            return ResponseEntity.ok(response);
+
+        } catch (RuntimeException e) {
+            log.warn("No se pudo liquidar: {}", e.getMessage());
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+}
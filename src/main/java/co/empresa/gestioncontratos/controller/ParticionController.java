@@ -0,0 +1,63 @@
+package co.empresa.gestioncontratos.controller;
+
+import co.empresa.gestioncontratos.service.ParticionesActividadService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+
+@Controller
+@RequestMapping("/admin/particiones")
+@RequiredArgsConstructor
+@Slf4j
+public class ParticionController {
+
+    private final ParticionesActividadService particionesActividadService;
+
+    // ==================== API REST ====================
+
+    @GetMapping("/api")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> listar() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("activas", particionesActividadService.activas());
+        response.put("inicioRetenido", particionesActividadService.inicioRetenido().orElse(null));
+        response.put("particiones", particionesActividadService.listar());
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/api/{periodo}/desvincular")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> desvincular(@PathVariable YearMonth periodo) {
+        log.info("=== API: DESVINCULANDO PARTICIÓN DE ACTIVIDADES {} ===", periodo);
+        return ejecutar(() -> particionesActividadService.desvincular(periodo), "Partición desvinculada");
+    }
+
+    @PostMapping("/api/{periodo}/compactar")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> compactar(@PathVariable YearMonth periodo) {
+        log.info("=== API: COMPACTANDO PARTICIÓN DE ACTIVIDADES {} ===", periodo);
+        return ejecutar(() -> particionesActividadService.compactar(periodo), "Partición compactada");
+    }
+
+    private ResponseEntity<Map<String, Object>> ejecutar(Runnable accion, String mensaje) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            accion.run();
+            response.put("success", true);
+            response.put("message", mensaje);
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            log.warn("Operación sobre particiones rechazada: {}", e.getMessage());
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+}
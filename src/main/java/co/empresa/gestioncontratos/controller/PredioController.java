@@ -2,7 +2,7 @@ package co.empresa.gestioncontratos.controller;
 
 import co.empresa.gestioncontratos.dto.PredioDTO;
 import co.empresa.gestioncontratos.entity.Predio;
-import co.empresa.gestioncontratos.entity.Usuario;
+import co.empresa.gestioncontratos.dto.UsuarioPrincipal;
 import co.empresa.gestioncontratos.enums.PerfilUsuario;
 import co.empresa.gestioncontratos.enums.TipoPredio;
 import co.empresa.gestioncontratos.service.PredioService;
@@ -26,7 +26,6 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import jakarta.validation.Valid;
 import java.util.*;
 import java.util.concurrent.atomic.LongAccumulator;
-import java.util.stream.Collectors;
 
 @Controller
 @RequestMapping("/admin/predios")
@@ -40,7 +39,7 @@ public class PredioController {
     // ==================== VISTAS WEB ====================
 
     @GetMapping
-    public String listar(@AuthenticationPrincipal Usuario usuarioActual,
+    public String listar(@AuthenticationPrincipal UsuarioPrincipal usuarioActual,
                         @RequestParam(defaultValue = "0") int page,
                         @RequestParam(defaultValue = "10") int size,
                         @RequestParam(required = false) String filtro,
@@ -206,12 +205,7 @@ public class PredioController {
         log.info("=== API: LISTANDO TODOS LOS PREDIOS ===");
         
         try {
-            List<Predio> predios = predioService.listarTodos();
-            List<PredioDTO> prediosDTO = predios.stream()
-                .map(predioService::convertirADTO)
-                .collect(Collectors.toList());
-            
-            return ResponseEntity.ok(prediosDTO);
+            return ResponseEntity.ok(predioService.listarResumen());
         } catch (Exception e) {
             log.error("Error al listar predios: ", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -231,11 +225,7 @@ public class PredioController {
         
         try {
             Pageable pageable = PageRequest.of(page, size, Sort.by("direccion").ascending());
-            Page<Predio> predios = predioService.buscarConFiltros(filtro, sectorUuid, tipo, pageable);
-            
-            Page<PredioDTO> prediosDTO = predios.map(predioService::convertirADTO);
-            
-            return ResponseEntity.ok(prediosDTO);
+            return ResponseEntity.ok(predioService.buscarResumen(filtro, sectorUuid, tipo, pageable));
         } catch (Exception e) {
             log.error("Error en búsqueda de predios: ", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -246,14 +236,14 @@ public class PredioController {
     @ResponseBody
     public ResponseEntity<PredioDTO> obtenerPredio(@PathVariable UUID uuid) {
         try {
-            Predio predio = predioService.buscarPorUuid(uuid);
-            return ResponseEntity.ok(predioService.convertirADTO(predio));
+            return ResponseEntity.ok(predioService.obtenerResumen(uuid));
         } catch (Exception e) {
             log.error("Error al obtener predio: ", e);
             return ResponseEntity.notFound().build();
         }
     }
 
+    // Crear y actualizar responden con la misma proyección que el detalle (/api/{uuid})
     @PostMapping
     @ResponseBody
     public ResponseEntity<?> crearPredio(@Valid @RequestBody PredioDTO predioDTO) {
@@ -264,7 +254,7 @@ public class PredioController {
             return ResponseEntity.ok(Map.of(
                 "success", true,
                 "message", "Predio creado exitosamente",
-                "predio", predioService.convertirADTO(predio)
+                "predio", predioService.obtenerResumen(predio.getUuid())
             ));
         } catch (Exception e) {
             log.error("Error al crear predio: ", e);
@@ -286,7 +276,7 @@ public class PredioController {
             return ResponseEntity.ok(Map.of(
                 "success", true,
                 "message", "Predio actualizado exitosamente",
-                "predio", predioService.convertirADTO(predio)
+                "predio", predioService.obtenerResumen(predio.getUuid())
             ));
         } catch (Exception e) {
             log.error("Error al actualizar predio: ", e);
@@ -346,12 +336,7 @@ public class PredioController {
         log.info("=== API: LISTANDO PREDIOS DISPONIBLES ===");
         
         try {
-            List<Predio> predios = predioService.listarPrediosDisponibles();
-            List<PredioDTO> prediosDTO = predios.stream()
-                .map(predioService::convertirADTO)
-                .collect(Collectors.toList());
-            
-            return ResponseEntity.ok(prediosDTO);
+            return ResponseEntity.ok(predioService.listarResumenDisponibles());
         } catch (Exception e) {
             log.error("Error al listar predios disponibles: ", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -364,12 +349,7 @@ public class PredioController {
         log.info("=== API: LISTANDO PREDIOS DISPONIBLES PARA CONTRATO {} ===", contratoUuid);
         
         try {
-            List<Predio> predios = predioService.listarPrediosDisponiblesParaContrato(contratoUuid);
-            List<PredioDTO> prediosDTO = predios.stream()
-                .map(predioService::convertirADTO)
-                .collect(Collectors.toList());
-            
-            return ResponseEntity.ok(prediosDTO);
+            return ResponseEntity.ok(predioService.listarResumenDisponiblesParaContrato(contratoUuid));
         } catch (Exception e) {
             log.error("Error al listar predios disponibles para contrato: ", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
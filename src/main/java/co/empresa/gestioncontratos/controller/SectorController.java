@@ -1,8 +1,9 @@
 package co.empresa.gestioncontratos.controller;
 
+import co.empresa.gestioncontratos.config.PresupuestoConsultas;
 import co.empresa.gestioncontratos.dto.SectorDTO;
 import co.empresa.gestioncontratos.entity.Sector;
-import co.empresa.gestioncontratos.entity.Usuario;
+import co.empresa.gestioncontratos.dto.UsuarioPrincipal;
 import co.empresa.gestioncontratos.service.SectorService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -35,7 +36,7 @@ public class SectorController {
     // ==================== VISTAS WEB ====================
 
     @GetMapping
-    public String listar(@AuthenticationPrincipal Usuario usuarioActual,
+    public String listar(@AuthenticationPrincipal UsuarioPrincipal usuarioActual,
                         @RequestParam(defaultValue = "0") int page,
                         @RequestParam(defaultValue = "10") int size,
                         @RequestParam(required = false) String filtro,
@@ -179,30 +180,15 @@ public class SectorController {
 
     // ==================== API REST ====================
 
+    // Sectores y sector_rollup, una consulta cada uno
     @GetMapping("/api/listar")
     @ResponseBody
+    @PresupuestoConsultas(2)
     public ResponseEntity<List<SectorDTO>> listarTodos() {
         log.info("=== API: LISTANDO TODOS LOS SECTORES ===");
         
         try {
-            List<Sector> sectores = sectorService.listarTodos();
-            List<SectorDTO> sectoresDTO = sectores.stream()
-                .map(sector -> {
-                    SectorDTO dto = sectorService.convertirADTO(sector);
-                    // Agregar información adicional para la vista
-                    dto.setTotalPredios(sectorService.obtenerEstadisticas(sector.getUuid())
-                        .get("totalPredios") != null ? 
-                        ((Number) sectorService.obtenerEstadisticas(sector.getUuid())
-                        .get("totalPredios")).longValue() : 0L);
-                    dto.setContratosActivos(sectorService.obtenerEstadisticas(sector.getUuid())
-                        .get("contratosActivos") != null ? 
-                        ((Number) sectorService.obtenerEstadisticas(sector.getUuid())
-                        .get("contratosActivos")).longValue() : 0L);
-                    return dto;
-                })
-                .collect(Collectors.toList());
-            
-            return ResponseEntity.ok(sectoresDTO);
+            return ResponseEntity.ok(sectorService.listarResumen());
         } catch (Exception e) {
             log.error("Error al listar sectores: ", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -227,6 +213,9 @@ public class SectorController {
         }
     }
 
+    // Sin proyección a propósito: Sector no tiene relaciones y se busca por uuid en la caché de
+    // segundo nivel (id natural), así que el DTO sale de la entidad sin otra consulta. Crear y
+    // actualizar responden con la entidad que ya tienen en memoria
     @GetMapping("/api/{uuid}")
     @ResponseBody
     public ResponseEntity<SectorDTO> obtenerSector(@PathVariable UUID uuid) {
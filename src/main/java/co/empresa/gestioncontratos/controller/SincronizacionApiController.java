@@ -0,0 +1,45 @@
+package co.empresa.gestioncontratos.controller;
+
+import co.empresa.gestioncontratos.dto.UsuarioPrincipal;
+import co.empresa.gestioncontratos.service.SincronizacionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Controller
+@RequestMapping("/api/operario")
+@RequiredArgsConstructor
+@Slf4j
+public class SincronizacionApiController {
+
+    private static final int LIMITE_MAXIMO = 2000;
+
+    private final SincronizacionService sincronizacionService;
+
+    // Cambios desde el cursor de la última sincronización (0 para la carga inicial). El cliente
+    // guarda el cursor devuelto y repite mientras "hayMas" sea verdadero
+    @GetMapping("/sync")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> sincronizar(@AuthenticationPrincipal UsuarioPrincipal usuario,
+                                                           @RequestParam(defaultValue = "0") long cursor,
+                                                           @RequestParam(defaultValue = "500") int limite) {
+        log.info("=== API: SINCRONIZACIÓN DE {} DESDE {} ===", usuario.getUsername(), cursor);
+
+        Map<String, Object> response = new HashMap<>();
+        if (cursor < 0 || limite < 1 || limite > LIMITE_MAXIMO) {
+            response.put("success", false);
+            response.put("message", "Cursor inválido o límite fuera de rango (1 a " + LIMITE_MAXIMO + ")");
+            return ResponseEntity.badRequest().body(response);
+        }
+
+        response.putAll(sincronizacionService.cambiosDesde(usuario.getId(), cursor, limite));
+        response.put("success", true);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,82 @@
+package co.empresa.gestioncontratos.controller;
+
+import co.empresa.gestioncontratos.service.TarifaService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Controller
+@RequestMapping("/supervisor/tarifas")
+@RequiredArgsConstructor
+@Slf4j
+public class TarifaController {
+
+    private static final int MAX_LINEAS = 10000;
+
+    private final TarifaService tarifaService;
+
+    // ==================== API REST ====================
+
+    // Cotiza un lote de líneas (plan, servicio, tipo de predio, cantidad) contra la matriz en memoria
+    @PostMapping("/api/cotizar")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> cotizar(@RequestBody List<TarifaService.LineaCotizacion> lineas) {
+        log.info("=== API: COTIZANDO {} LÍNEAS ===", lineas.size());
+
+        Map<String, Object> response = new HashMap<>();
+        if (lineas.size() > MAX_LINEAS) {
+            response.put("success", false);
+            response.put("message", "Máximo " + MAX_LINEAS + " líneas por solicitud");
+            return ResponseEntity.badRequest().body(response);
+        }
+
+        List<TarifaService.Cotizacion> cotizaciones = tarifaService.cotizarLote(lineas);
+        List<Map<String, Object>> resultados = new ArrayList<>(cotizaciones.size());
+        int sinTarifa = 0;
+        for (int i = 0; i < cotizaciones.size(); i++) {
+            TarifaService.Cotizacion cotizacion = cotizaciones.get(i);
+            Map<String, Object> resultado = new HashMap<>();
+            resultado.put("indice", i);
+            resultado.put("tieneTarifa", cotizacion.tieneTarifa());
+            resultado.put("precioUnitario", cotizacion.precioUnitario());
+            resultado.put("total", cotizacion.total());
+            resultados.add(resultado);
+            if (!cotizacion.tieneTarifa()) {
+                sinTarifa++;
+            }
+        }
+
+        response.put("success", true);
+        // Todo el lote se cotiza contra la misma versión de la matriz
+        response.put("version", cotizaciones.isEmpty()
+            ? tarifaService.getMatriz().getVersion() : cotizaciones.get(0).version());
+        response.put("sinTarifa", sinTarifa);
+        response.put("resultados", resultados);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/api/version")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> version() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("version", tarifaService.getMatriz().getVersion());
+        response.put("totalTarifas", tarifaService.getMatriz().getTotalTarifas());
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/api/recargar")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> recargar() {
+        log.info("=== API: RECARGANDO MATRIZ DE TARIFAS ===");
+        tarifaService.recargar();
+        return version();
+    }
+}
@@ -1,15 +1,17 @@
 package co.empresa.gestioncontratos.controller;
 
+import co.empresa.gestioncontratos.dto.UsuarioBusquedaDTO;
 import co.empresa.gestioncontratos.dto.UsuarioDTO;
+import co.empresa.gestioncontratos.dto.UsuarioPrincipal;
 import co.empresa.gestioncontratos.entity.Usuario;
 import co.empresa.gestioncontratos.enums.PerfilUsuario;
-import co.empresa.gestioncontratos.repository.UsuarioRepository;
 import co.empresa.gestioncontratos.service.UsuarioService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -25,7 +27,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Controller
 @RequestMapping("/admin/usuarios")
@@ -34,12 +35,11 @@ import java.util.stream.Collectors;
 public class UsuarioController {
 
     private final UsuarioService usuarioService;
-    private final UsuarioRepository usuarioRepository;
 
     // ==================== PÁGINAS WEB ====================
     
     @GetMapping
-    public String listar(@AuthenticationPrincipal Usuario usuarioActual,
+    public String listar(@AuthenticationPrincipal UsuarioPrincipal usuarioActual,
                         @RequestParam(defaultValue = "0") int page,
                         @RequestParam(defaultValue = "10") int size,
                         @RequestParam(required = false) String filtro,
@@ -52,13 +52,7 @@ public class UsuarioController {
         
         try {
             Pageable pageable = PageRequest.of(page, size, Sort.by("fechaCreacion").descending());
-            Page<Usuario> usuarios;
-            
-            if (filtro != null && !filtro.trim().isEmpty() || perfil != null) {
-                usuarios = usuarioService.buscarConFiltros(perfil, filtro, pageable);
-            } else {
-                usuarios = usuarioService.listarTodos(pageable);
-            }
+            Page<UsuarioBusquedaDTO> usuarios = usuarioService.buscarResumen(perfil, filtro, pageable);
             
             log.info("Usuarios encontrados: {}", usuarios.getTotalElements());
             
@@ -263,7 +257,7 @@ public class UsuarioController {
     // API REST para búsquedas AJAX
     @GetMapping("/api/buscar")
     @ResponseBody
-    public ResponseEntity<Page<Usuario>> buscarUsuarios(
+    public ResponseEntity<Page<UsuarioBusquedaDTO>> buscarUsuarios(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String filtro,
@@ -274,13 +268,7 @@ public class UsuarioController {
         
         try {
             Pageable pageable = PageRequest.of(page, size, Sort.by("fechaCreacion").descending());
-            Page<Usuario> usuarios;
-            
-            if (filtro != null && !filtro.trim().isEmpty() || perfil != null) {
-                usuarios = usuarioService.buscarConFiltros(perfil, filtro, pageable);
-            } else {
-                usuarios = usuarioService.listarTodos(pageable);
-            }
+            Page<UsuarioBusquedaDTO> usuarios = usuarioService.buscarResumen(perfil, filtro, pageable);
             
             log.info("✅ Usuarios encontrados via API: {}", usuarios.getTotalElements());
             return ResponseEntity.ok(usuarios);
@@ -291,6 +279,24 @@ public class UsuarioController {
         }
     }
 
+    @GetMapping("/api/buscar-rapido")
+    @ResponseBody
+    public ResponseEntity<Slice<UsuarioBusquedaDTO>> buscarUsuariosRapido(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String filtro,
+            @RequestParam(required = false) PerfilUsuario perfil) {
+        
+        try {
+            Pageable pageable = PageRequest.of(page, size, Sort.by("fechaCreacion").descending());
+            return ResponseEntity.ok(usuarioService.buscarResumenSlice(perfil, filtro, pageable));
+            
+        } catch (Exception e) {
+            log.error("❌ Error en búsqueda rápida de usuarios: ", e);
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/api/validar-username")
     @ResponseBody
     public ResponseEntity<Map<String, Object>> validarUsername(
@@ -374,12 +380,7 @@ public class UsuarioController {
         log.info("=== API: LISTANDO SUPERVISORES ===");
         
         try {
-            List<Usuario> supervisores = usuarioRepository.findByPerfilAndActivoTrue(PerfilUsuario.SUPERVISOR);
-            List<UsuarioDTO> supervisoresDTO = supervisores.stream()
-                .map(usuarioService::convertirADTO)
-                .collect(Collectors.toList());
-            
-            return ResponseEntity.ok(supervisoresDTO);
+            return ResponseEntity.ok(usuarioService.listarActivosPorPerfil(PerfilUsuario.SUPERVISOR));
         } catch (Exception e) {
             log.error("Error al listar supervisores: ", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -0,0 +1,27 @@
+package co.empresa.gestioncontratos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+// Actividad enviada por un operario en la ingesta por lotes. El uuid lo genera el cliente
+// y es la clave de idempotencia: reenviar el mismo lote no duplica actividades
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActividadLoteDTO {
+
+    private UUID uuid;
+    private UUID contratoPredioUuid;
+    private UUID servicioUuid;
+    private String descripcion;
+    private LocalDate fechaActividad;
+    private BigDecimal cantidad;
+    private String observaciones;
+}
@@ -0,0 +1,39 @@
+package co.empresa.gestioncontratos.dto;
+
+import co.empresa.gestioncontratos.enums.EstadoActividad;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+// Revisión masiva de actividades pendientes: por lista de uuids o por filtro
+// (contrato, operario, servicio, rango de fechas de la actividad)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevisionMasivaDTO {
+
+    private EstadoActividad estado;
+    private String nota;
+
+    private List<UUID> actividadUuids;
+
+    private UUID contratoUuid;
+    private UUID operarioUuid;
+    private UUID servicioUuid;
+    private LocalDate desde;
+    private LocalDate hasta;
+
+    public boolean porLista() {
+        return actividadUuids != null && !actividadUuids.isEmpty();
+    }
+
+    public boolean tieneFiltro() {
+        return contratoUuid != null || operarioUuid != null;
+    }
+}
@@ -0,0 +1,30 @@
+package co.empresa.gestioncontratos.dto;
+
+import co.empresa.gestioncontratos.enums.PerfilUsuario;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Proyección para la pantalla y la API de usuarios (se construye directo en la consulta JPQL)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UsuarioBusquedaDTO {
+
+    private UUID uuid;
+    private String username;
+    private String nombre;
+    private String apellido;
+    private String email;
+    private String telefono;
+    private PerfilUsuario perfil;
+    private Boolean activo;
+    private LocalDateTime fechaCreacion;
+
+    public String getNombreCompleto() {
+        return nombre + " " + apellido;
+    }
+}
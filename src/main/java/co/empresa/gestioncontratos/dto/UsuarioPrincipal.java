@@ -0,0 +1,78 @@
+package co.empresa.gestioncontratos.dto;
+
+import co.empresa.gestioncontratos.entity.Usuario;
+import co.empresa.gestioncontratos.enums.PerfilUsuario;
+import lombok.Builder;
+import lombok.ToString;
+import lombok.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+// Principal inmutable y liviano: se guarda en sesión y en caché en lugar de la entidad Usuario
+@Value
+@Builder(toBuilder = true)
+public class UsuarioPrincipal implements UserDetails {
+
+    Long id;
+    UUID uuid;
+    String username;
+    String nombre;
+    String apellido;
+    PerfilUsuario perfil;
+    boolean activo;
+
+    @ToString.Exclude
+    String password;
+
+    public static UsuarioPrincipal de(Usuario usuario) {
+        return UsuarioPrincipal.builder()
+            .id(usuario.getId())
+            .uuid(usuario.getUuid())
+            .username(usuario.getUsername())
+            .nombre(usuario.getNombre())
+            .apellido(usuario.getApellido())
+            .perfil(usuario.getPerfil())
+            .activo(Boolean.TRUE.equals(usuario.getActivo()))
+            .password(usuario.getPassword())
+            .build();
+    }
+
+    // Copia sin el hash, para la autenticación que queda en sesión
+    public UsuarioPrincipal sinPassword() {
+        return toBuilder().password(null).build();
+    }
+
+    public String getNombreCompleto() {
+        return nombre + " " + apellido;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + perfil.name()));
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return activo;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return activo;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return activo;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return activo;
+    }
+}
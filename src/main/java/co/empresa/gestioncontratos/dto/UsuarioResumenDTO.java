@@ -1,5 +1,21 @@
 package co.empresa.gestioncontratos.dto;
 
+import co.empresa.gestioncontratos.enums.PerfilUsuario;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class UsuarioResumenDTO {
-    
+
+    private UUID uuid;
+    private String username;
+    private String nombreCompleto;
+    private PerfilUsuario perfil;
 }
@@ -1,6 +1,7 @@
 package co.empresa.gestioncontratos.entity;
 
 
+import co.empresa.gestioncontratos.service.PrecioActividadListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
@@ -10,7 +11,9 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
 
 import co.empresa.gestioncontratos.enums.EstadoActividad;
 
@@ -22,7 +25,14 @@ import java.time.format.DateTimeFormatter;
 import java.util.UUID;
 
 @Entity
-@Table(name = "actividades")
+@EntityListeners(PrecioActividadListener.class)
+// Particionada por mes de fecha_actividad en PostgreSQL (ver ParticionesActividadService). La unicidad
+// de uuid la da actividad_uuids y, sin particionar, también el índice único uk_actividades_uuid
+@Table(name = "actividades", indexes = {
+    @Index(name = "idx_actividades_operario_cambio", columnList = "operario_id, version_cambio"),
+    @Index(name = "idx_actividades_operario_fecha", columnList = "operario_id, fecha_actividad"),
+    @Index(name = "idx_actividades_uuid", columnList = "uuid")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -30,10 +40,12 @@ import java.util.UUID;
 public class Actividad {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "actividades_seq")
+    @SequenceGenerator(name = "actividades_seq", sequenceName = "actividades_seq", allocationSize = 50)
     private Long id;
 
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
+    @JdbcTypeCode(SqlTypes.UUID)
     private UUID uuid;
 
     @NotNull
@@ -69,6 +81,7 @@ public class Actividad {
     @Column(precision = 10, scale = 2)
     private BigDecimal cantidad = BigDecimal.ONE;
 
+    // Lo fija TarifaService al registrar la actividad (plan del contrato × servicio × tipo de predio)
     @Column(name = "precio_aplicado", precision = 10, scale = 2)
     private BigDecimal precioAplicado;
 
@@ -88,17 +101,16 @@ public class Actividad {
     @Column(name = "fecha_actualizacion", nullable = false)
     private LocalDateTime fechaActualizacion;
 
+    // Posición en la secuencia global de cambios (cambios_seq); la asigna un trigger en cada
+    // inserción o actualización. La usa la sincronización incremental de los operarios
+    @Column(name = "version_cambio", insertable = false, updatable = false)
+    private Long versionCambio;
+
     @PrePersist
     public void prePersist() {
         if (uuid == null) {
-            uuid = UUID.randomUUID();
+            uuid = UuidV7.generar();
         }
-        calcularPrecioAplicado();
-    }
-
-    @PreUpdate  
-    public void preUpdate() {
-        calcularPrecioAplicado();
     }
 
     // Métodos de estado
@@ -144,14 +156,6 @@ public class Actividad {
         return BigDecimal.ZERO;
     }
 
-    private void calcularPrecioAplicado() {
-        if (servicio != null && predio != null && precioAplicado == null) {
-            // Aquí se podría implementar la lógica para obtener el precio desde las tarifas
-            // Por ahora asignamos un valor por defecto
-            this.precioAplicado = BigDecimal.valueOf(50.00); // Precio por defecto
-        }
-    }
-
     // Métodos de información
     public String getNombreOperario() {
         return operario != null ? operario.getNombreCompleto() : "Sin operario";
@@ -0,0 +1,51 @@
+package co.empresa.gestioncontratos.entity;
+
+import co.empresa.gestioncontratos.enums.EstadoActividad;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Acumulado diario de actividades por operario y estado, mantenido en cada escritura de
+// actividades. La clave primaria (operario, fecha, estado) sirve las sumas por rango de fechas
+@Entity
+@Table(name = "actividad_diaria")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActividadDiaria {
+
+    @EmbeddedId
+    private Clave id;
+
+    @Builder.Default
+    @Column(name = "total_actividades", nullable = false)
+    private Long totalActividades = 0L;
+
+    @Builder.Default
+    @Column(name = "monto_total", nullable = false, precision = 14, scale = 2)
+    private BigDecimal montoTotal = BigDecimal.ZERO;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Clave implements Serializable {
+
+        @Column(name = "operario_id", nullable = false)
+        private Long operarioId;
+
+        @Column(name = "fecha", nullable = false)
+        private LocalDate fecha;
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = "estado", nullable = false, length = 20)
+        private EstadoActividad estado;
+    }
+}
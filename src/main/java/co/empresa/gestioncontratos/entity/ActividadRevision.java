@@ -0,0 +1,58 @@
+package co.empresa.gestioncontratos.entity;
+
+import co.empresa.gestioncontratos.enums.EstadoActividad;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Historial de revisiones de actividades (solo inserciones). Reemplaza la concatenación de
+// notas en Actividad.observaciones; "lote" agrupa las filas de una misma revisión masiva
+@Entity
+@Immutable
+@Table(name = "actividad_revisiones", indexes = {
+    @Index(name = "idx_actividad_revisiones_actividad", columnList = "actividad_id"),
+    @Index(name = "idx_actividad_revisiones_lote", columnList = "lote")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActividadRevision {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "actividad_revisiones_seq")
+    @SequenceGenerator(name = "actividad_revisiones_seq", sequenceName = "actividad_revisiones_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "actividad_id", nullable = false)
+    private Long actividadId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "estado_anterior", nullable = false, length = 20)
+    private EstadoActividad estadoAnterior;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EstadoActividad estado;
+
+    @Column(columnDefinition = "TEXT")
+    private String nota;
+
+    @Column(name = "revisor_id", nullable = false)
+    private Long revisorId;
+
+    @Column(nullable = false)
+    @JdbcTypeCode(SqlTypes.UUID)
+    private UUID lote;
+
+    @Column(name = "fecha_creacion", nullable = false)
+    private LocalDateTime fechaCreacion;
+}
@@ -0,0 +1,34 @@
+package co.empresa.gestioncontratos.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+// Uuids de actividades ya registradas, sin particionar. En actividades particionada toda clave
+// única incluye fecha_actividad, así que un reenvío con la fecha corregida no chocaría: la ingesta
+// registra aquí el uuid antes de insertar la actividad (ver ActividadService). La fecha permite
+// limpiar los uuids de las particiones eliminadas por retención
+@Entity
+@Table(name = "actividad_uuids", indexes = {
+    @Index(name = "idx_actividad_uuids_fecha", columnList = "fecha_actividad")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActividadUuid {
+
+    @Id
+    @JdbcTypeCode(SqlTypes.UUID)
+    private UUID uuid;
+
+    @Column(name = "fecha_actividad", nullable = false)
+    private LocalDate fechaActividad;
+}
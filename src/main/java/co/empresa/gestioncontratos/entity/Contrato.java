@@ -9,7 +9,9 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -28,10 +30,12 @@ import java.util.UUID;
 public class Contrato {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "contratos_seq")
+    @SequenceGenerator(name = "contratos_seq", sequenceName = "contratos_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false)
+    @JdbcTypeCode(SqlTypes.UUID)
     private UUID uuid;
 
     @NotBlank
@@ -95,7 +99,7 @@ public class Contrato {
     @PrePersist
     public void prePersist() {
         if (uuid == null) {
-            uuid = UUID.randomUUID();
+            uuid = UuidV7.generar();
         }
         validarFechas();
     }
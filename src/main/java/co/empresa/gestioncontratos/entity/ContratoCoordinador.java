@@ -21,7 +21,8 @@ import java.time.format.DateTimeFormatter;
 public class ContratoCoordinador {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "contrato_coordinadores_seq")
+    @SequenceGenerator(name = "contrato_coordinadores_seq", sequenceName = "contrato_coordinadores_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
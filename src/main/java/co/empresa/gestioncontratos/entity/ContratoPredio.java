@@ -3,7 +3,9 @@ package co.empresa.gestioncontratos.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
 import co.empresa.gestioncontratos.enums.EstadoPredio;
 import groovyjarjarantlr4.v4.runtime.misc.NotNull;
 
@@ -12,7 +14,8 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "contrato_predios", 
-       uniqueConstraints = @UniqueConstraint(columnNames = {"contrato_id", "predio_id"}))
+       uniqueConstraints = @UniqueConstraint(columnNames = {"contrato_id", "predio_id"}),
+       indexes = @Index(name = "idx_contrato_predios_cambio", columnList = "version_cambio"))
 @Data
 @Builder
 @NoArgsConstructor
@@ -20,10 +23,12 @@ import java.util.UUID;
 public class ContratoPredio {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "contrato_predios_seq")
+    @SequenceGenerator(name = "contrato_predios_seq", sequenceName = "contrato_predios_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false)
+    @JdbcTypeCode(SqlTypes.UUID)
     private UUID uuid;
 
     @NotNull
@@ -56,10 +61,14 @@ public class ContratoPredio {
     @Column(name = "fecha_actualizacion", nullable = false)
     private LocalDateTime fechaActualizacion;
 
+    // Versión en cambios_seq, asignada por trigger al insertar o actualizar
+    @Column(name = "version_cambio", insertable = false, updatable = false)
+    private Long versionCambio;
+
     @PrePersist
     public void prePersist() {
         if (uuid == null) {
-            uuid = UUID.randomUUID();
+            uuid = UuidV7.generar();
         }
     }
 
@@ -1,18 +1,29 @@
 package co.empresa.gestioncontratos.entity;
 
+import co.empresa.gestioncontratos.service.TarifasModificadasListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(TarifasModificadasListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "planes-tarifas")
+@NaturalIdCache(region = "planes-tarifas-uuid")
 @Table(name = "planes_tarifas")
 @Data
 @Builder
@@ -21,10 +32,13 @@ import java.util.UUID;
 public class PlanTarifa {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "planes_tarifas_seq")
+    @SequenceGenerator(name = "planes_tarifas_seq", sequenceName = "planes_tarifas_seq", allocationSize = 50)
     private Long id;
 
+    @NaturalId
     @Column(unique = true, nullable = false)
+    @JdbcTypeCode(SqlTypes.UUID)
     private UUID uuid;
 
     @NotBlank
@@ -51,7 +65,7 @@ public class PlanTarifa {
     @PrePersist
     public void prePersist() {
         if (uuid == null) {
-            uuid = UUID.randomUUID();
+            uuid = UuidV7.generar();
         }
     }
 }
\ No newline at end of file
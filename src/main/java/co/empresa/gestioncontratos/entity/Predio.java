@@ -9,6 +9,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import co.empresa.gestioncontratos.enums.TipoPredio;
 
@@ -25,10 +27,12 @@ import java.util.UUID;
 public class Predio {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "predios_seq")
+    @SequenceGenerator(name = "predios_seq", sequenceName = "predios_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false)
+    @JdbcTypeCode(SqlTypes.UUID)
     private UUID uuid;
 
     @NotBlank
@@ -72,7 +76,7 @@ public class Predio {
     @PrePersist
     public void prePersist() {
         if (uuid == null) {
-            uuid = UUID.randomUUID();
+            uuid = UuidV7.generar();
         }
     }
 
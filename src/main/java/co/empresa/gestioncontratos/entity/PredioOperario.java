@@ -3,13 +3,15 @@ package co.empresa.gestioncontratos.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "predio_operarios")
+@Table(name = "predio_operarios", indexes = @Index(name = "idx_predio_operarios_operario_cambio", columnList = "operario_id, version_cambio"))
 @Data
 @Builder
 @NoArgsConstructor
@@ -17,10 +19,12 @@ import java.util.UUID;
 public class PredioOperario {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "predio_operarios_seq")
+    @SequenceGenerator(name = "predio_operarios_seq", sequenceName = "predio_operarios_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false)
+    @JdbcTypeCode(SqlTypes.UUID)
     private UUID uuid;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -53,10 +57,14 @@ public class PredioOperario {
     @Column(name = "fecha_actualizacion", nullable = false)
     private LocalDateTime fechaActualizacion;
 
+    // Versión en cambios_seq (trigger); ver SincronizacionService
+    @Column(name = "version_cambio", insertable = false, updatable = false)
+    private Long versionCambio;
+
     @PrePersist
     public void prePersist() {
         if (uuid == null) {
-            uuid = UUID.randomUUID();
+            uuid = UuidV7.generar();
         }
         if (fechaAsignacion == null) {
             fechaAsignacion = LocalDateTime.now();
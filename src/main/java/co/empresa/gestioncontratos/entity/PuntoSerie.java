@@ -0,0 +1,47 @@
+package co.empresa.gestioncontratos.entity;
+
+import co.empresa.gestioncontratos.enums.SerieEstadistica;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+// Punto diario de una serie estadística (serie, clave de la dimensión, fecha -> valor),
+// mantenido en cada escritura. Los gráficos agregan estos puntos por día, semana o mes
+@Entity
+@Table(name = "serie_temporal")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PuntoSerie {
+
+    @EmbeddedId
+    private Clave id;
+
+    @Builder.Default
+    @Column(name = "valor", nullable = false)
+    private Long valor = 0L;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Clave implements Serializable {
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = "serie", nullable = false, length = 40)
+        private SerieEstadistica serie;
+
+        // Valor de la dimensión: estado, id de contrato, etc.
+        @Column(name = "clave", nullable = false, length = 60)
+        private String clave;
+
+        @Column(name = "fecha", nullable = false)
+        private LocalDate fecha;
+    }
+}
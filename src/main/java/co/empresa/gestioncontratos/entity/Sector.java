@@ -6,14 +6,23 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "sectores")
+@NaturalIdCache(region = "sectores-uuid")
 @Table(name = "sectores")
 @Data
 @Builder
@@ -21,10 +30,13 @@ import java.util.UUID;
 @AllArgsConstructor
 public class Sector {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sectores_seq")
+    @SequenceGenerator(name = "sectores_seq", sequenceName = "sectores_seq", allocationSize = 50)
     private Long id;
     
+    @NaturalId
     @Column(unique = true, nullable = false)
+    @JdbcTypeCode(SqlTypes.UUID)
     private UUID uuid;
     
     @Column(nullable = false, unique = true, length = 100)
@@ -68,7 +80,7 @@ public class Sector {
     @PrePersist
     public void prePersist() {
         if (uuid == null) {
-            uuid = UUID.randomUUID();
+            uuid = UuidV7.generar();
         }
         if (activo == null) {
             activo = true;
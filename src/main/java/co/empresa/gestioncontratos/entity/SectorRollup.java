@@ -0,0 +1,93 @@
+package co.empresa.gestioncontratos.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+// Modelo de lectura con los agregados por sector, mantenido en cada escritura de predios y contratos
+@Entity
+@Table(name = "sector_rollup")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SectorRollup {
+
+    @Id
+    @Column(name = "sector_id")
+    private Long sectorId;
+
+    @Builder.Default
+    @Column(name = "total_predios", nullable = false)
+    private Long totalPredios = 0L;
+
+    @Builder.Default
+    @Column(name = "predios_activos", nullable = false)
+    private Long prediosActivos = 0L;
+
+    @Builder.Default
+    @Column(name = "predios_urbanos", nullable = false)
+    private Long prediosUrbanos = 0L;
+
+    @Builder.Default
+    @Column(name = "predios_rurales", nullable = false)
+    private Long prediosRurales = 0L;
+
+    @Builder.Default
+    @Column(name = "area_total_predios", nullable = false)
+    private Double areaTotalPredios = 0.0;
+
+    @Builder.Default
+    @Column(name = "total_contratos", nullable = false)
+    private Long totalContratos = 0L;
+
+    @Builder.Default
+    @Column(name = "contratos_activos", nullable = false)
+    private Long contratosActivos = 0L;
+
+    @Builder.Default
+    @Column(name = "contratos_finalizados", nullable = false)
+    private Long contratosFinalizados = 0L;
+
+    @Builder.Default
+    @Column(name = "contratos_suspendidos", nullable = false)
+    private Long contratosSuspendidos = 0L;
+
+    @UpdateTimestamp
+    @Column(name = "fecha_actualizacion", nullable = false)
+    private LocalDateTime fechaActualizacion;
+
+    public static SectorRollup vacio(Long sectorId) {
+        return SectorRollup.builder().sectorId(sectorId).build();
+    }
+
+    // Compara solo los contadores, no la fecha de actualización
+    public boolean coincideCon(SectorRollup otro) {
+        return totalPredios.equals(otro.totalPredios)
+            && prediosActivos.equals(otro.prediosActivos)
+            && prediosUrbanos.equals(otro.prediosUrbanos)
+            && prediosRurales.equals(otro.prediosRurales)
+            && Math.abs(areaTotalPredios - otro.areaTotalPredios) < 0.0001
+            && totalContratos.equals(otro.totalContratos)
+            && contratosActivos.equals(otro.contratosActivos)
+            && contratosFinalizados.equals(otro.contratosFinalizados)
+            && contratosSuspendidos.equals(otro.contratosSuspendidos);
+    }
+
+    public void copiarContadores(SectorRollup origen) {
+        this.totalPredios = origen.totalPredios;
+        this.prediosActivos = origen.prediosActivos;
+        this.prediosUrbanos = origen.prediosUrbanos;
+        this.prediosRurales = origen.prediosRurales;
+        this.areaTotalPredios = origen.areaTotalPredios;
+        this.totalContratos = origen.totalContratos;
+        this.contratosActivos = origen.contratosActivos;
+        this.contratosFinalizados = origen.contratosFinalizados;
+        this.contratosSuspendidos = origen.contratosSuspendidos;
+    }
+}
@@ -0,0 +1,37 @@
+package co.empresa.gestioncontratos.entity;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+// UUID versión 7 (RFC 9562): 48 bits de milisegundos Unix, 12 bits de contador y 62 aleatorios.
+// Los generados después quedan después en el índice (también en el tipo uuid de PostgreSQL, que
+// compara byte a byte), así las inserciones llenan las últimas páginas del B-tree en lugar de
+// repartirse por todo el árbol. Dentro de un mismo milisegundo el contador mantiene el orden; si
+// se agota o el reloj retrocede, la marca avanza sobre la anterior y nunca se repite
+public final class UuidV7 {
+
+    private static final SecureRandom ALEATORIO = new SecureRandom();
+    // Última marca entregada: milisegundos << 12 | contador
+    private static final AtomicLong ULTIMA = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    public static UUID generar() {
+        long ahora = System.currentTimeMillis() << 12;
+        long marca = ULTIMA.updateAndGet(anterior -> Math.max(ahora, anterior + 1));
+        return de(marca >>> 12, marca & 0xFFFL, ALEATORIO.nextLong());
+    }
+
+    // Composición directa, para generar identificadores reproducibles (datos sintéticos)
+    public static UUID de(long milisegundos, long contador, long aleatorio) {
+        long alto = (milisegundos & 0xFFFFFFFFFFFFL) << 16 | 0x7000L | (contador & 0xFFFL);
+        long bajo = (aleatorio & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(alto, bajo);
+    }
+
+    public static long milisegundos(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
@@ -0,0 +1,28 @@
+package co.empresa.gestioncontratos.enums;
+
+public enum SerieEstadistica {
+    // Variación diaria de contratos por estado; el gráfico muestra el acumulado
+    CONTRATOS_ESTADO("Contratos por estado", true),
+    // Predios completados por día, por contrato
+    PREDIOS_COMPLETADOS("Predios completados", false),
+    // Actividades por operario (se lee de actividad_diaria)
+    ACTIVIDADES_OPERARIO("Actividades por operario", false),
+    // Actividades aprobadas y rechazadas por día de revisión
+    REVISIONES_ACTIVIDAD("Aprobaciones y rechazos", false);
+
+    private final String descripcion;
+    private final boolean acumulada;
+
+    SerieEstadistica(String descripcion, boolean acumulada) {
+        this.descripcion = descripcion;
+        this.acumulada = acumulada;
+    }
+
+    public String getDescripcion() {
+        return descripcion;
+    }
+
+    public boolean isAcumulada() {
+        return acumulada;
+    }
+}
@@ -0,0 +1,24 @@
+package co.empresa.gestioncontratos.event;
+
+import java.util.HashSet;
+import java.util.Set;
+
+// Se publica al escribir usuarios, contratos, predios o actividades; los consumidores
+// que mantienen datos derivados (estadísticas del dashboard) lo usan para refrescarse.
+// "usuarios" son los ids cuyos contadores propios cambian (supervisor, operario asignado)
+public record DatosModificadosEvent(String entidad, Set<Long> usuarios) {
+
+    public DatosModificadosEvent(String entidad) {
+        this(entidad, Set.of());
+    }
+
+    public static DatosModificadosEvent de(String entidad, Long... usuarios) {
+        Set<Long> ids = new HashSet<>();
+        for (Long id : usuarios) {
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+        return new DatosModificadosEvent(entidad, Set.copyOf(ids));
+    }
+}
@@ -0,0 +1,7 @@
+package co.empresa.gestioncontratos.event;
+
+import co.empresa.gestioncontratos.service.DashboardSnapshotService.Instantanea;
+
+// Se publica cuando una nueva instantánea del dashboard cambia algún contador
+public record EstadisticasActualizadasEvent(Instantanea anterior, Instantanea nueva) {
+}
@@ -0,0 +1,25 @@
+package co.empresa.gestioncontratos.mapper;
+
+import co.empresa.gestioncontratos.dto.ContratoDTO;
+import co.empresa.gestioncontratos.repository.projection.ContratoResumen;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Named;
+
+@Mapper
+public interface ContratoMapper {
+
+    @Mapping(target = "codigo", source = "numeroContrato")
+    @Mapping(target = "sectorNombre", source = "sectorNombre", defaultValue = "Sin sector")
+    @Mapping(target = "planTarifaNombre", source = "planTarifaNombre", defaultValue = "Sin plan")
+    @Mapping(target = "supervisorNombre", source = ".", qualifiedByName = "nombreSupervisor")
+    ContratoDTO toDTO(ContratoResumen contrato);
+
+    // Mismo texto que Contrato.getNombreSupervisor()
+    @Named("nombreSupervisor")
+    default String nombreSupervisor(ContratoResumen contrato) {
+        return contrato.getSupervisorUuid() != null
+            ? contrato.getSupervisorNombre() + " " + contrato.getSupervisorApellido()
+            : "Sin asignar";
+    }
+}
@@ -0,0 +1,21 @@
+package co.empresa.gestioncontratos.mapper;
+
+import co.empresa.gestioncontratos.dto.PredioDTO;
+import co.empresa.gestioncontratos.entity.Predio;
+import co.empresa.gestioncontratos.repository.projection.PredioResumen;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+@Mapper
+public interface PredioMapper {
+
+    @Mapping(target = "sectorUuid", source = "sector.uuid")
+    @Mapping(target = "sectorNombre", source = "sector.nombre")
+    PredioDTO toDTO(Predio predio);
+
+    PredioDTO toDTO(PredioResumen predio);
+
+    List<PredioDTO> toDTOs(List<PredioResumen> predios);
+}
@@ -0,0 +1,21 @@
+package co.empresa.gestioncontratos.mapper;
+
+import co.empresa.gestioncontratos.dto.SectorDTO;
+import co.empresa.gestioncontratos.entity.Sector;
+import co.empresa.gestioncontratos.entity.SectorRollup;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+
+@Mapper
+public interface SectorMapper {
+
+    @Mapping(target = "totalPredios", ignore = true)
+    @Mapping(target = "contratosActivos", ignore = true)
+    @Mapping(target = "areaPredios", ignore = true)
+    SectorDTO toDTO(Sector sector);
+
+    // Completa los campos de vista con los agregados de sector_rollup
+    @Mapping(target = "areaPredios", source = "areaTotalPredios")
+    void completarResumen(@MappingTarget SectorDTO dto, SectorRollup rollup);
+}
@@ -0,0 +1,27 @@
+package co.empresa.gestioncontratos.mapper;
+
+import co.empresa.gestioncontratos.dto.UsuarioBusquedaDTO;
+import co.empresa.gestioncontratos.dto.UsuarioDTO;
+import co.empresa.gestioncontratos.dto.UsuarioResumenDTO;
+import co.empresa.gestioncontratos.entity.Usuario;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+@Mapper
+public interface UsuarioMapper {
+
+    // Nunca se copia el hash de la contraseña
+    @Mapping(target = "password", ignore = true)
+    @Mapping(target = "confirmPassword", ignore = true)
+    UsuarioDTO toDTO(Usuario usuario);
+
+    @Mapping(target = "password", ignore = true)
+    @Mapping(target = "confirmPassword", ignore = true)
+    UsuarioDTO toDTO(UsuarioBusquedaDTO usuario);
+
+    List<UsuarioDTO> toDTOs(List<UsuarioBusquedaDTO> usuarios);
+
+    UsuarioResumenDTO toResumen(Usuario usuario);
+}
@@ -0,0 +1,97 @@
+package co.empresa.gestioncontratos.repository;
+
+import co.empresa.gestioncontratos.entity.ActividadDiaria;
+import co.empresa.gestioncontratos.enums.EstadoActividad;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ActividadDiariaRepository extends JpaRepository<ActividadDiaria, ActividadDiaria.Clave> {
+
+    // Aplica un delta creando la fila si no existe. Sin ON CONFLICT ... DO UPDATE, que H2 no admite:
+    // si el INSERT pierde la carrera contra otro que creó la misma fila, el UPDATE se repite.
+    // Las sentencias nativas declaran la tabla que modifican (HINT_NATIVE_SPACES): sin eso Hibernate
+    // vacía todas las regiones de la caché de segundo nivel y la de consultas en cada delta
+    default void aplicarDelta(Long operarioId, LocalDate fecha, String estado, long total, BigDecimal monto) {
+        if (sumarDelta(operarioId, fecha, estado, total, monto) == 0
+                && insertarSiNoExiste(operarioId, fecha, estado, total, monto) == 0) {
+            sumarDelta(operarioId, fecha, estado, total, monto);
+        }
+    }
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "actividad_diaria"))
+    @Query(value = "UPDATE actividad_diaria SET total_actividades = total_actividades + :total, " +
+                   "monto_total = monto_total + :monto " +
+                   "WHERE operario_id = :operarioId AND fecha = :fecha AND estado = :estado",
+           nativeQuery = true)
+    int sumarDelta(@Param("operarioId") Long operarioId,
+                   @Param("fecha") LocalDate fecha,
+                   @Param("estado") String estado,
+                   @Param("total") long total,
+                   @Param("monto") BigDecimal monto);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "actividad_diaria"))
+    @Query(value = "INSERT INTO actividad_diaria (operario_id, fecha, estado, total_actividades, monto_total) " +
+                   "VALUES (:operarioId, :fecha, :estado, :total, :monto) ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int insertarSiNoExiste(@Param("operarioId") Long operarioId,
+                           @Param("fecha") LocalDate fecha,
+                           @Param("estado") String estado,
+                           @Param("total") long total,
+                           @Param("monto") BigDecimal monto);
+
+    // Sumas por rango sobre la clave primaria (operario, fecha)
+    @Query("SELECT COALESCE(SUM(d.totalActividades), 0) FROM ActividadDiaria d " +
+           "WHERE d.id.operarioId = :operarioId AND d.id.fecha BETWEEN :desde AND :hasta")
+    long sumarActividades(@Param("operarioId") Long operarioId,
+                          @Param("desde") LocalDate desde,
+                          @Param("hasta") LocalDate hasta);
+
+    @Query("SELECT COALESCE(SUM(d.montoTotal), 0) FROM ActividadDiaria d " +
+           "WHERE d.id.operarioId = :operarioId AND d.id.fecha BETWEEN :desde AND :hasta")
+    BigDecimal sumarMonto(@Param("operarioId") Long operarioId,
+                          @Param("desde") LocalDate desde,
+                          @Param("hasta") LocalDate hasta);
+
+    @Query("SELECT COALESCE(SUM(d.totalActividades), 0) FROM ActividadDiaria d WHERE d.id.operarioId = :operarioId")
+    long sumarActividades(@Param("operarioId") Long operarioId);
+
+    // Actividades por operario y día en un rango (series de gráficos): [operarioId, fecha, total]
+    @Query("SELECT d.id.operarioId, d.id.fecha, SUM(d.totalActividades) FROM ActividadDiaria d " +
+           "WHERE d.id.fecha BETWEEN :desde AND :hasta " +
+           "AND (:operarioId IS NULL OR d.id.operarioId = :operarioId) " +
+           "GROUP BY d.id.operarioId, d.id.fecha ORDER BY d.id.fecha")
+    List<Object[]> sumarPorOperarioYFecha(@Param("desde") LocalDate desde,
+                                          @Param("hasta") LocalDate hasta,
+                                          @Param("operarioId") Long operarioId);
+
+    // Detalle por estado en un rango: [estado, total, monto]
+    @Query("SELECT d.id.estado, SUM(d.totalActividades), SUM(d.montoTotal) FROM ActividadDiaria d " +
+           "WHERE d.id.operarioId = :operarioId AND d.id.fecha BETWEEN :desde AND :hasta " +
+           "GROUP BY d.id.estado")
+    List<Object[]> sumarPorEstado(@Param("operarioId") Long operarioId,
+                                  @Param("desde") LocalDate desde,
+                                  @Param("hasta") LocalDate hasta);
+
+    // Totales globales para el dashboard
+    @Query("SELECT COALESCE(SUM(d.totalActividades), 0) FROM ActividadDiaria d WHERE d.id.estado = :estado")
+    long sumarEnEstado(@Param("estado") EstadoActividad estado);
+
+    @Query("SELECT COALESCE(SUM(d.totalActividades), 0) FROM ActividadDiaria d")
+    long sumarTodas();
+
+    // Filas desde una fecha (la verificación no toca los meses fuera de retención)
+    List<ActividadDiaria> findByIdFechaGreaterThanEqual(LocalDate desde);
+}
@@ -5,12 +5,19 @@ import co.empresa.gestioncontratos.entity.ContratoPredio;
 import co.empresa.gestioncontratos.entity.Predio;
 import co.empresa.gestioncontratos.enums.EstadoActividad;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface ActividadRepository extends JpaRepository<Actividad, Long> {
@@ -30,19 +37,68 @@ public interface ActividadRepository extends JpaRepository<Actividad, Long> {
 
      long countByEstado(EstadoActividad estado);
     
-    // Contar actividades de hoy por operario
-    @Query("SELECT COUNT(a) FROM Actividad a WHERE a.operario.id = :operarioId " +
-           "AND a.fechaCreacion = CURRENT_DATE")
-    long countActividadesHoyByOperario(@Param("operarioId") Long operarioId);
-    
-    // Contar actividades del mes por operario
-    @Query("SELECT COUNT(a) FROM Actividad a WHERE a.operario.id = :operarioId " +
-           "AND MONTH(a.fechaCreacion) = MONTH(CURRENT_DATE) " +
-           "AND YEAR(a.fechaCreacion) = YEAR(CURRENT_DATE)")
-    long countActividadesMesByOperario(@Param("operarioId") Long operarioId);
-    
     // Contar por operario
     @Query("SELECT COUNT(a) FROM Actividad a WHERE a.operario.id = :operarioId")
     long countByOperarioId(@Param("operarioId") Long operarioId);
 
+    // Carga inicial de la serie de revisiones: [estado, fecha de revisión, total]
+    @Query("SELECT a.estado, EXTRACT(DATE FROM a.fechaActualizacion), COUNT(a) FROM Actividad a " +
+           "WHERE a.estado <> co.empresa.gestioncontratos.enums.EstadoActividad.PENDIENTE " +
+           "GROUP BY a.estado, EXTRACT(DATE FROM a.fechaActualizacion)")
+    List<Object[]> agregarRevisionesPorFecha();
+
+    // Revisión masiva: solo ids de actividades pendientes, sin cargar entidades.
+    // supervisorId limita a los contratos del supervisor (null para administradores)
+    @Query("SELECT a.id FROM Actividad a JOIN a.contratoPredio cp JOIN cp.contrato c " +
+           "WHERE a.estado = co.empresa.gestioncontratos.enums.EstadoActividad.PENDIENTE " +
+           "AND (:contratoUuid IS NULL OR c.uuid = :contratoUuid) " +
+           "AND (:operarioUuid IS NULL OR a.operario.uuid = :operarioUuid) " +
+           "AND (:servicioUuid IS NULL OR a.servicio.uuid = :servicioUuid) " +
+           "AND a.fechaActividad >= :desde AND a.fechaActividad <= :hasta " +
+           "AND (:supervisorId IS NULL OR c.supervisor.id = :supervisorId) " +
+           "ORDER BY a.id")
+    List<Long> findIdsPendientesPorFiltro(@Param("contratoUuid") UUID contratoUuid,
+                                          @Param("operarioUuid") UUID operarioUuid,
+                                          @Param("servicioUuid") UUID servicioUuid,
+                                          @Param("desde") LocalDate desde,
+                                          @Param("hasta") LocalDate hasta,
+                                          @Param("supervisorId") Long supervisorId);
+
+    @Query("SELECT a.id FROM Actividad a JOIN a.contratoPredio cp JOIN cp.contrato c " +
+           "WHERE a.uuid IN :uuids " +
+           "AND a.estado = co.empresa.gestioncontratos.enums.EstadoActividad.PENDIENTE " +
+           "AND (:supervisorId IS NULL OR c.supervisor.id = :supervisorId) " +
+           "ORDER BY a.id")
+    List<Long> findIdsPendientesPorUuids(@Param("uuids") Collection<UUID> uuids,
+                                         @Param("supervisorId") Long supervisorId);
+
+    // Liquidación: actividades aprobadas del periodo en centavos y centésimas, leídas con cursor.
+    // contratoId y supervisorId son opcionales. [contratoId, servicioId, tipoPredio, operarioId,
+    // precioCentavos, cantidadCentesimas]
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"))
+    @Query("SELECT c.id, a.servicio.id, p.tipo, a.operario.id, " +
+           "CAST(a.precioAplicado * 100 AS Long), CAST(a.cantidad * 100 AS Long) " +
+           "FROM Actividad a JOIN a.contratoPredio cp JOIN cp.contrato c JOIN a.predio p " +
+           "WHERE a.estado = co.empresa.gestioncontratos.enums.EstadoActividad.APROBADA " +
+           "AND a.fechaActividad >= :desde AND a.fechaActividad <= :hasta " +
+           "AND (:contratoId IS NULL OR c.id = :contratoId) " +
+           "AND (:supervisorId IS NULL OR c.supervisor.id = :supervisorId)")
+    Stream<Object[]> streamParaLiquidar(@Param("desde") LocalDate desde,
+                                        @Param("hasta") LocalDate hasta,
+                                        @Param("contratoId") Long contratoId,
+                                        @Param("supervisorId") Long supervisorId);
+
+    // Agregado para reconstruir actividad_diaria: [operarioId, fecha, estado, total, monto]
+    @Query("SELECT a.operario.id, a.fechaActividad, a.estado, COUNT(a), " +
+           "COALESCE(SUM(ROUND(a.precioAplicado * a.cantidad, 2)), 0) " +
+           "FROM Actividad a GROUP BY a.operario.id, a.fechaActividad, a.estado")
+    List<Object[]> agregarPorOperarioFechaEstado();
+
+    // Igual, desde una fecha: con la tabla particionada solo recorre los meses desde "desde"
+    @Query("SELECT a.operario.id, a.fechaActividad, a.estado, COUNT(a), " +
+           "COALESCE(SUM(ROUND(a.precioAplicado * a.cantidad, 2)), 0) " +
+           "FROM Actividad a WHERE a.fechaActividad >= :desde " +
+           "GROUP BY a.operario.id, a.fechaActividad, a.estado")
+    List<Object[]> agregarPorOperarioFechaEstado(@Param("desde") LocalDate desde);
+
 }
\ No newline at end of file
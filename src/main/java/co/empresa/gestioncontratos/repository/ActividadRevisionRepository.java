@@ -0,0 +1,16 @@
+package co.empresa.gestioncontratos.repository;
+
+import co.empresa.gestioncontratos.entity.ActividadRevision;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ActividadRevisionRepository extends JpaRepository<ActividadRevision, Long> {
+
+    List<ActividadRevision> findByActividadIdOrderByFechaCreacionAsc(Long actividadId);
+
+    long countByLote(UUID lote);
+}
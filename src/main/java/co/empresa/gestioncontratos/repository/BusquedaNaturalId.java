@@ -0,0 +1,10 @@
+package co.empresa.gestioncontratos.repository;
+
+import java.util.Optional;
+
+// Fragmento para los repositorios de entidades de referencia: carga por identificador natural
+// (uuid), que resuelve la caché de segundo nivel sin consultar la base cuando ya lo conoce
+public interface BusquedaNaturalId {
+
+    <T> Optional<T> buscarPorNaturalId(Class<T> tipo, Object naturalId);
+}
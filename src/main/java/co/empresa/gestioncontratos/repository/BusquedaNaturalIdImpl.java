@@ -0,0 +1,21 @@
+package co.empresa.gestioncontratos.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public class BusquedaNaturalIdImpl implements BusquedaNaturalId {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Con transacción: fuera de ella la sesión del EntityManager compartido se cerraría al desenvolverla
+    @Override
+    @Transactional(readOnly = true)
+    public <T> Optional<T> buscarPorNaturalId(Class<T> tipo, Object naturalId) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(tipo).loadOptional(naturalId);
+    }
+}
@@ -8,12 +8,38 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface ContratoPredioRepository extends JpaRepository<ContratoPredio, Long> {
+
+    // Carga inicial de la serie de predios completados: [contratoId, fecha, total]
+    @Query("SELECT cp.contrato.id, EXTRACT(DATE FROM cp.fechaActualizacion), COUNT(cp) FROM ContratoPredio cp " +
+           "WHERE cp.estado = co.empresa.gestioncontratos.enums.EstadoPredio.COMPLETADO " +
+           "GROUP BY cp.contrato.id, EXTRACT(DATE FROM cp.fechaActualizacion)")
+    List<Object[]> agregarCompletadosPorContratoYFecha();
+
+    // Conteos de varios contratos en una consulta: [contratoId, total, asignados, completados, activos]
+    @Query("SELECT cp.contrato.id, COUNT(cp), " +
+           "SUM(CASE WHEN cp.estado = co.empresa.gestioncontratos.enums.EstadoPredio.ASIGNADO THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN cp.estado = co.empresa.gestioncontratos.enums.EstadoPredio.COMPLETADO THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN cp.activo = true THEN 1 ELSE 0 END) " +
+           "FROM ContratoPredio cp WHERE cp.contrato.id IN :contratoIds GROUP BY cp.contrato.id")
+    List<Object[]> contarPorContratos(@Param("contratoIds") Collection<Long> contratoIds);
+    
+    // Membresía para la ingesta de actividades: solo los ContratoPredio activos, de contratos activos,
+    // cuyo predio tiene al operario asignado en ese contrato. [cpUuid, cpId, predioId, tipoPredio, planTarifaId]
+    @Query("SELECT cp.uuid, cp.id, p.id, p.tipo, c.planTarifa.id FROM ContratoPredio cp " +
+           "JOIN cp.predio p JOIN cp.contrato c " +
+           "WHERE cp.uuid IN :uuids AND cp.activo = true " +
+           "AND c.estado = co.empresa.gestioncontratos.enums.EstadoContrato.ACTIVO " +
+           "AND EXISTS (SELECT po.id FROM PredioOperario po WHERE po.predio = p AND po.contrato = c " +
+           "AND po.operario.id = :operarioId AND po.activo = true)")
+    List<Object[]> findMembresiasOperario(@Param("uuids") Collection<UUID> uuids,
+                                          @Param("operarioId") Long operarioId);
     
     Optional<ContratoPredio> findByContratoUuidAndPredioUuid(UUID contratoUuid, UUID predioUuid);
     
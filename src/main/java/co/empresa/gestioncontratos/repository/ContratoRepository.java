@@ -4,11 +4,13 @@ import co.empresa.gestioncontratos.entity.Contrato;
 import co.empresa.gestioncontratos.entity.Sector;
 import co.empresa.gestioncontratos.entity.Usuario;
 import co.empresa.gestioncontratos.enums.EstadoContrato;
+import co.empresa.gestioncontratos.repository.projection.ContratoResumen;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -23,6 +25,39 @@ public interface ContratoRepository extends JpaRepository<Contrato, Long> {
     boolean existsByNumeroContrato(String numeroContrato);
     
     List<Contrato> findAllByOrderByFechaInicioDesc();
+
+    // Proyecciones para la API: sector, plan y supervisor resueltos en la misma consulta
+    String SELECT_RESUMEN = "SELECT c.id AS id, c.uuid AS uuid, c.numeroContrato AS numeroContrato, " +
+           "c.objetivo AS objetivo, s.uuid AS sectorUuid, s.nombre AS sectorNombre, " +
+           "c.fechaInicio AS fechaInicio, c.fechaFin AS fechaFin, " +
+           "pt.uuid AS planTarifaUuid, pt.nombre AS planTarifaNombre, " +
+           "sup.uuid AS supervisorUuid, sup.nombre AS supervisorNombre, sup.apellido AS supervisorApellido, " +
+           "c.estado AS estado " +
+           "FROM Contrato c LEFT JOIN c.sector s LEFT JOIN c.planTarifa pt LEFT JOIN c.supervisor sup ";
+
+    @Query(SELECT_RESUMEN + "ORDER BY c.fechaInicio DESC")
+    List<ContratoResumen> listarResumen();
+
+    @Query(SELECT_RESUMEN + "WHERE sup.id = :usuarioId ORDER BY c.fechaInicio DESC")
+    List<ContratoResumen> listarResumenPorSupervisor(@Param("usuarioId") Long usuarioId);
+
+    @Query(SELECT_RESUMEN + "WHERE EXISTS (SELECT co FROM Contrato c2 JOIN c2.coordinadores co " +
+           "WHERE c2 = c AND co.id = :usuarioId) ORDER BY c.fechaInicio DESC")
+    List<ContratoResumen> listarResumenPorCoordinador(@Param("usuarioId") Long usuarioId);
+
+    @Query(SELECT_RESUMEN + "WHERE EXISTS (SELECT po FROM ContratoPredio cp JOIN cp.predio p JOIN p.predioOperarios po " +
+           "WHERE cp.contrato = c AND po.operario.id = :usuarioId AND po.activo = true) ORDER BY c.fechaInicio DESC")
+    List<ContratoResumen> listarResumenPorOperario(@Param("usuarioId") Long usuarioId);
+
+    // Carga inicial de la serie de contratos por estado: [fecha de creación, estado, total]
+    @Query("SELECT EXTRACT(DATE FROM c.fechaCreacion), c.estado, COUNT(c) FROM Contrato c " +
+           "GROUP BY EXTRACT(DATE FROM c.fechaCreacion), c.estado")
+    List<Object[]> agregarPorFechaCreacionYEstado();
+
+    // Coordinadores activos por contrato (para saber si puede eliminarse): [contratoId, total]
+    @Query("SELECT cc.contrato.id, COUNT(cc) FROM ContratoCoordinador cc " +
+           "WHERE cc.contrato.id IN :contratoIds AND cc.activo = true GROUP BY cc.contrato.id")
+    List<Object[]> contarCoordinadoresActivosPorContrato(@Param("contratoIds") Collection<Long> contratoIds);
     
     List<Contrato> findByEstadoOrderByFechaInicioDesc(EstadoContrato estado);
     
@@ -55,6 +90,13 @@ public interface ContratoRepository extends JpaRepository<Contrato, Long> {
      @Query("SELECT COUNT(c) FROM Contrato c WHERE c.supervisor.id = :supervisorId")
     long countBySupervisorId(@Param("supervisorId") Long supervisorId);
     
+    // Series estadísticas: contratos visibles para un supervisor y [id, uuid, numeroContrato] por id
+    @Query("SELECT c.id FROM Contrato c WHERE c.supervisor.id = :supervisorId")
+    List<Long> findIdsBySupervisorId(@Param("supervisorId") Long supervisorId);
+
+    @Query("SELECT c.id, c.uuid, c.numeroContrato FROM Contrato c WHERE c.id IN :ids")
+    List<Object[]> findUuidsYNumerosPorIds(@Param("ids") Collection<Long> ids);
+
     // Contar contratos por supervisor y estado
     @Query("SELECT COUNT(c) FROM Contrato c WHERE c.supervisor.id = :supervisorId AND c.estado = :estado")
     long countBySupervisorIdAndEstado(@Param("supervisorId") Long supervisorId, @Param("estado") EstadoContrato estado);
@@ -63,6 +105,23 @@ public interface ContratoRepository extends JpaRepository<Contrato, Long> {
     long countBySectorAndEstado(Sector sector, EstadoContrato estado);
     
     boolean existsBySector(Sector sector);
+
+    // Agregados por sector para reconstruir/verificar sector_rollup:
+    // [sectorId, total, activos, finalizados, suspendidos]
+    @Query("SELECT c.sector.id, COUNT(c), " +
+           "SUM(CASE WHEN c.estado = 'ACTIVO' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN c.estado = 'FINALIZADO' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN c.estado = 'SUSPENDIDO' THEN 1 ELSE 0 END) " +
+           "FROM Contrato c GROUP BY c.sector.id")
+    List<Object[]> agregarPorSector();
+
+    @Query("SELECT c.sector.id, COUNT(c), " +
+           "SUM(CASE WHEN c.estado = 'ACTIVO' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN c.estado = 'FINALIZADO' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN c.estado = 'SUSPENDIDO' THEN 1 ELSE 0 END) " +
+           "FROM Contrato c WHERE c.sector.id = :sectorId GROUP BY c.sector.id")
+    List<Object[]> agregarPorSector(@Param("sectorId") Long sectorId);
+
     @Query("SELECT DISTINCT c FROM Contrato c " +
         "JOIN c.contratoPredios cp " +
         "WHERE cp.operario = :operario " +
@@ -1,17 +1,23 @@
 package co.empresa.gestioncontratos.repository;
 
 import co.empresa.gestioncontratos.entity.PlanTarifa;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface PlanTarifaRepository extends JpaRepository<PlanTarifa, Long> {
+public interface PlanTarifaRepository extends JpaRepository<PlanTarifa, Long>, BusquedaNaturalId {
     
-    Optional<PlanTarifa> findByUuid(UUID uuid);
+    default Optional<PlanTarifa> findByUuid(UUID uuid) {
+        return buscarPorNaturalId(PlanTarifa.class, uuid);
+    }
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<PlanTarifa> findByNombre(String nombre);
     
     boolean existsByNombre(String nombre);
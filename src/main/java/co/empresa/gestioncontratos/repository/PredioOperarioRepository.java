@@ -6,13 +6,23 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface PredioOperarioRepository extends JpaRepository<PredioOperario, Long> {
+
+    // Operarios activos distintos por contrato: [contratoId, total]
+    @Query("SELECT po.contrato.id, COUNT(DISTINCT po.operario.id) FROM PredioOperario po " +
+           "WHERE po.contrato.id IN :contratoIds AND po.activo = true GROUP BY po.contrato.id")
+    List<Object[]> contarOperariosPorContratos(@Param("contratoIds") Collection<Long> contratoIds);
     
+    // Operarios asignados alguna vez en contratos de un supervisor (series estadísticas)
+    @Query("SELECT DISTINCT po.operario.id FROM PredioOperario po WHERE po.contrato.supervisor.id = :supervisorId")
+    List<Long> findOperarioIdsPorSupervisor(@Param("supervisorId") Long supervisorId);
+
     // Buscar por predio, contrato y activo
     Optional<PredioOperario> findByPredioAndContratoAndActivoTrue(Predio predio, Contrato contrato);
     
@@ -1,9 +1,12 @@
 package co.empresa.gestioncontratos.repository;
 
+import co.empresa.gestioncontratos.repository.projection.PredioResumen;
 import co.empresa.gestioncontratos.entity.Predio;
 import co.empresa.gestioncontratos.entity.Sector;
 import co.empresa.gestioncontratos.entity.Usuario;
 import co.empresa.gestioncontratos.enums.TipoPredio;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -64,6 +67,55 @@ public interface PredioRepository extends JpaRepository<Predio, Long>, JpaSpecif
     @Query("SELECT SUM(p.area) FROM Predio p WHERE p.sector = :sector")
     Double sumAreaBySector(@Param("sector") Sector sector);
 
+    // Agregados por sector para reconstruir/verificar sector_rollup:
+    // [sectorId, total, activos, urbanos, rurales, area]
+    @Query("SELECT p.sector.id, COUNT(p), " +
+           "SUM(CASE WHEN p.activo = true THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN p.tipo = 'URBANO' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN p.tipo = 'RURAL' THEN 1 ELSE 0 END), " +
+           "COALESCE(SUM(p.area), 0) " +
+           "FROM Predio p GROUP BY p.sector.id")
+    List<Object[]> agregarPorSector();
+
+    @Query("SELECT p.sector.id, COUNT(p), " +
+           "SUM(CASE WHEN p.activo = true THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN p.tipo = 'URBANO' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN p.tipo = 'RURAL' THEN 1 ELSE 0 END), " +
+           "COALESCE(SUM(p.area), 0) " +
+           "FROM Predio p WHERE p.sector.id = :sectorId GROUP BY p.sector.id")
+    List<Object[]> agregarPorSector(@Param("sectorId") Long sectorId);
+
+    // Proyecciones para la API: solo las columnas que se devuelven, con el sector en la misma consulta
+    String SELECT_RESUMEN = "SELECT p.uuid AS uuid, p.direccion AS direccion, s.uuid AS sectorUuid, " +
+           "s.nombre AS sectorNombre, p.tipo AS tipo, p.activo AS activo FROM Predio p JOIN p.sector s ";
+
+    @Query(SELECT_RESUMEN + "ORDER BY p.direccion")
+    List<PredioResumen> listarResumen();
+
+    @Query(SELECT_RESUMEN + "WHERE p.uuid = :uuid")
+    Optional<PredioResumen> findResumenByUuid(@Param("uuid") UUID uuid);
+
+    @Query(value = SELECT_RESUMEN + "WHERE p.activo = true AND " +
+           "LOWER(p.direccion) LIKE CONCAT('%', :filtro, '%') AND " +
+           "(:sectorUuid IS NULL OR s.uuid = :sectorUuid) AND " +
+           "(:tipo IS NULL OR p.tipo = :tipo)",
+           countQuery = "SELECT COUNT(p) FROM Predio p JOIN p.sector s WHERE p.activo = true AND " +
+           "LOWER(p.direccion) LIKE CONCAT('%', :filtro, '%') AND " +
+           "(:sectorUuid IS NULL OR s.uuid = :sectorUuid) AND " +
+           "(:tipo IS NULL OR p.tipo = :tipo)")
+    Page<PredioResumen> buscarResumen(@Param("filtro") String filtro,
+                                      @Param("sectorUuid") UUID sectorUuid,
+                                      @Param("tipo") TipoPredio tipo,
+                                      Pageable pageable);
+
+    @Query(SELECT_RESUMEN + "WHERE p.activo = true AND " +
+           "NOT EXISTS (SELECT cp FROM ContratoPredio cp WHERE cp.predio = p AND cp.contrato.estado = 'ACTIVO' AND cp.activo = true)")
+    List<PredioResumen> listarResumenDisponibles();
+
+    @Query(SELECT_RESUMEN + "WHERE p.activo = true AND " +
+           "NOT EXISTS (SELECT cp FROM ContratoPredio cp WHERE cp.predio = p AND cp.contrato.uuid = :contratoUuid AND cp.activo = true)")
+    List<PredioResumen> listarResumenDisponiblesParaContrato(@Param("contratoUuid") UUID contratoUuid);
+
     Optional<Predio> findByCodigoCatastral(String codigoCatastral);
        boolean existsByCodigoCatastral(String codigoCatastral);
 }
\ No newline at end of file
@@ -0,0 +1,68 @@
+package co.empresa.gestioncontratos.repository;
+
+import co.empresa.gestioncontratos.entity.PuntoSerie;
+import co.empresa.gestioncontratos.enums.SerieEstadistica;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface PuntoSerieRepository extends JpaRepository<PuntoSerie, PuntoSerie.Clave> {
+
+    // Suma un delta al punto del día creando la fila si no existe (mismo esquema portable que
+    // ActividadDiariaRepository.aplicarDelta, y como allí solo invalida la caché de serie_temporal)
+    default void aplicarDelta(String serie, String clave, LocalDate fecha, long delta) {
+        if (sumarDelta(serie, clave, fecha, delta) == 0 && insertarSiNoExiste(serie, clave, fecha, delta) == 0) {
+            sumarDelta(serie, clave, fecha, delta);
+        }
+    }
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "serie_temporal"))
+    @Query(value = "UPDATE serie_temporal SET valor = valor + :delta " +
+                   "WHERE serie = :serie AND clave = :clave AND fecha = :fecha",
+           nativeQuery = true)
+    int sumarDelta(@Param("serie") String serie,
+                   @Param("clave") String clave,
+                   @Param("fecha") LocalDate fecha,
+                   @Param("delta") long delta);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "serie_temporal"))
+    @Query(value = "INSERT INTO serie_temporal (serie, clave, fecha, valor) " +
+                   "VALUES (:serie, :clave, :fecha, :delta) ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int insertarSiNoExiste(@Param("serie") String serie,
+                           @Param("clave") String clave,
+                           @Param("fecha") LocalDate fecha,
+                           @Param("delta") long delta);
+
+    // Puntos del rango: [clave, fecha, valor]
+    @Query("SELECT p.id.clave, p.id.fecha, p.valor FROM PuntoSerie p " +
+           "WHERE p.id.serie = :serie AND p.id.fecha BETWEEN :desde AND :hasta " +
+           "AND (:clave IS NULL OR p.id.clave = :clave) " +
+           "ORDER BY p.id.fecha")
+    List<Object[]> buscarRango(@Param("serie") SerieEstadistica serie,
+                               @Param("desde") LocalDate desde,
+                               @Param("hasta") LocalDate hasta,
+                               @Param("clave") String clave);
+
+    // Acumulado anterior al rango (series acumuladas): [clave, valor]
+    @Query("SELECT p.id.clave, SUM(p.valor) FROM PuntoSerie p " +
+           "WHERE p.id.serie = :serie AND p.id.fecha < :desde " +
+           "AND (:clave IS NULL OR p.id.clave = :clave) " +
+           "GROUP BY p.id.clave")
+    List<Object[]> sumarAntesDe(@Param("serie") SerieEstadistica serie,
+                                @Param("desde") LocalDate desde,
+                                @Param("clave") String clave);
+
+    long countByIdSerie(SerieEstadistica serie);
+}
@@ -1,8 +1,11 @@
 package co.empresa.gestioncontratos.repository;
 
 import co.empresa.gestioncontratos.entity.Sector;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,14 +13,19 @@ import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface SectorRepository extends JpaRepository<Sector, Long> {
+public interface SectorRepository extends JpaRepository<Sector, Long>, BusquedaNaturalId {
     
-    Optional<Sector> findByUuid(UUID uuid);
+    // Por uuid (identificador natural): sin consulta si la entidad está en caché
+    default Optional<Sector> findByUuid(UUID uuid) {
+        return buscarPorNaturalId(Sector.class, uuid);
+    }
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Sector> findByNombre(String nombre);
     
     boolean existsByNombre(String nombre);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Sector> findByCodigo(String codigo);
     
     boolean existsByCodigo(String codigo);
@@ -39,4 +47,7 @@ public interface SectorRepository extends JpaRepository<Sector, Long> {
     @Query("SELECT COUNT(s) FROM Sector s WHERE NOT EXISTS (SELECT p FROM Predio p WHERE p.sector = s) " +
            "AND NOT EXISTS (SELECT c FROM Contrato c WHERE c.sector = s)")
     long countSectoresSinActividad();
+
+    @Query("SELECT s.id FROM Sector s")
+    List<Long> findAllIds();
 }
@@ -0,0 +1,59 @@
+package co.empresa.gestioncontratos.repository;
+
+import co.empresa.gestioncontratos.entity.SectorRollup;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SectorRollupRepository extends JpaRepository<SectorRollup, Long> {
+
+    // Reconstrucción: bloquea las filas antes de leer las tablas base, así los deltas concurrentes
+    // esperan y se aplican sobre el valor recalculado. Orden fijo para no cruzarse con otros bloqueos
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM SectorRollup r ORDER BY r.sectorId")
+    List<SectorRollup> findAllParaReconstruir();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM SectorRollup r WHERE r.sectorId = :sectorId")
+    Optional<SectorRollup> findParaReconstruir(@Param("sectorId") Long sectorId);
+
+    // Aplicar deltas de predios de forma atómica (sin leer la fila)
+    @Modifying
+    @Query("UPDATE SectorRollup r SET " +
+           "r.totalPredios = r.totalPredios + :total, " +
+           "r.prediosActivos = r.prediosActivos + :activos, " +
+           "r.prediosUrbanos = r.prediosUrbanos + :urbanos, " +
+           "r.prediosRurales = r.prediosRurales + :rurales, " +
+           "r.areaTotalPredios = r.areaTotalPredios + :area, " +
+           "r.fechaActualizacion = CURRENT_TIMESTAMP " +
+           "WHERE r.sectorId = :sectorId")
+    int aplicarDeltaPredios(@Param("sectorId") Long sectorId,
+                            @Param("total") long total,
+                            @Param("activos") long activos,
+                            @Param("urbanos") long urbanos,
+                            @Param("rurales") long rurales,
+                            @Param("area") double area);
+
+    // Aplicar deltas de contratos de forma atómica (sin leer la fila)
+    @Modifying
+    @Query("UPDATE SectorRollup r SET " +
+           "r.totalContratos = r.totalContratos + :total, " +
+           "r.contratosActivos = r.contratosActivos + :activos, " +
+           "r.contratosFinalizados = r.contratosFinalizados + :finalizados, " +
+           "r.contratosSuspendidos = r.contratosSuspendidos + :suspendidos, " +
+           "r.fechaActualizacion = CURRENT_TIMESTAMP " +
+           "WHERE r.sectorId = :sectorId")
+    int aplicarDeltaContratos(@Param("sectorId") Long sectorId,
+                              @Param("total") long total,
+                              @Param("activos") long activos,
+                              @Param("finalizados") long finalizados,
+                              @Param("suspendidos") long suspendidos);
+}
@@ -0,0 +1,26 @@
+package co.empresa.gestioncontratos.repository;
+
+import co.empresa.gestioncontratos.entity.Servicio;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ServicioRepository extends JpaRepository<Servicio, Long>, BusquedaNaturalId {
+
+    default Optional<Servicio> findByUuid(UUID uuid) {
+        return buscarPorNaturalId(Servicio.class, uuid);
+    }
+
+    List<Servicio> findByActivoTrueOrderByNombre();
+
+    // Resolución por lotes de servicios activos: [uuid, id]
+    @Query("SELECT s.uuid, s.id FROM Servicio s WHERE s.uuid IN :uuids AND s.activo = true")
+    List<Object[]> findIdsActivosByUuidIn(@Param("uuids") Collection<UUID> uuids);
+}
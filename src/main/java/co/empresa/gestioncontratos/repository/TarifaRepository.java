@@ -0,0 +1,26 @@
+package co.empresa.gestioncontratos.repository;
+
+import co.empresa.gestioncontratos.entity.Tarifa;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface TarifaRepository extends JpaRepository<Tarifa, Long>, BusquedaNaturalId {
+
+    default Optional<Tarifa> findByUuid(UUID uuid) {
+        return buscarPorNaturalId(Tarifa.class, uuid);
+    }
+
+    // Tarifas vigentes para la matriz de precios:
+    // [planId, planUuid, servicioId, servicioUuid, precioUrbano, precioRural]
+    @Query("SELECT pt.id, pt.uuid, s.id, s.uuid, t.precioUrbano, t.precioRural FROM Tarifa t " +
+           "JOIN t.planTarifa pt JOIN t.servicio s " +
+           "WHERE t.activo = true AND pt.activo = true AND s.activo = true " +
+           "ORDER BY pt.id, s.id")
+    List<Object[]> findTarifasVigentes();
+}
@@ -1,15 +1,22 @@
 package co.empresa.gestioncontratos.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import co.empresa.gestioncontratos.dto.UsuarioBusquedaDTO;
 import co.empresa.gestioncontratos.entity.Usuario;
 import co.empresa.gestioncontratos.enums.PerfilUsuario;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,8 +24,21 @@ import java.util.UUID;
 @Repository
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
 
+    String SELECT_BUSQUEDA_DTO = "SELECT new co.empresa.gestioncontratos.dto.UsuarioBusquedaDTO(" +
+           "u.uuid, u.username, u.nombre, u.apellido, u.email, u.telefono, u.perfil, u.activo, u.fechaCreacion) ";
+
+    // El filtro llega normalizado (Usuario.normalizarBusqueda) y se compara contra la columna
+    // busqueda, que en PostgreSQL tiene un índice GIN de trigramas
+    String WHERE_BUSQUEDA = "WHERE u.activo = true AND " +
+           "(:perfil IS NULL OR u.perfil = :perfil) AND " +
+           "u.busqueda LIKE CONCAT('%', :filtro, '%')";
+
     // Métodos para autenticación
     Optional<Usuario> findByUsernameAndActivoTrue(String username);
+
+    @Modifying
+    @Query("UPDATE Usuario u SET u.password = :password WHERE u.username = :username")
+    int actualizarPassword(@Param("username") String username, @Param("password") String password);
     Optional<Usuario> findByEmailAndActivoTrue(String email);
     
     // Búsquedas por UUID
@@ -28,17 +48,43 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     // Búsquedas por perfil
     List<Usuario> findByPerfilAndActivoTrue(PerfilUsuario perfil);
     Page<Usuario> findByPerfilAndActivoTrue(PerfilUsuario perfil, Pageable pageable);
+
+    @Query(SELECT_BUSQUEDA_DTO + "FROM Usuario u WHERE u.perfil = :perfil AND u.activo = true " +
+           "ORDER BY u.nombre, u.apellido")
+    List<UsuarioBusquedaDTO> listarResumenActivosPorPerfil(@Param("perfil") PerfilUsuario perfil);
     
     // Búsquedas con filtros
-    @Query("SELECT u FROM Usuario u WHERE u.activo = true AND " +
-           "(:perfil IS NULL OR u.perfil = :perfil) AND " +
-           "(LOWER(u.nombre) LIKE LOWER(CONCAT('%', :filtro, '%')) OR " +
-           "LOWER(u.apellido) LIKE LOWER(CONCAT('%', :filtro, '%')) OR " +
-           "LOWER(u.username) LIKE LOWER(CONCAT('%', :filtro, '%')) OR " +
-           "LOWER(u.email) LIKE LOWER(CONCAT('%', :filtro, '%')))")
+    @Query("SELECT u FROM Usuario u " + WHERE_BUSQUEDA)
     Page<Usuario> findUsuariosConFiltros(@Param("perfil") PerfilUsuario perfil, 
                                         @Param("filtro") String filtro, 
                                         Pageable pageable);
+
+    // Búsquedas con proyección a DTO
+    @Query(value = SELECT_BUSQUEDA_DTO + "FROM Usuario u",
+           countQuery = "SELECT COUNT(u) FROM Usuario u")
+    Page<UsuarioBusquedaDTO> listarResumen(Pageable pageable);
+
+    @Query(value = SELECT_BUSQUEDA_DTO + "FROM Usuario u " + WHERE_BUSQUEDA,
+           countQuery = "SELECT COUNT(u) FROM Usuario u " + WHERE_BUSQUEDA)
+    Page<UsuarioBusquedaDTO> buscarResumen(@Param("perfil") PerfilUsuario perfil,
+                                           @Param("filtro") String filtro,
+                                           Pageable pageable);
+
+    // Variante sin COUNT: trae size + 1 filas para saber si hay página siguiente
+    @Query(SELECT_BUSQUEDA_DTO + "FROM Usuario u " + WHERE_BUSQUEDA)
+    Slice<UsuarioBusquedaDTO> buscarResumenSlice(@Param("perfil") PerfilUsuario perfil,
+                                                 @Param("filtro") String filtro,
+                                                 Pageable pageable);
+
+    List<Usuario> findByBusquedaIsNull();
+
+    // Carga del índice de unicidad: [id, uuid, username, email, activo]
+    @Query("SELECT u.id, u.uuid, u.username, u.email, u.activo FROM Usuario u")
+    List<Object[]> findEntradasIndice();
+
+    // Series estadísticas por operario: [id, uuid, nombre, apellido]
+    @Query("SELECT u.id, u.uuid, u.nombre, u.apellido FROM Usuario u WHERE u.id IN :ids")
+    List<Object[]> findUuidsYNombresPorIds(@Param("ids") Collection<Long> ids);
     
     // Verificar existencia
     boolean existsByUsernameAndActivoTrue(String username);
@@ -50,15 +96,21 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     long countByPerfilAndActivoTrue(PerfilUsuario perfil);
     long countByActivoTrue();
     
-    // Supervisores para asignación
+    // Supervisores para asignación (región de consultas "roles": ids en caché, usuarios en la de entidades)
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "roles")})
     @Query("SELECT u FROM Usuario u WHERE u.perfil = 'SUPERVISOR' AND u.activo = true ORDER BY u.nombre, u.apellido")
     List<Usuario> findSupervisoresActivos();
     
     // Coordinadores para asignación
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "roles")})
     @Query("SELECT u FROM Usuario u WHERE u.perfil = 'COORDINADOR' AND u.activo = true ORDER BY u.nombre, u.apellido")
     List<Usuario> findCoordinadoresActivos();
     
     // Operarios para asignación
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "roles")})
     @Query("SELECT u FROM Usuario u WHERE u.perfil = 'OPERARIO' AND u.activo = true ORDER BY u.nombre, u.apellido")
     List<Usuario> findOperariosActivos();
 }
\ No newline at end of file
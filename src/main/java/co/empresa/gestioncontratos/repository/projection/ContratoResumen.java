@@ -0,0 +1,38 @@
+package co.empresa.gestioncontratos.repository.projection;
+
+import co.empresa.gestioncontratos.enums.EstadoContrato;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+// Proyección de contrato para listados: sector, plan y supervisor en la misma consulta
+public interface ContratoResumen {
+
+    Long getId();
+
+    UUID getUuid();
+
+    String getNumeroContrato();
+
+    String getObjetivo();
+
+    UUID getSectorUuid();
+
+    String getSectorNombre();
+
+    LocalDate getFechaInicio();
+
+    LocalDate getFechaFin();
+
+    UUID getPlanTarifaUuid();
+
+    String getPlanTarifaNombre();
+
+    UUID getSupervisorUuid();
+
+    String getSupervisorNombre();
+
+    String getSupervisorApellido();
+
+    EstadoContrato getEstado();
+}
@@ -0,0 +1,21 @@
+package co.empresa.gestioncontratos.repository.projection;
+
+import co.empresa.gestioncontratos.enums.TipoPredio;
+
+import java.util.UUID;
+
+// Proyección de predio con los datos del sector ya resueltos en la consulta
+public interface PredioResumen {
+
+    UUID getUuid();
+
+    String getDireccion();
+
+    UUID getSectorUuid();
+
+    String getSectorNombre();
+
+    TipoPredio getTipo();
+
+    Boolean getActivo();
+}
@@ -0,0 +1,213 @@
+package co.empresa.gestioncontratos.service;
+
+import co.empresa.gestioncontratos.entity.Actividad;
+import co.empresa.gestioncontratos.entity.ActividadDiaria;
+import co.empresa.gestioncontratos.enums.EstadoActividad;
+import co.empresa.gestioncontratos.repository.ActividadDiariaRepository;
+import co.empresa.gestioncontratos.repository.ActividadRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Mantiene actividad_diaria: las escrituras de actividades aplican deltas (upsert) en la
+// misma transacción y un job periódico recalcula desde la tabla base para reparar desviaciones.
+// Las fechas son las de la actividad (fecha_actividad), no las de registro.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class ActividadRollupService {
+
+    private final ActividadDiariaRepository actividadDiariaRepository;
+    private final ActividadRepository actividadRepository;
+    private final ParticionesActividadService particionesActividadService;
+
+    // Lo que una actividad aporta a su fila diaria
+    public record AporteActividad(Long operarioId, LocalDate fecha, EstadoActividad estado, BigDecimal monto) {
+        public static AporteActividad de(Actividad actividad) {
+            return new AporteActividad(
+                actividad.getOperario() != null ? actividad.getOperario().getId() : null,
+                actividad.getFechaActividad(),
+                actividad.getEstado(),
+                actividad.calcularTotal());
+        }
+    }
+
+    // ==================== CONSULTAS ====================
+
+    @Transactional(readOnly = true)
+    public long contarHoy(Long operarioId) {
+        LocalDate hoy = LocalDate.now();
+        return actividadDiariaRepository.sumarActividades(operarioId, hoy, hoy);
+    }
+
+    @Transactional(readOnly = true)
+    public long contarMes(Long operarioId) {
+        LocalDate hoy = LocalDate.now();
+        return actividadDiariaRepository.sumarActividades(operarioId, hoy.withDayOfMonth(1), hoy);
+    }
+
+    @Transactional(readOnly = true)
+    public long contar(Long operarioId, LocalDate desde, LocalDate hasta) {
+        return actividadDiariaRepository.sumarActividades(operarioId, desde, hasta);
+    }
+
+    @Transactional(readOnly = true)
+    public long contarTotal(Long operarioId) {
+        return actividadDiariaRepository.sumarActividades(operarioId);
+    }
+
+    @Transactional(readOnly = true)
+    public BigDecimal sumarMonto(Long operarioId, LocalDate desde, LocalDate hasta) {
+        return actividadDiariaRepository.sumarMonto(operarioId, desde, hasta);
+    }
+
+    // Totales por estado en el rango: estado -> {total, monto}
+    @Transactional(readOnly = true)
+    public Map<EstadoActividad, Map<String, Object>> resumenPorEstado(Long operarioId, LocalDate desde, LocalDate hasta) {
+        Map<EstadoActividad, Map<String, Object>> resumen = new EnumMap<>(EstadoActividad.class);
+        for (Object[] fila : actividadDiariaRepository.sumarPorEstado(operarioId, desde, hasta)) {
+            resumen.put((EstadoActividad) fila[0], Map.of(
+                "total", ((Number) fila[1]).longValue(),
+                "monto", fila[2]));
+        }
+        return resumen;
+    }
+
+    // ==================== MANTENIMIENTO INCREMENTAL ====================
+
+    public void actividadRegistrada(Actividad actividad) {
+        aplicar(AporteActividad.de(actividad), 1);
+    }
+
+    // Ingesta por lotes: agrupa los aportes por fila diaria para hacer un upsert por fila, no por actividad
+    public void actividadesRegistradas(Collection<AporteActividad> aportes) {
+        Map<AporteActividad, long[]> totales = new HashMap<>();
+        Map<AporteActividad, BigDecimal> montos = new HashMap<>();
+        for (AporteActividad aporte : aportes) {
+            if (aporte.operarioId() == null || aporte.fecha() == null || aporte.estado() == null) {
+                continue;
+            }
+            AporteActividad fila = new AporteActividad(aporte.operarioId(), aporte.fecha(), aporte.estado(), null);
+            totales.computeIfAbsent(fila, k -> new long[1])[0]++;
+            montos.merge(fila, aporte.monto() != null ? aporte.monto() : BigDecimal.ZERO, BigDecimal::add);
+        }
+        totales.forEach((fila, total) -> actividadDiariaRepository.aplicarDelta(fila.operarioId(), fila.fecha(),
+            fila.estado().name(), total[0], montos.get(fila)));
+    }
+
+    // Revisión masiva: mueve el total y el monto de una fila diaria de un estado a otro
+    public void actividadesRevisadas(Long operarioId, LocalDate fecha, EstadoActividad antes,
+                                     EstadoActividad despues, long total, BigDecimal monto) {
+        if (antes == despues || total == 0) {
+            return;
+        }
+        actividadDiariaRepository.aplicarDelta(operarioId, fecha, antes.name(), -total, monto.negate());
+        actividadDiariaRepository.aplicarDelta(operarioId, fecha, despues.name(), total, monto);
+    }
+
+    public void actividadActualizada(AporteActividad antes, Actividad actividad) {
+        AporteActividad despues = AporteActividad.de(actividad);
+        if (antes.equals(despues)) {
+            return;
+        }
+        aplicar(antes, -1);
+        aplicar(despues, 1);
+    }
+
+    public void actividadEliminada(AporteActividad antes) {
+        aplicar(antes, -1);
+    }
+
+    private void aplicar(AporteActividad aporte, int signo) {
+        if (aporte.operarioId() == null || aporte.fecha() == null || aporte.estado() == null) {
+            return;
+        }
+        actividadDiariaRepository.aplicarDelta(aporte.operarioId(), aporte.fecha(), aporte.estado().name(),
+            signo, aporte.monto().multiply(BigDecimal.valueOf(signo)));
+    }
+
+    // ==================== RECONSTRUCCIÓN Y VERIFICACIÓN ====================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        if (actividadDiariaRepository.count() == 0 && actividadRepository.count() > 0) {
+            log.info("actividad_diaria vacía, reconstruyendo desde actividades");
+            verificarYReparar();
+        }
+    }
+
+    @Scheduled(cron = "${app.rollup.actividad.verificacion-cron:0 45 2 * * *}")
+    public void verificacionProgramada() {
+        verificarYReparar();
+    }
+
+    // Recalcula todas las filas y corrige las que no coinciden; retorna las reparadas.
+    // Con retención de particiones solo se verifican los meses conservados: las filas anteriores
+    // son el único registro de los meses desvinculados y no se tocan
+    public int verificarYReparar() {
+        Optional<LocalDate> desde = particionesActividadService.inicioRetenido();
+        log.info("Verificando actividad_diaria contra actividades{}", desde.map(d -> " desde " + d).orElse(""));
+
+        Map<ActividadDiaria.Clave, ActividadDiaria> calculadas = new HashMap<>();
+        List<Object[]> agregado = desde.isPresent()
+            ? actividadRepository.agregarPorOperarioFechaEstado(desde.get())
+            : actividadRepository.agregarPorOperarioFechaEstado();
+        for (Object[] fila : agregado) {
+            ActividadDiaria.Clave clave = new ActividadDiaria.Clave(
+                ((Number) fila[0]).longValue(), (LocalDate) fila[1], (EstadoActividad) fila[2]);
+            calculadas.put(clave, ActividadDiaria.builder()
+                .id(clave)
+                .totalActividades(((Number) fila[3]).longValue())
+                .montoTotal(escala(new BigDecimal(fila[4].toString())))
+                .build());
+        }
+
+        List<ActividadDiaria> filas = desde.isPresent()
+            ? actividadDiariaRepository.findByIdFechaGreaterThanEqual(desde.get())
+            : actividadDiariaRepository.findAll();
+        Map<ActividadDiaria.Clave, ActividadDiaria> actuales = filas.stream()
+            .collect(Collectors.toMap(ActividadDiaria::getId, Function.identity()));
+        int reparadas = 0;
+
+        for (ActividadDiaria calculada : calculadas.values()) {
+            ActividadDiaria actual = actuales.remove(calculada.getId());
+            if (actual == null) {
+                actividadDiariaRepository.save(calculada);
+                reparadas++;
+            } else if (!actual.getTotalActividades().equals(calculada.getTotalActividades())
+                    || escala(actual.getMontoTotal()).compareTo(calculada.getMontoTotal()) != 0) {
+                log.warn("Desviación en actividad_diaria {}: actual={}, esperado={}",
+                    calculada.getId(), actual, calculada);
+                actual.setTotalActividades(calculada.getTotalActividades());
+                actual.setMontoTotal(calculada.getMontoTotal());
+                reparadas++;
+            }
+        }
+
+        // Filas sin actividades detrás (o que quedaron en cero)
+        if (!actuales.isEmpty()) {
+            actividadDiariaRepository.deleteAllInBatch(actuales.values());
+            reparadas += (int) actuales.values().stream().filter(d -> d.getTotalActividades() != 0).count();
+        }
+
+        log.info("Verificación de actividad_diaria completada: {} filas, {} reparadas",
+            calculadas.size(), reparadas);
+        return reparadas;
+    }
+
+    private static BigDecimal escala(BigDecimal valor) {
+        return valor.setScale(2, RoundingMode.HALF_UP);
+    }
+}
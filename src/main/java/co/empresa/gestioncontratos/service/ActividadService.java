@@ -0,0 +1,368 @@
+package co.empresa.gestioncontratos.service;
+
+import co.empresa.gestioncontratos.dto.ActividadLoteDTO;
+import co.empresa.gestioncontratos.dto.RevisionMasivaDTO;
+import co.empresa.gestioncontratos.dto.UsuarioPrincipal;
+import co.empresa.gestioncontratos.entity.UuidV7;
+import co.empresa.gestioncontratos.enums.EstadoActividad;
+import co.empresa.gestioncontratos.enums.PerfilUsuario;
+import co.empresa.gestioncontratos.enums.TipoPredio;
+import co.empresa.gestioncontratos.event.DatosModificadosEvent;
+import co.empresa.gestioncontratos.repository.ActividadRepository;
+import co.empresa.gestioncontratos.repository.ContratoPredioRepository;
+import co.empresa.gestioncontratos.repository.ServicioRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class ActividadService {
+
+    public static final String CREADA = "CREADA";
+    public static final String DUPLICADA = "DUPLICADA";
+    public static final String RECHAZADA = "RECHAZADA";
+
+    private static final int TAMANO_LOTE_JDBC = 200;
+    private static final int TAMANO_BLOQUE_REVISION = 1000;
+    private static final BigDecimal CANTIDAD_MINIMA = new BigDecimal("0.1");
+
+    // Los reenvíos se descartan al registrar el uuid en actividad_uuids (clave primaria, sin
+    // particionar), sin consultar antes: solo los uuids nuevos llegan a actividades. En la tabla
+    // particionada una clave única debe incluir la fecha y no detectaría un reenvío con la fecha
+    // corregida. ON CONFLICT sin columnas: es la forma que también admite H2. Un envío concurrente
+    // del mismo uuid espera al primero y queda duplicado.
+    // El conteo por fila (1 nuevo, 0 duplicado) requiere reWriteBatchedInserts desactivado en el driver
+    private static final String SQL_REGISTRAR_UUID =
+        "INSERT INTO actividad_uuids (uuid, fecha_actividad) VALUES (?, ?) ON CONFLICT DO NOTHING";
+
+    private static final String SQL_INSERTAR =
+        "INSERT INTO actividades (uuid, predio_id, operario_id, servicio_id, contrato_predio_id, descripcion, " +
+        "fecha_actividad, cantidad, precio_aplicado, estado, observaciones, fecha_creacion, fecha_actualizacion) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Un bloque de revisión en tres sentencias de conjunto, válidas en PostgreSQL y en H2: cambia de
+    // estado solo las que siguen pendientes, registra la nota de cada una y devuelve lo revisado
+    // agregado por fila diaria para ajustar actividad_diaria: [operario_id, fecha_actividad, total, monto].
+    // Las dos últimas reconocen lo cambiado por el estado nuevo con la marca de tiempo de esta revisión
+    private static final String SQL_REVISAR_BLOQUE =
+        "UPDATE actividades SET estado = :estado, fecha_actualizacion = :ahora " +
+        "WHERE id IN (:ids) AND estado = 'PENDIENTE'";
+
+    private static final String SQL_NOTAS_BLOQUE =
+        "INSERT INTO actividad_revisiones (actividad_id, estado_anterior, estado, nota, revisor_id, lote, fecha_creacion) " +
+        "SELECT id, 'PENDIENTE', :estado, :nota, :revisorId, :lote, :ahora FROM actividades " +
+        "WHERE id IN (:ids) AND estado = :estado AND fecha_actualizacion = :ahora";
+
+    private static final String SQL_REVISADAS_BLOQUE =
+        "SELECT operario_id, fecha_actividad, COUNT(*) AS total, " +
+        "COALESCE(SUM(ROUND(precio_aplicado * cantidad, 2)), 0) AS monto " +
+        "FROM actividades WHERE id IN (:ids) AND estado = :estado AND fecha_actualizacion = :ahora " +
+        "GROUP BY operario_id, fecha_actividad";
+
+    private final ActividadRepository actividadRepository;
+    private final ContratoPredioRepository contratoPredioRepository;
+    private final ServicioRepository servicioRepository;
+    private final TarifaService tarifaService;
+    private final ActividadRollupService actividadRollupService;
+    private final SerieTemporalService serieTemporalService;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private record Membresia(Long contratoPredioId, Long predioId, TipoPredio tipo, Long planTarifaId) {
+    }
+
+    private record Fila(int indice, UUID uuid, Membresia membresia, Long servicioId, String descripcion,
+                        LocalDate fecha, BigDecimal cantidad, BigDecimal precio, String observaciones) {
+    }
+
+    // ==================== INGESTA POR LOTES ====================
+
+    // Registra las actividades de un operario y devuelve un resultado por elemento, en el mismo orden.
+    // La membresía operario ↔ ContratoPredio y los servicios se resuelven con una consulta cada uno
+    public List<Map<String, Object>> registrarLote(Long operarioId, List<ActividadLoteDTO> actividades) {
+        List<Map<String, Object>> resultados = new ArrayList<>(actividades.size());
+        Set<UUID> contratoPredioUuids = new HashSet<>();
+        Set<UUID> servicioUuids = new HashSet<>();
+        Set<UUID> vistos = new HashSet<>();
+
+        for (int i = 0; i < actividades.size(); i++) {
+            ActividadLoteDTO dto = actividades.get(i);
+            resultados.add(resultado(i, dto != null ? dto.getUuid() : null));
+            String error = validar(dto);
+            if (error != null) {
+                rechazar(resultados.get(i), error);
+            } else if (!vistos.add(dto.getUuid())) {
+                resultados.get(i).put("estado", DUPLICADA);
+            } else {
+                contratoPredioUuids.add(dto.getContratoPredioUuid());
+                servicioUuids.add(dto.getServicioUuid());
+            }
+        }
+
+        Map<UUID, Membresia> membresias = membresias(contratoPredioUuids, operarioId);
+        Map<UUID, Long> servicios = servicios(servicioUuids);
+        MatrizTarifas matriz = tarifaService.getMatriz();
+
+        List<Fila> filas = new ArrayList<>();
+        for (int i = 0; i < actividades.size(); i++) {
+            Map<String, Object> resultado = resultados.get(i);
+            if (resultado.get("estado") != null) {
+                continue;
+            }
+            ActividadLoteDTO dto = actividades.get(i);
+            Membresia membresia = membresias.get(dto.getContratoPredioUuid());
+            Long servicioId = servicios.get(dto.getServicioUuid());
+            if (membresia == null) {
+                rechazar(resultado, "El predio no existe, no está activo o no está asignado al operario");
+                continue;
+            }
+            if (servicioId == null) {
+                rechazar(resultado, "Servicio no encontrado o inactivo");
+                continue;
+            }
+            long centavos = matriz.precioCentavos(membresia.planTarifaId(), servicioId, membresia.tipo());
+            BigDecimal precio = centavos == MatrizTarifas.SIN_TARIFA ? null : MatrizTarifas.aDecimal(centavos);
+            if (precio == null) {
+                // Se registra igual: el trabajo está hecho y el supervisor lo revisa al aprobar
+                resultado.put("advertencia", "Sin tarifa vigente para el servicio");
+            }
+            resultado.put("precioAplicado", precio);
+            filas.add(new Fila(i, dto.getUuid(), membresia, servicioId, dto.getDescripcion().trim(),
+                dto.getFechaActividad(), dto.getCantidad() != null ? dto.getCantidad() : BigDecimal.ONE,
+                precio, dto.getObservaciones()));
+        }
+
+        if (!filas.isEmpty()) {
+            insertar(operarioId, filas, resultados);
+        }
+
+        log.info("Lote de actividades del operario {}: {} recibidas, {} nuevas",
+            operarioId, actividades.size(), resultados.stream().filter(r -> CREADA.equals(r.get("estado"))).count());
+        return resultados;
+    }
+
+    private void insertar(Long operarioId, List<Fila> filas, List<Map<String, Object>> resultados) {
+        int[][] registros = jdbcTemplate.batchUpdate(SQL_REGISTRAR_UUID, filas, TAMANO_LOTE_JDBC, (ps, fila) -> {
+            ps.setObject(1, fila.uuid());
+            ps.setDate(2, Date.valueOf(fila.fecha()));
+        });
+
+        List<Fila> nuevas = new ArrayList<>();
+        int k = 0;
+        for (int[] lote : registros) {
+            for (int conteo : lote) {
+                Fila fila = filas.get(k++);
+                if (conteo > 0) {
+                    nuevas.add(fila);
+                } else {
+                    // Ya existía una actividad con ese uuid: reenvío de un lote anterior
+                    resultados.get(fila.indice()).put("estado", DUPLICADA);
+                    resultados.get(fila.indice()).remove("advertencia");
+                    resultados.get(fila.indice()).remove("precioAplicado");
+                }
+            }
+        }
+        if (nuevas.isEmpty()) {
+            return;
+        }
+
+        Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(SQL_INSERTAR, nuevas, TAMANO_LOTE_JDBC, (ps, fila) -> {
+            ps.setObject(1, fila.uuid());
+            ps.setLong(2, fila.membresia().predioId());
+            ps.setLong(3, operarioId);
+            ps.setLong(4, fila.servicioId());
+            ps.setLong(5, fila.membresia().contratoPredioId());
+            ps.setString(6, fila.descripcion());
+            ps.setDate(7, Date.valueOf(fila.fecha()));
+            ps.setBigDecimal(8, fila.cantidad());
+            if (fila.precio() != null) {
+                ps.setBigDecimal(9, fila.precio());
+            } else {
+                ps.setNull(9, Types.NUMERIC);
+            }
+            ps.setString(10, EstadoActividad.PENDIENTE.name());
+            ps.setString(11, fila.observaciones());
+            ps.setTimestamp(12, ahora);
+            ps.setTimestamp(13, ahora);
+        });
+
+        List<ActividadRollupService.AporteActividad> aportes = new ArrayList<>(nuevas.size());
+        for (Fila fila : nuevas) {
+            resultados.get(fila.indice()).put("estado", CREADA);
+            aportes.add(new ActividadRollupService.AporteActividad(operarioId, fila.fecha(),
+                EstadoActividad.PENDIENTE, total(fila)));
+        }
+        actividadRollupService.actividadesRegistradas(aportes);
+        eventPublisher.publishEvent(DatosModificadosEvent.de("actividad", operarioId));
+    }
+
+    // ==================== REVISIÓN MASIVA ====================
+
+    // Aprueba o rechaza en bloque las actividades pendientes seleccionadas, sin cargar entidades:
+    // se leen solo los ids y se actualizan por bloques con sentencias de conjunto
+    public Map<String, Object> revisarMasivo(RevisionMasivaDTO revision, UsuarioPrincipal revisor) {
+        EstadoActividad estado = revision.getEstado();
+        if (estado == null || estado == EstadoActividad.PENDIENTE) {
+            throw new RuntimeException("El estado de revisión debe ser APROBADA o RECHAZADA");
+        }
+        String nota = revision.getNota() != null && !revision.getNota().trim().isEmpty()
+            ? revision.getNota().trim() : null;
+        if (estado == EstadoActividad.RECHAZADA && nota == null) {
+            throw new RuntimeException("El motivo del rechazo es requerido");
+        }
+
+        // Los supervisores solo revisan actividades de sus contratos
+        Long supervisorId = revisor.getPerfil() == PerfilUsuario.ADMINISTRADOR ? null : revisor.getId();
+        List<Long> ids;
+        if (revision.porLista()) {
+            ids = actividadRepository.findIdsPendientesPorUuids(new HashSet<>(revision.getActividadUuids()), supervisorId);
+        } else if (revision.tieneFiltro()) {
+            ids = actividadRepository.findIdsPendientesPorFiltro(revision.getContratoUuid(), revision.getOperarioUuid(),
+                revision.getServicioUuid(),
+                revision.getDesde() != null ? revision.getDesde() : LocalDate.EPOCH,
+                revision.getHasta() != null ? revision.getHasta() : LocalDate.now(),
+                supervisorId);
+        } else {
+            throw new RuntimeException("Indique las actividades o filtre al menos por contrato u operario");
+        }
+
+        UUID lote = UuidV7.generar();
+        // En microsegundos, como se guarda: se compara con la columna para reconocer lo revisado
+        Timestamp ahora = Timestamp.valueOf(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        Set<Long> operarios = new HashSet<>();
+        long revisadas = 0;
+
+        for (int desde = 0; desde < ids.size(); desde += TAMANO_BLOQUE_REVISION) {
+            MapSqlParameterSource parametros = new MapSqlParameterSource()
+                .addValue("ids", ids.subList(desde, Math.min(desde + TAMANO_BLOQUE_REVISION, ids.size())))
+                .addValue("estado", estado.name())
+                .addValue("nota", nota, Types.VARCHAR)
+                .addValue("revisorId", revisor.getId())
+                .addValue("lote", lote)
+                .addValue("ahora", ahora);
+            if (namedParameterJdbcTemplate.update(SQL_REVISAR_BLOQUE, parametros) == 0) {
+                continue;
+            }
+            namedParameterJdbcTemplate.update(SQL_NOTAS_BLOQUE, parametros);
+            for (Map<String, Object> fila : namedParameterJdbcTemplate.queryForList(SQL_REVISADAS_BLOQUE, parametros)) {
+                Long operarioId = ((Number) fila.get("operario_id")).longValue();
+                LocalDate fecha = ((Date) fila.get("fecha_actividad")).toLocalDate();
+                long total = ((Number) fila.get("total")).longValue();
+                BigDecimal monto = new BigDecimal(fila.get("monto").toString());
+                actividadRollupService.actividadesRevisadas(operarioId, fecha, EstadoActividad.PENDIENTE, estado, total, monto);
+                operarios.add(operarioId);
+                revisadas += total;
+            }
+        }
+
+        if (revisadas > 0) {
+            serieTemporalService.actividadesRevisadas(estado, revisadas);
+            eventPublisher.publishEvent(DatosModificadosEvent.de("actividad", operarios.toArray(Long[]::new)));
+        }
+
+        log.info("Revisión masiva {} por {}: {} seleccionadas, {} {}",
+            lote, revisor.getUsername(), ids.size(), revisadas, estado);
+
+        Map<String, Object> resultado = new HashMap<>();
+        resultado.put("lote", lote);
+        resultado.put("estado", estado);
+        resultado.put("seleccionadas", ids.size());
+        resultado.put("revisadas", revisadas);
+        // Dejaron de estar pendientes entre la selección y la actualización (otra revisión concurrente)
+        resultado.put("omitidas", ids.size() - revisadas);
+        resultado.put("operarios", operarios.size());
+        return resultado;
+    }
+
+    // ==================== MÉTODOS AUXILIARES ====================
+
+    private Map<UUID, Membresia> membresias(Set<UUID> uuids, Long operarioId) {
+        Map<UUID, Membresia> membresias = new HashMap<>();
+        if (uuids.isEmpty()) {
+            return membresias;
+        }
+        for (Object[] fila : contratoPredioRepository.findMembresiasOperario(uuids, operarioId)) {
+            membresias.put((UUID) fila[0],
+                new Membresia((Long) fila[1], (Long) fila[2], (TipoPredio) fila[3], (Long) fila[4]));
+        }
+        return membresias;
+    }
+
+    private Map<UUID, Long> servicios(Set<UUID> uuids) {
+        Map<UUID, Long> servicios = new HashMap<>();
+        if (uuids.isEmpty()) {
+            return servicios;
+        }
+        for (Object[] fila : servicioRepository.findIdsActivosByUuidIn(uuids)) {
+            servicios.put((UUID) fila[0], (Long) fila[1]);
+        }
+        return servicios;
+    }
+
+    private String validar(ActividadLoteDTO dto) {
+        if (dto == null || dto.getUuid() == null) {
+            return "El uuid de la actividad es requerido";
+        }
+        if (dto.getContratoPredioUuid() == null) {
+            return "El predio del contrato es requerido";
+        }
+        if (dto.getServicioUuid() == null) {
+            return "El servicio es requerido";
+        }
+        if (dto.getDescripcion() == null || dto.getDescripcion().trim().isEmpty()) {
+            return "La descripción es requerida";
+        }
+        if (dto.getFechaActividad() == null) {
+            return "La fecha de la actividad es requerida";
+        }
+        if (dto.getFechaActividad().isAfter(LocalDate.now())) {
+            return "La fecha de la actividad no puede ser futura";
+        }
+        if (dto.getCantidad() != null && dto.getCantidad().compareTo(CANTIDAD_MINIMA) < 0) {
+            return "La cantidad debe ser al menos " + CANTIDAD_MINIMA;
+        }
+        return null;
+    }
+
+    // Igual que Actividad.calcularTotal, para que el acumulado diario cuadre con la reconstrucción
+    private static BigDecimal total(Fila fila) {
+        if (fila.precio() == null) {
+            return BigDecimal.ZERO;
+        }
+        return fila.precio().multiply(fila.cantidad()).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    // El estado queda en null hasta que el elemento se rechaza, se descarta o se inserta
+    private static Map<String, Object> resultado(int indice, UUID uuid) {
+        Map<String, Object> resultado = new HashMap<>();
+        resultado.put("indice", indice);
+        resultado.put("uuid", uuid);
+        resultado.put("estado", null);
+        return resultado;
+    }
+
+    private static void rechazar(Map<String, Object> resultado, String mensaje) {
+        resultado.put("estado", RECHAZADA);
+        resultado.put("mensaje", mensaje);
+    }
+}
@@ -3,14 +3,19 @@ package co.empresa.gestioncontratos.service;
 import co.empresa.gestioncontratos.dto.*;
 import co.empresa.gestioncontratos.entity.*;
 import co.empresa.gestioncontratos.enums.*;
+import co.empresa.gestioncontratos.event.DatosModificadosEvent;
+import co.empresa.gestioncontratos.mapper.ContratoMapper;
 import co.empresa.gestioncontratos.repository.*;
+import co.empresa.gestioncontratos.repository.projection.ContratoResumen;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -27,6 +32,10 @@ public class ContratoService {
     private final SectorRepository sectorRepository;
     private final PlanTarifaRepository planTarifaRepository;
     private final PredioOperarioRepository predioOperarioRepository;
+    private final SectorRollupService sectorRollupService;
+    private final SerieTemporalService serieTemporalService;
+    private final ContratoMapper contratoMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ==================== CONSULTAS ====================
 
@@ -64,6 +73,56 @@ public class ContratoService {
         log.info("Listando contratos del operario: {}", operario.getUsername());
         return contratoRepository.findContratosConOperarioEnPredios(operario);
     }
+    // Listado para la API según el perfil: una consulta de proyección más tres conteos agrupados,
+    // en vez de cargar cada contrato con sus relaciones y consultar sus estadísticas una a una
+    @Transactional(readOnly = true)
+    public List<ContratoDTO> listarResumen(PerfilUsuario perfil, Long usuarioId) {
+        List<ContratoResumen> contratos = switch (perfil) {
+            case ADMINISTRADOR -> contratoRepository.listarResumen();
+            case SUPERVISOR -> contratoRepository.listarResumenPorSupervisor(usuarioId);
+            case COORDINADOR -> contratoRepository.listarResumenPorCoordinador(usuarioId);
+            case OPERARIO -> contratoRepository.listarResumenPorOperario(usuarioId);
+        };
+        if (contratos.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> ids = contratos.stream().map(ContratoResumen::getId).collect(Collectors.toList());
+        Map<Long, Object[]> predios = new HashMap<>();
+        contratoPredioRepository.contarPorContratos(ids).forEach(fila -> predios.put((Long) fila[0], fila));
+        Map<Long, Long> operarios = contarPorContrato(predioOperarioRepository.contarOperariosPorContratos(ids));
+        Map<Long, Long> coordinadores = contarPorContrato(contratoRepository.contarCoordinadoresActivosPorContrato(ids));
+
+        return contratos.stream()
+            .map(contrato -> {
+                ContratoDTO dto = contratoMapper.toDTO(contrato);
+                Object[] conteo = predios.get(contrato.getId());
+                long total = conteo != null ? ((Number) conteo[1]).longValue() : 0L;
+                long asignados = conteo != null ? ((Number) conteo[2]).longValue() : 0L;
+                long completados = conteo != null ? ((Number) conteo[3]).longValue() : 0L;
+                long activos = conteo != null ? ((Number) conteo[4]).longValue() : 0L;
+
+                dto.setTotalPredios((int) total);
+                dto.setPrediosAsignados((int) asignados);
+                dto.setTotalOperarios(operarios.getOrDefault(contrato.getId(), 0L).intValue());
+                dto.setPorcentajeAvance(total > 0 ? completados * 100.0 / total : 0.0);
+                // Mismo criterio que Contrato.puedeSerEliminado()
+                dto.setPuedeSerEliminado(coordinadores.getOrDefault(contrato.getId(), 0L) == 0 && activos == 0);
+                return dto;
+            })
+            .collect(Collectors.toList());
+    }
+
+    private static Long idSupervisor(Contrato contrato) {
+        return contrato.getSupervisor() != null ? contrato.getSupervisor().getId() : null;
+    }
+
+    private static Map<Long, Long> contarPorContrato(List<Object[]> filas) {
+        Map<Long, Long> conteos = new HashMap<>();
+        filas.forEach(fila -> conteos.put((Long) fila[0], ((Number) fila[1]).longValue()));
+        return conteos;
+    }
+
     @Transactional(readOnly = true)
     public Contrato buscarPorUuid(UUID uuid) {
         return contratoRepository.findByUuid(uuid)
@@ -103,13 +162,18 @@ public class ContratoService {
             .estado(EstadoContrato.ACTIVO)
             .build();
         
-        return contratoRepository.save(contrato);
+        Contrato guardado = contratoRepository.save(contrato);
+        sectorRollupService.contratoCreado(guardado);
+        serieTemporalService.contratoCreado(guardado);
+        eventPublisher.publishEvent(DatosModificadosEvent.de("contrato", idSupervisor(guardado)));
+        return guardado;
     }
 
     public Contrato actualizar(UUID uuid, ContratoDTO contratoDTO) {
         log.info("Actualizando contrato: {}", uuid);
         
         Contrato contrato = buscarPorUuid(uuid);
+        SectorRollupService.AporteContrato antes = SectorRollupService.AporteContrato.de(contrato);
         
         // Validar número único si cambió
         if (!contrato.getNumeroContrato().equals(contratoDTO.getCodigo()) &&
@@ -137,15 +201,22 @@ public class ContratoService {
                 .orElseThrow(() -> new RuntimeException("Plan de tarifa no encontrado")));
         }
         
-        return contratoRepository.save(contrato);
+        Contrato guardado = contratoRepository.save(contrato);
+        sectorRollupService.contratoActualizado(antes, guardado);
+        eventPublisher.publishEvent(DatosModificadosEvent.de("contrato", idSupervisor(guardado)));
+        return guardado;
     }
 
     public void cambiarEstado(UUID uuid, EstadoContrato nuevoEstado) {
         log.info("Cambiando estado del contrato {} a {}", uuid, nuevoEstado);
         
         Contrato contrato = buscarPorUuid(uuid);
+        SectorRollupService.AporteContrato antes = SectorRollupService.AporteContrato.de(contrato);
         contrato.setEstado(nuevoEstado);
         contratoRepository.save(contrato);
+        sectorRollupService.contratoActualizado(antes, contrato);
+        serieTemporalService.contratoCambioEstado(antes.estado(), nuevoEstado);
+        eventPublisher.publishEvent(DatosModificadosEvent.de("contrato", idSupervisor(contrato)));
     }
 
     public void eliminar(UUID uuid) {
@@ -157,7 +228,12 @@ public class ContratoService {
             throw new RuntimeException("No se puede eliminar el contrato porque tiene asignaciones activas");
         }
         
+        SectorRollupService.AporteContrato antes = SectorRollupService.AporteContrato.de(contrato);
+        Long supervisorId = idSupervisor(contrato);
         contratoRepository.delete(contrato);
+        sectorRollupService.contratoEliminado(antes);
+        serieTemporalService.contratoEliminado(antes.estado());
+        eventPublisher.publishEvent(DatosModificadosEvent.de("contrato", supervisorId));
     }
 
     // ==================== ASIGNACIÓN DE USUARIOS ====================
@@ -173,8 +249,11 @@ public class ContratoService {
             throw new RuntimeException("El usuario no tiene perfil de supervisor");
         }
         
+        Long supervisorAnteriorId = idSupervisor(contrato);
         contrato.setSupervisor(supervisor);
-        return contratoRepository.save(contrato);
+        Contrato guardado = contratoRepository.save(contrato);
+        eventPublisher.publishEvent(DatosModificadosEvent.de("contrato", supervisorAnteriorId, supervisor.getId()));
+        return guardado;
     }
 
     public Usuario agregarCoordinador(UUID contratoUuid, UUID coordinadorUuid) {
@@ -336,12 +415,20 @@ public class ContratoService {
                 .contrato(contratoPredio.getContrato())
                 .build());
         
+        Long operarioAnteriorId = predioOperario.getOperario() != null ? predioOperario.getOperario().getId() : null;
         predioOperario.setOperario(operario);
         predioOperario.setActivo(true);
         predioOperarioRepository.save(predioOperario);
         
+        EstadoPredio estadoAnterior = contratoPredio.getEstado();
+        LocalDate fechaEstadoAnterior = contratoPredio.getFechaActualizacion() != null
+            ? contratoPredio.getFechaActualizacion().toLocalDate() : null;
         contratoPredio.setEstado(EstadoPredio.ASIGNADO);
-        return contratoPredioRepository.save(contratoPredio);
+        ContratoPredio guardado = contratoPredioRepository.save(contratoPredio);
+        serieTemporalService.estadoPredioCambiado(guardado.getContrato().getId(), estadoAnterior,
+            EstadoPredio.ASIGNADO, fechaEstadoAnterior);
+        eventPublisher.publishEvent(DatosModificadosEvent.de("asignacion", operarioAnteriorId, operario.getId()));
+        return guardado;
     }
     public int asignarOperariosMasivo(UUID contratoUuid, List<AsignacionPredioOperario> asignaciones) {
         log.info("Realizando asignación masiva de {} operarios en contrato {}", 
@@ -1,36 +1,99 @@
 package co.empresa.gestioncontratos.service;
 
 
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import co.empresa.gestioncontratos.entity.Usuario;
+import co.empresa.gestioncontratos.dto.UsuarioPrincipal;
 import co.empresa.gestioncontratos.repository.UsuarioRepository;
 
+import java.time.Duration;
+
 @Service
-@RequiredArgsConstructor
 @Slf4j
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UsuarioRepository usuarioRepository;
 
+    // Principales por username; acotado en tamaño y con expiración como red de seguridad
+    private final Cache<String, UsuarioPrincipal> principales;
+
+    public CustomUserDetailsService(UsuarioRepository usuarioRepository,
+                                    @Value("${app.security.principal-cache.max-size:1000}") long maxSize,
+                                    @Value("${app.security.principal-cache.ttl:PT10M}") Duration ttl) {
+        this.usuarioRepository = usuarioRepository;
+        this.principales = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .build();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         log.debug("Buscando usuario: {}", username);
-        
-        Usuario usuario = usuarioRepository.findByUsernameAndActivoTrue(username)
+
+        UsuarioPrincipal principal = principales.getIfPresent(username);
+        if (principal != null) {
+            return principal;
+        }
+
+        principal = usuarioRepository.findByUsernameAndActivoTrue(username)
+            .map(UsuarioPrincipal::de)
             .orElseThrow(() -> {
                 log.warn("Usuario no encontrado: {}", username);
                 return new UsernameNotFoundException("Usuario no encontrado: " + username);
             });
-        
-        log.debug("Usuario encontrado: {} con perfil: {}", usuario.getUsername(), username);
-        return usuario;
+
+        principales.put(username, principal);
+        log.debug("Usuario encontrado: {} con perfil: {}", principal.getUsername(), principal.getPerfil());
+        return principal;
+    }
+
+    // Llamado por DaoAuthenticationProvider tras un login exitoso con un hash de otro costo
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        log.info("Actualizando hash de contraseña al costo configurado: {}", user.getUsername());
+        usuarioRepository.actualizarPassword(user.getUsername(), newPassword);
+        invalidar(user.getUsername());
+
+        if (user instanceof UsuarioPrincipal principal) {
+            return principal.toBuilder().password(newPassword).build();
+        }
+        return user;
+    }
+
+    // Invalida ahora y de nuevo al confirmar la transacción, para no dejar en caché
+    // una versión leída entre el cambio y el commit
+    public void invalidar(String... usernames) {
+        for (String username : usernames) {
+            if (username != null) {
+                principales.invalidate(username);
+            }
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    for (String username : usernames) {
+                        if (username != null) {
+                            principales.invalidate(username);
+                        }
+                    }
+                }
+            });
+        }
     }
-}
\ No newline at end of file
+}
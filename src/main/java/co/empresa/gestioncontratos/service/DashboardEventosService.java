@@ -0,0 +1,219 @@
+package co.empresa.gestioncontratos.service;
+
+import co.empresa.gestioncontratos.dto.UsuarioPrincipal;
+import co.empresa.gestioncontratos.enums.PerfilUsuario;
+import co.empresa.gestioncontratos.event.DatosModificadosEvent;
+import co.empresa.gestioncontratos.event.EstadisticasActualizadasEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Envío de contadores del dashboard por Server-Sent Events. Las conexiones son asíncronas
+// (SseEmitter), así que no ocupan un hilo del servidor. Cada suscriptor tiene su cola de eventos
+// pendientes, acotada, que vacía un pool pequeño de hilos: un cliente lento ocupa a lo sumo un
+// hilo y no retrasa a los demás. Si su cola se llena se le cierra la conexión; el navegador
+// reconecta y recibe los contadores completos.
+// Cada suscriptor recibe sus contadores completos al conectarse ("contadores"), los globales
+// de su perfil que cambian con cada nueva instantánea ("cambios": valor y delta) y de nuevo
+// sus contadores propios cuando una escritura afecta a su usuario.
+@Service
+@Slf4j
+public class DashboardEventosService {
+
+    private final DashboardService dashboardService;
+    private final long timeoutMs;
+    private final int maxPendientes;
+
+    private final Map<PerfilUsuario, Set<Suscriptor>> suscriptores = new EnumMap<>(PerfilUsuario.class);
+
+    private final ExecutorService difusor;
+
+    // Evento pendiente; el builder de SseEmitter no se puede reutilizar entre emisores
+    private record Mensaje(String nombre, Object datos) {
+    }
+
+    public DashboardEventosService(DashboardService dashboardService,
+                                   @Value("${app.dashboard.sse.timeout:PT30M}") Duration timeout,
+                                   @Value("${app.dashboard.sse.hilos:4}") int hilos,
+                                   @Value("${app.dashboard.sse.max-pendientes:32}") int maxPendientes) {
+        this.dashboardService = dashboardService;
+        this.timeoutMs = timeout.toMillis();
+        this.maxPendientes = maxPendientes;
+        for (PerfilUsuario perfil : PerfilUsuario.values()) {
+            suscriptores.put(perfil, ConcurrentHashMap.newKeySet());
+        }
+        AtomicInteger numero = new AtomicInteger();
+        this.difusor = Executors.newFixedThreadPool(Math.max(1, hilos), r -> {
+            Thread hilo = new Thread(r, "dashboard-sse-" + numero.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    // ==================== SUSCRIPCIÓN ====================
+
+    public SseEmitter suscribir(PerfilUsuario perfil, UsuarioPrincipal usuario) {
+        // Al expirar el emisor el navegador reconecta solo (EventSource)
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Set<Suscriptor> canal = suscriptores.get(perfil);
+        Suscriptor suscriptor = new Suscriptor(usuario.getId(), emitter, canal);
+        canal.add(suscriptor);
+
+        emitter.onCompletion(() -> canal.remove(suscriptor));
+        emitter.onTimeout(() -> canal.remove(suscriptor));
+        emitter.onError(e -> canal.remove(suscriptor));
+
+        suscriptor.encolar(new Mensaje("contadores", dashboardService.getStats(perfil, usuario.getId())));
+        log.debug("Suscripción SSE de {} al dashboard de {} ({} conectados)", usuario.getUsername(), perfil, canal.size());
+        return emitter;
+    }
+
+    // ==================== DIFUSIÓN ====================
+
+    @EventListener
+    public void alActualizarEstadisticas(EstadisticasActualizadasEvent evento) {
+        difusor.execute(() -> {
+            for (PerfilUsuario perfil : PerfilUsuario.values()) {
+                Set<Suscriptor> canal = suscriptores.get(perfil);
+                if (canal.isEmpty()) {
+                    continue;
+                }
+                Map<String, Object> cambios = diferencias(
+                    dashboardService.contadoresGlobales(perfil, evento.anterior()),
+                    dashboardService.contadoresGlobales(perfil, evento.nueva()));
+                if (!cambios.isEmpty()) {
+                    Mensaje mensaje = new Mensaje("cambios", cambios);
+                    canal.forEach(s -> s.encolar(mensaje));
+                }
+            }
+        });
+    }
+
+    // Después de que DashboardSnapshotService invalide la caché de contadores por usuario
+    @Order(1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alModificarDatos(DatosModificadosEvent evento) {
+        if (evento.usuarios().isEmpty()) {
+            return;
+        }
+        // Un usuario con varias pestañas abiertas: sus contadores se calculan una vez por evento
+        difusor.execute(() -> suscriptores.forEach((perfil, canal) -> {
+            Map<Long, Mensaje> porUsuario = new HashMap<>();
+            canal.stream()
+                .filter(s -> evento.usuarios().contains(s.usuarioId))
+                .forEach(s -> s.encolar(porUsuario.computeIfAbsent(s.usuarioId,
+                    id -> new Mensaje("contadores", dashboardService.contadoresPropios(perfil, id)))));
+        }));
+    }
+
+    // Comentario periódico: mantiene abiertas las conexiones tras proxies y descarta las caídas
+    @Scheduled(fixedDelayString = "${app.dashboard.sse.heartbeat-ms:25000}")
+    public void latido() {
+        Mensaje latido = new Mensaje(null, "latido");
+        suscriptores.values().forEach(canal -> canal.forEach(s -> s.encolar(latido)));
+    }
+
+    private static Map<String, Object> diferencias(Map<String, Object> antes, Map<String, Object> despues) {
+        Map<String, Object> cambios = new HashMap<>();
+        despues.forEach((clave, valor) -> {
+            Object previo = antes.get(clave);
+            if (!Objects.equals(previo, valor)) {
+                long delta = valor instanceof Number n && previo instanceof Number p ? n.longValue() - p.longValue() : 0L;
+                cambios.put(clave, Map.of("valor", valor, "delta", delta));
+            }
+        });
+        return cambios;
+    }
+
+    @PreDestroy
+    public void detener() {
+        difusor.shutdownNow();
+        suscriptores.values().forEach(canal -> {
+            canal.forEach(s -> s.emitter.complete());
+            canal.clear();
+        });
+    }
+
+    // Los envíos a un mismo suscriptor son en orden y de a uno: solo hay una tarea de vaciado
+    // en el pool por suscriptor
+    private final class Suscriptor {
+        private final Long usuarioId;
+        private final SseEmitter emitter;
+        private final Set<Suscriptor> canal;
+        private final ArrayDeque<Mensaje> pendientes = new ArrayDeque<>();
+        private boolean enviando;
+
+        private Suscriptor(Long usuarioId, SseEmitter emitter, Set<Suscriptor> canal) {
+            this.usuarioId = usuarioId;
+            this.emitter = emitter;
+            this.canal = canal;
+        }
+
+        void encolar(Mensaje mensaje) {
+            synchronized (this) {
+                if (pendientes.size() >= maxPendientes) {
+                    log.debug("Suscriptor SSE {} no da abasto ({} pendientes), se cierra", usuarioId, pendientes.size());
+                    pendientes.clear();
+                    cerrar(null);
+                    return;
+                }
+                pendientes.add(mensaje);
+                if (enviando) {
+                    return;
+                }
+                enviando = true;
+            }
+            try {
+                difusor.execute(this::vaciar);
+            } catch (RejectedExecutionException e) {
+                // Aplicación deteniéndose
+                synchronized (this) {
+                    enviando = false;
+                }
+            }
+        }
+
+        private void vaciar() {
+            while (true) {
+                Mensaje mensaje;
+                synchronized (this) {
+                    mensaje = pendientes.poll();
+                    if (mensaje == null) {
+                        enviando = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(mensaje.nombre() == null
+                        ? SseEmitter.event().comment(String.valueOf(mensaje.datos()))
+                        : SseEmitter.event().name(mensaje.nombre()).data(mensaje.datos()));
+                } catch (IOException | IllegalStateException e) {
+                    // Cliente desconectado: se cierra el emisor y se saca del canal
+                    cerrar(e);
+                    return;
+                }
+            }
+        }
+
+        private void cerrar(Exception causa) {
+            canal.remove(this);
+            if (causa != null) {
+                emitter.completeWithError(causa);
+            } else {
+                emitter.complete();
+            }
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package co.empresa.gestioncontratos.service;
 
-import co.empresa.gestioncontratos.enums.EstadoActividad;
 import co.empresa.gestioncontratos.enums.EstadoContrato;
 import co.empresa.gestioncontratos.enums.PerfilUsuario;
 import co.empresa.gestioncontratos.repository.*;
@@ -16,77 +15,86 @@ import java.util.Map;
 @Slf4j
 public class DashboardService {
 
-    private final UsuarioRepository usuarioRepository;
     private final ContratoRepository contratoRepository;
     private final PredioRepository predioRepository;
-    private final ActividadRepository actividadRepository;
+    private final ActividadRollupService actividadRollupService;
+    private final DashboardSnapshotService snapshotService;
+
+    // Los contadores globales salen de la instantánea en memoria; solo los propios
+    // del usuario se consultan, y quedan en caché por id
 
     public Map<String, Object> getAdminStats() {
-        try {
-            Map<String, Object> stats = new HashMap<>();
-            stats.put("totalUsuarios", usuarioRepository.countByActivoTrue());
-            stats.put("totalContratos", contratoRepository.count());
-            stats.put("contratosActivos", contratoRepository.countByEstado(EstadoContrato.ACTIVO));
-            stats.put("totalPredios", predioRepository.countByActivoTrue());
-            stats.put("actividadesPendientes", actividadRepository.countByEstado(EstadoActividad.PENDIENTE));
-            
-            log.info("Estadísticas de admin generadas: {}", stats);
-            return stats;
-        } catch (Exception e) {
-            log.error("Error generando estadísticas de admin: ", e);
-            return getDefaultStats();
-        }
+        return getStats(PerfilUsuario.ADMINISTRADOR, null);
     }
 
     public Map<String, Object> getSupervisorStats(Long supervisorId) {
-        try {
-            Map<String, Object> stats = new HashMap<>();
-            stats.put("contratosAsignados", contratoRepository.countBySupervisorId(supervisorId));
-            stats.put("contratosActivos", contratoRepository.countBySupervisorIdAndEstado(supervisorId, EstadoContrato.ACTIVO));
-            stats.put("totalCoordinadores", usuarioRepository.countByPerfilAndActivoTrue(PerfilUsuario.COORDINADOR));
-            stats.put("actividadesPendientes", actividadRepository.countByEstado(EstadoActividad.PENDIENTE));
-            
-            log.info("Estadísticas de supervisor {} generadas: {}", supervisorId, stats);
-            return stats;
-        } catch (Exception e) {
-            log.error("Error generando estadísticas de supervisor {}: ", supervisorId, e);
-            return getDefaultStats();
-        }
+        return getStats(PerfilUsuario.SUPERVISOR, supervisorId);
     }
 
     public Map<String, Object> getCoordinadorStats(Long coordinadorId) {
-        try {
-            Map<String, Object> stats = new HashMap<>();
-            // Por ahora estadísticas básicas
-            stats.put("prediosAsignados", 0L);
-            stats.put("operariosAsignados", usuarioRepository.countByPerfilAndActivoTrue(PerfilUsuario.OPERARIO));
-            stats.put("actividadesPendientes", actividadRepository.countByEstado(EstadoActividad.PENDIENTE));
-            stats.put("totalActividades", actividadRepository.count());
-            
-            log.info("Estadísticas de coordinador {} generadas: {}", coordinadorId, stats);
-            return stats;
-        } catch (Exception e) {
-            log.error("Error generando estadísticas de coordinador {}: ", coordinadorId, e);
-            return getDefaultStats();
-        }
+        return getStats(PerfilUsuario.COORDINADOR, coordinadorId);
     }
 
     public Map<String, Object> getOperarioStats(Long operarioId) {
+        return getStats(PerfilUsuario.OPERARIO, operarioId);
+    }
+
+    public Map<String, Object> getStats(PerfilUsuario perfil, Long usuarioId) {
         try {
-            Map<String, Object> stats = new HashMap<>();
-            stats.put("prediosAsignados", predioRepository.countPrediosByOperarioId(operarioId));
-            stats.put("actividadesHoy", actividadRepository.countActividadesHoyByOperario(operarioId));
-            stats.put("actividadesMes", actividadRepository.countActividadesMesByOperario(operarioId));
-            stats.put("totalActividades", actividadRepository.countByOperarioId(operarioId));
+            Map<String, Object> stats = new HashMap<>(contadoresPropios(perfil, usuarioId));
+            stats.putAll(contadoresGlobales(perfil, snapshotService.obtener()));
             
-            log.info("Estadísticas de operario {} generadas: {}", operarioId, stats);
+            log.info("Estadísticas de {} {} generadas: {}", perfil, usuarioId, stats);
             return stats;
         } catch (Exception e) {
-            log.error("Error generando estadísticas de operario {}: ", operarioId, e);
+            log.error("Error generando estadísticas de {} {}: ", perfil, usuarioId, e);
             return getDefaultStats();
         }
     }
 
+    // Contadores comunes a todos los usuarios de un perfil
+    public Map<String, Object> contadoresGlobales(PerfilUsuario perfil, DashboardSnapshotService.Instantanea global) {
+        Map<String, Object> stats = new HashMap<>();
+        switch (perfil) {
+            case ADMINISTRADOR -> {
+                stats.put("totalUsuarios", global.totalUsuarios());
+                stats.put("totalContratos", global.totalContratos());
+                stats.put("contratosActivos", global.contratosActivos());
+                stats.put("totalPredios", global.totalPredios());
+                stats.put("actividadesPendientes", global.actividadesPendientes());
+            }
+            case SUPERVISOR -> {
+                stats.put("totalCoordinadores", global.totalCoordinadores());
+                stats.put("actividadesPendientes", global.actividadesPendientes());
+            }
+            case COORDINADOR -> {
+                // Por ahora estadísticas básicas
+                stats.put("operariosAsignados", global.totalOperarios());
+                stats.put("actividadesPendientes", global.actividadesPendientes());
+                stats.put("totalActividades", global.totalActividades());
+            }
+            case OPERARIO -> {
+            }
+        }
+        return stats;
+    }
+
+    // Contadores que dependen del usuario (en caché por id)
+    public Map<String, Object> contadoresPropios(PerfilUsuario perfil, Long usuarioId) {
+        return switch (perfil) {
+            case SUPERVISOR -> snapshotService.contadoresUsuario(usuarioId, id -> Map.of(
+                "contratosAsignados", () -> contratoRepository.countBySupervisorId(id),
+                "contratosActivos", () -> contratoRepository.countBySupervisorIdAndEstado(id, EstadoContrato.ACTIVO)));
+            case COORDINADOR -> Map.of("prediosAsignados", 0L);
+            case OPERARIO -> snapshotService.contadoresUsuario(usuarioId, id -> Map.of(
+                "prediosAsignados", () -> predioRepository.countPrediosByOperarioId(id),
+                "actividadesHoy", () -> actividadRollupService.contarHoy(id),
+                "actividadesMes", () -> actividadRollupService.contarMes(id),
+                "totalActividades", () -> actividadRollupService.contarTotal(id)));
+            case ADMINISTRADOR -> Map.of();
+        };
+    }
+
     private Map<String, Object> getDefaultStats() {
         Map<String, Object> stats = new HashMap<>();
         stats.put("totalUsuarios", 0L);
@@ -0,0 +1,212 @@
+package co.empresa.gestioncontratos.service;
+
+import co.empresa.gestioncontratos.enums.EstadoActividad;
+import co.empresa.gestioncontratos.enums.EstadoContrato;
+import co.empresa.gestioncontratos.enums.PerfilUsuario;
+import co.empresa.gestioncontratos.event.DatosModificadosEvent;
+import co.empresa.gestioncontratos.event.EstadisticasActualizadasEvent;
+import co.empresa.gestioncontratos.repository.ActividadDiariaRepository;
+import co.empresa.gestioncontratos.repository.ContratoRepository;
+import co.empresa.gestioncontratos.repository.PredioRepository;
+import co.empresa.gestioncontratos.repository.UsuarioRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Estadísticas del dashboard servidas desde memoria. Los contadores globales se recalculan
+// en segundo plano (periódicamente y tras escrituras) y se publican como una instantánea
+// inmutable; los contadores propios de cada usuario se guardan en caché por id.
+// Si la instantánea supera la antigüedad máxima se recalcula en la misma petición.
+@Service
+@Slf4j
+public class DashboardSnapshotService {
+
+    private final UsuarioRepository usuarioRepository;
+    private final ContratoRepository contratoRepository;
+    private final PredioRepository predioRepository;
+    private final ActividadDiariaRepository actividadDiariaRepository;
+    private final EjecutorConsultasParalelas consultasParalelas;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration antiguedadMaxima;
+
+    private final Cache<Long, Map<String, Object>> porUsuario;
+
+    // Un solo hilo: los refrescos nunca se solapan y las solicitudes repetidas se agrupan
+    private final ExecutorService refrescador = Executors.newSingleThreadExecutor(r -> {
+        Thread hilo = new Thread(r, "dashboard-snapshot");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+    private final AtomicBoolean refrescoPendiente = new AtomicBoolean(false);
+
+    private volatile Instantanea instantanea;
+
+    public record Instantanea(long totalUsuarios,
+                              long totalCoordinadores,
+                              long totalOperarios,
+                              long totalContratos,
+                              long contratosActivos,
+                              long totalPredios,
+                              long actividadesPendientes,
+                              long totalActividades,
+                              Instant generada) {
+
+        boolean mismosContadores(Instantanea otra) {
+            return otra != null && equals(new Instantanea(otra.totalUsuarios, otra.totalCoordinadores,
+                otra.totalOperarios, otra.totalContratos, otra.contratosActivos, otra.totalPredios,
+                otra.actividadesPendientes, otra.totalActividades, generada));
+        }
+    }
+
+    public DashboardSnapshotService(UsuarioRepository usuarioRepository,
+                                    ContratoRepository contratoRepository,
+                                    PredioRepository predioRepository,
+                                    ActividadDiariaRepository actividadDiariaRepository,
+                                    EjecutorConsultasParalelas consultasParalelas,
+                                    ApplicationEventPublisher eventPublisher,
+                                    @Value("${app.dashboard.antiguedad-maxima:PT2M}") Duration antiguedadMaxima,
+                                    @Value("${app.dashboard.cache-usuario.max-size:5000}") long maxUsuarios,
+                                    @Value("${app.dashboard.cache-usuario.ttl:PT1M}") Duration ttlUsuario) {
+        this.usuarioRepository = usuarioRepository;
+        this.contratoRepository = contratoRepository;
+        this.predioRepository = predioRepository;
+        this.actividadDiariaRepository = actividadDiariaRepository;
+        this.consultasParalelas = consultasParalelas;
+        this.eventPublisher = eventPublisher;
+        this.antiguedadMaxima = antiguedadMaxima;
+        this.porUsuario = Caffeine.newBuilder()
+            .maximumSize(maxUsuarios)
+            .expireAfterWrite(ttlUsuario)
+            .build();
+    }
+
+    // ==================== CONSULTAS ====================
+
+    public Instantanea obtener() {
+        Instantanea actual = instantanea;
+        if (actual == null || actual.generada().plus(antiguedadMaxima).isBefore(Instant.now())) {
+            // Arranque o refresco atrasado: no se sirven datos fuera del límite de antigüedad
+            actual = recalcular();
+        }
+        return actual;
+    }
+
+    // Las consultas del usuario corren en paralelo; si alguna no responde se devuelve 0
+    // para ella y el resultado parcial no se guarda en caché
+    public Map<String, Object> contadoresUsuario(Long usuarioId, Function<Long, Map<String, Supplier<?>>> consultas) {
+        Map<String, Object> enCache = porUsuario.getIfPresent(usuarioId);
+        if (enCache != null) {
+            return enCache;
+        }
+        Map<String, Supplier<?>> porClave = consultas.apply(usuarioId);
+        EjecutorConsultasParalelas.Resultado resultado = consultasParalelas.ejecutar(porClave);
+        Map<String, Object> contadores = new HashMap<>();
+        porClave.keySet().forEach(clave -> contadores.put(clave, resultado.getLong(clave, 0L)));
+        if (resultado.completo()) {
+            porUsuario.put(usuarioId, Map.copyOf(contadores));
+        }
+        return contadores;
+    }
+
+    // ==================== REFRESCO ====================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        solicitarRefresco();
+    }
+
+    @Scheduled(fixedDelayString = "${app.dashboard.refresco-ms:30000}",
+               initialDelayString = "${app.dashboard.refresco-ms:30000}")
+    public void refrescoProgramado() {
+        solicitarRefresco();
+    }
+
+    // Tras confirmar la escritura (o de inmediato si no hay transacción); va antes que
+    // los demás oyentes para que lean contadores ya invalidados. Solo se invalidan los usuarios
+    // del evento: lo que cambia sin nombrar usuarios (p. ej. estado de un predio) se ve al vencer
+    // la entrada (app.dashboard.cache-usuario.ttl)
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alModificarDatos(DatosModificadosEvent evento) {
+        log.debug("Datos modificados ({}), refrescando estadísticas del dashboard", evento.entidad());
+        porUsuario.invalidateAll(evento.usuarios());
+        solicitarRefresco();
+    }
+
+    private void solicitarRefresco() {
+        if (refrescoPendiente.compareAndSet(false, true)) {
+            refrescador.execute(() -> {
+                refrescoPendiente.set(false);
+                try {
+                    recalcular();
+                } catch (Exception e) {
+                    log.warn("No se pudieron refrescar las estadísticas del dashboard: {}", e.getMessage());
+                }
+            });
+        }
+    }
+
+    // Los conteos son independientes y se lanzan en paralelo; el que no responda a tiempo
+    // conserva el valor de la instantánea anterior. Una instantánea parcial mantiene la fecha de
+    // la anterior (la de su dato más viejo): obtener() la sigue viendo vencida cuando corresponde
+    private synchronized Instantanea recalcular() {
+        Map<String, Supplier<?>> consultas = new LinkedHashMap<>();
+        consultas.put("totalUsuarios", usuarioRepository::countByActivoTrue);
+        consultas.put("totalCoordinadores", () -> usuarioRepository.countByPerfilAndActivoTrue(PerfilUsuario.COORDINADOR));
+        consultas.put("totalOperarios", () -> usuarioRepository.countByPerfilAndActivoTrue(PerfilUsuario.OPERARIO));
+        consultas.put("totalContratos", contratoRepository::count);
+        consultas.put("contratosActivos", () -> contratoRepository.countByEstado(EstadoContrato.ACTIVO));
+        consultas.put("totalPredios", predioRepository::countByActivoTrue);
+        // Actividades desde el acumulado diario: no recorre las particiones de actividades
+        consultas.put("actividadesPendientes", () -> actividadDiariaRepository.sumarEnEstado(EstadoActividad.PENDIENTE));
+        consultas.put("totalActividades", actividadDiariaRepository::sumarTodas);
+
+        EjecutorConsultasParalelas.Resultado r = consultasParalelas.ejecutar(consultas);
+        Instantanea anterior = instantanea;
+        if (anterior == null && r.valores().isEmpty()) {
+            throw new IllegalStateException("Ninguna consulta del dashboard respondió");
+        }
+
+        Instantanea nueva = new Instantanea(
+            r.getLong("totalUsuarios", anterior != null ? anterior.totalUsuarios() : 0L),
+            r.getLong("totalCoordinadores", anterior != null ? anterior.totalCoordinadores() : 0L),
+            r.getLong("totalOperarios", anterior != null ? anterior.totalOperarios() : 0L),
+            r.getLong("totalContratos", anterior != null ? anterior.totalContratos() : 0L),
+            r.getLong("contratosActivos", anterior != null ? anterior.contratosActivos() : 0L),
+            r.getLong("totalPredios", anterior != null ? anterior.totalPredios() : 0L),
+            r.getLong("actividadesPendientes", anterior != null ? anterior.actividadesPendientes() : 0L),
+            r.getLong("totalActividades", anterior != null ? anterior.totalActividades() : 0L),
+            r.completo() ? Instant.now() : anterior != null ? anterior.generada() : Instant.EPOCH);
+        instantanea = nueva;
+        log.debug("Instantánea del dashboard actualizada: {}", nueva);
+        if (anterior != null && !nueva.mismosContadores(anterior)) {
+            eventPublisher.publishEvent(new EstadisticasActualizadasEvent(anterior, nueva));
+        }
+        return nueva;
+    }
+
+    @PreDestroy
+    public void detener() {
+        refrescador.shutdownNow();
+    }
+}
@@ -0,0 +1,115 @@
+package co.empresa.gestioncontratos.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Ejecuta consultas de solo lectura independientes en paralelo y las espera con un límite de
+// tiempo común. Usa hilos virtuales si el runtime los ofrece (Java 21+) y si no un pool fijo;
+// en ambos casos la concurrencia queda acotada para no agotar el pool de conexiones.
+// Cada consulta abre su propia transacción de repositorio: no deben depender unas de otras.
+@Service
+@Slf4j
+public class EjecutorConsultasParalelas {
+
+    private final ExecutorService executor;
+    private final Semaphore permisos;
+    private final Duration timeout;
+
+    // Valores obtenidos; "completo" es falso si alguna consulta falló o no terminó a tiempo
+    public record Resultado(Map<String, Object> valores, boolean completo) {
+
+        public long getLong(String clave, long porDefecto) {
+            Object valor = valores.get(clave);
+            return valor instanceof Number numero ? numero.longValue() : porDefecto;
+        }
+    }
+
+    public EjecutorConsultasParalelas(@Value("${app.consultas-paralelas.max-concurrencia:4}") int maxConcurrencia,
+                                      @Value("${app.consultas-paralelas.timeout:PT2S}") Duration timeout) {
+        this.permisos = new Semaphore(maxConcurrencia);
+        this.timeout = timeout;
+        this.executor = crearExecutor(maxConcurrencia);
+    }
+
+    public Resultado ejecutar(Map<String, Supplier<?>> consultas) {
+        Map<String, Future<?>> pendientes = new LinkedHashMap<>();
+        consultas.forEach((clave, consulta) -> pendientes.put(clave, enviar(consulta)));
+
+        long limite = System.nanoTime() + timeout.toNanos();
+        Map<String, Object> valores = new LinkedHashMap<>();
+        boolean completo = true;
+
+        for (Map.Entry<String, Future<?>> entrada : pendientes.entrySet()) {
+            try {
+                long restante = Math.max(0, limite - System.nanoTime());
+                valores.put(entrada.getKey(), entrada.getValue().get(restante, TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                entrada.getValue().cancel(true);
+                log.warn("Consulta '{}' sin respuesta en {}", entrada.getKey(), timeout);
+                completo = false;
+            } catch (ExecutionException e) {
+                log.warn("Consulta '{}' falló: {}", entrada.getKey(), e.getCause().getMessage());
+                completo = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                pendientes.values().forEach(f -> f.cancel(true));
+                completo = false;
+                break;
+            }
+        }
+        return new Resultado(Collections.unmodifiableMap(valores), completo);
+    }
+
+    private Future<?> enviar(Supplier<?> consulta) {
+        try {
+            return executor.submit(() -> {
+                permisos.acquire();
+                try {
+                    return consulta.get();
+                } finally {
+                    permisos.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Pool saturado: se ejecuta en el hilo de la petición en vez de fallar
+            FutureTask<Object> enLinea = new FutureTask<>(consulta::get);
+            enLinea.run();
+            return enLinea;
+        }
+    }
+
+    private static ExecutorService crearExecutor(int maxConcurrencia) {
+        try {
+            ExecutorService virtuales = (ExecutorService) Executors.class
+                .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            log.info("Consultas paralelas con hilos virtuales (máximo {} simultáneas)", maxConcurrencia);
+            return virtuales;
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger contador = new AtomicInteger();
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(maxConcurrencia, maxConcurrencia,
+                30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(maxConcurrencia * 16), r -> {
+                    Thread hilo = new Thread(r, "consultas-paralelas-" + contador.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                }, new ThreadPoolExecutor.AbortPolicy());
+            pool.allowCoreThreadTimeOut(true);
+            log.info("Consultas paralelas con pool de {} hilos", maxConcurrencia);
+            return pool;
+        }
+    }
+
+    @PreDestroy
+    public void detener() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,180 @@
+package co.empresa.gestioncontratos.service;
+
+import co.empresa.gestioncontratos.entity.Usuario;
+import co.empresa.gestioncontratos.repository.UsuarioRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+// Índice en memoria de usernames y emails de usuarios activos (sin distinguir mayúsculas)
+// para validar unicidad sin consultar la base de datos. Se carga al iniciar, se mantiene
+// con las escrituras de UsuarioService y se recarga periódicamente para recoger cambios
+// hechos por otros nodos. Mientras no está cargado las consultas devuelven vacío y el
+// llamador usa la base de datos.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IndiceUnicidadUsuarios {
+
+    private final UsuarioRepository usuarioRepository;
+
+    private volatile Indice indice;
+
+    // Cambios confirmados mientras se arma un índice nuevo: se vuelven a aplicar sobre él antes de
+    // publicarlo, porque la consulta de la recarga pudo leer antes de esos commits. null fuera de
+    // una recarga. Aplicar un cambio que la consulta ya incluía no altera el resultado
+    private final Object cerrojo = new Object();
+    private List<Consumer<Indice>> pendientes;
+
+    private record Entrada(UUID uuid, String username, String email, boolean activo) {
+    }
+
+    private static class Indice {
+        final Map<String, Long> usernames = new ConcurrentHashMap<>();
+        final Map<String, Long> emails = new ConcurrentHashMap<>();
+        final Map<UUID, Long> idPorUuid = new ConcurrentHashMap<>();
+        final Map<Long, Entrada> porId = new ConcurrentHashMap<>();
+
+        void registrar(Long id, Entrada entrada) {
+            Entrada anterior = porId.put(id, entrada);
+            if (anterior != null) {
+                usernames.remove(clave(anterior.username()), id);
+                emails.remove(clave(anterior.email()), id);
+            }
+            idPorUuid.put(entrada.uuid(), id);
+            if (entrada.activo()) {
+                usernames.put(clave(entrada.username()), id);
+                emails.put(clave(entrada.email()), id);
+            }
+        }
+
+        void eliminar(Long id) {
+            Entrada anterior = porId.remove(id);
+            if (anterior != null) {
+                usernames.remove(clave(anterior.username()), id);
+                emails.remove(clave(anterior.email()), id);
+                idPorUuid.remove(anterior.uuid(), id);
+            }
+        }
+    }
+
+    // ==================== CONSULTAS ====================
+
+    public Optional<Boolean> existeUsername(String username, UUID uuidExcluir) {
+        Indice actual = indice;
+        return actual == null ? Optional.empty()
+            : existe(actual.usernames, username, uuidExcluir != null ? actual.idPorUuid.get(uuidExcluir) : null);
+    }
+
+    public Optional<Boolean> existeEmail(String email, UUID uuidExcluir) {
+        Indice actual = indice;
+        return actual == null ? Optional.empty()
+            : existe(actual.emails, email, uuidExcluir != null ? actual.idPorUuid.get(uuidExcluir) : null);
+    }
+
+    public Optional<Boolean> existeUsername(String username, Long idExcluir) {
+        Indice actual = indice;
+        return actual == null ? Optional.empty() : existe(actual.usernames, username, idExcluir);
+    }
+
+    public Optional<Boolean> existeEmail(String email, Long idExcluir) {
+        Indice actual = indice;
+        return actual == null ? Optional.empty() : existe(actual.emails, email, idExcluir);
+    }
+
+    private static Optional<Boolean> existe(Map<String, Long> mapa, String valor, Long idExcluir) {
+        if (valor == null) {
+            return Optional.empty();
+        }
+        Long id = mapa.get(clave(valor));
+        return Optional.of(id != null && !id.equals(idExcluir));
+    }
+
+    // ==================== MANTENIMIENTO ====================
+
+    // Se aplica al confirmar la transacción: un rollback no deja entradas fantasma
+    public void registrarAlConfirmar(Usuario usuario) {
+        Long id = usuario.getId();
+        Entrada entrada = new Entrada(usuario.getUuid(), usuario.getUsername(), usuario.getEmail(),
+            Boolean.TRUE.equals(usuario.getActivo()));
+        alConfirmar(() -> aplicar(actual -> actual.registrar(id, entrada)));
+    }
+
+    public void eliminarAlConfirmar(Long id) {
+        alConfirmar(() -> aplicar(actual -> actual.eliminar(id)));
+    }
+
+    private void aplicar(Consumer<Indice> cambio) {
+        synchronized (cerrojo) {
+            Indice actual = indice;
+            if (actual != null) {
+                cambio.accept(actual);
+            }
+            if (pendientes != null) {
+                pendientes.add(cambio);
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargarAlIniciar() {
+        recargar();
+    }
+
+    @Scheduled(fixedDelayString = "${app.usuarios.indice.recarga-ms:300000}",
+               initialDelayString = "${app.usuarios.indice.recarga-ms:300000}")
+    public synchronized void recargar() {
+        synchronized (cerrojo) {
+            pendientes = new ArrayList<>();
+        }
+        try {
+            Indice nuevo = new Indice();
+            for (Object[] fila : usuarioRepository.findEntradasIndice()) {
+                nuevo.registrar((Long) fila[0],
+                    new Entrada((UUID) fila[1], (String) fila[2], (String) fila[3], Boolean.TRUE.equals(fila[4])));
+            }
+            synchronized (cerrojo) {
+                pendientes.forEach(cambio -> cambio.accept(nuevo));
+                indice = nuevo;
+            }
+            log.debug("Índice de unicidad de usuarios cargado: {} usuarios", nuevo.porId.size());
+        } catch (Exception e) {
+            log.warn("No se pudo cargar el índice de unicidad de usuarios: {}", e.getMessage());
+        } finally {
+            synchronized (cerrojo) {
+                pendientes = null;
+            }
+        }
+    }
+
+    private static void alConfirmar(Runnable accion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accion.run();
+                }
+            });
+        } else {
+            accion.run();
+        }
+    }
+
+    private static String clave(String valor) {
+        return valor == null ? "" : valor.trim().toLowerCase(Locale.ROOT);
+    }
+}
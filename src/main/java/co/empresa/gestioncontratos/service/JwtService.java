@@ -0,0 +1,139 @@
+package co.empresa.gestioncontratos.service;
+
+import co.empresa.gestioncontratos.dto.UsuarioPrincipal;
+import co.empresa.gestioncontratos.enums.PerfilUsuario;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+
+// Emisión y verificación de tokens para clientes de /api/**, sin consultar la base de datos.
+// Los tokens de un usuario desactivado o eliminado se revocan en memoria (ver revocar): en
+// varias instancias cada una solo conoce las revocaciones hechas en ella
+@Service
+@Slf4j
+public class JwtService {
+
+    private final SecretKey clave;
+    private final JwtParser parser;
+    private final long expiracionMs;
+
+    // Tokens ya verificados: evita repetir la verificación de la firma en cada petición
+    private final Cache<String, TokenVerificado> verificados;
+
+    // Por usuario, instante hasta el que sus tokens quedan revocados. Basta con recordarlo lo que
+    // dura un token: pasado ese tiempo ya expiraron todos los emitidos antes
+    private final Cache<Long, Instant> revocados;
+
+    private record TokenVerificado(UsuarioPrincipal principal, Instant emitidoEn, Instant expiraEn) {
+    }
+
+    public JwtService(@Value("${jwt.secret}") String secreto,
+                      @Value("${jwt.expiration}") long expiracionMs,
+                      @Value("${jwt.cache.max-size:10000}") long maxCache,
+                      @Value("${jwt.cache.ttl:PT5M}") Duration ttlCache) {
+        // La clave y el parser se construyen una sola vez; se deriva con SHA-256
+        // para que cualquier secreto configurado tenga los 256 bits que exige HS256
+        this.clave = Keys.hmacShaKeyFor(sha256(secreto));
+        this.parser = Jwts.parser().verifyWith(clave).build();
+        this.expiracionMs = expiracionMs;
+        this.verificados = Caffeine.newBuilder()
+            .maximumSize(maxCache)
+            .expireAfterWrite(ttlCache)
+            .build();
+        this.revocados = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMillis(expiracionMs))
+            .build();
+    }
+
+    public String generarToken(UsuarioPrincipal usuario) {
+        Date ahora = new Date();
+        return Jwts.builder()
+            .subject(usuario.getUsername())
+            .claim("id", usuario.getId())
+            .claim("uuid", usuario.getUuid().toString())
+            .claim("perfil", usuario.getPerfil().name())
+            .claim("nombre", usuario.getNombre())
+            .claim("apellido", usuario.getApellido())
+            .issuedAt(ahora)
+            .expiration(new Date(ahora.getTime() + expiracionMs))
+            .signWith(clave)
+            .compact();
+    }
+
+    public long getExpiracionMs() {
+        return expiracionMs;
+    }
+
+    // Invalida los tokens ya emitidos al usuario. iat tiene precisión de segundos, así que se
+    // revoca todo lo emitido hasta el segundo en curso inclusive
+    public void revocar(Long usuarioId) {
+        revocados.put(usuarioId, Instant.now().truncatedTo(ChronoUnit.SECONDS));
+        log.info("Tokens revocados para el usuario {}", usuarioId);
+    }
+
+    public Optional<UsuarioPrincipal> verificar(String token) {
+        TokenVerificado cacheado = verificados.getIfPresent(token);
+        if (cacheado != null) {
+            if (cacheado.expiraEn().isAfter(Instant.now()) && !revocado(cacheado)) {
+                return Optional.of(cacheado.principal());
+            }
+            verificados.invalidate(token);
+            return Optional.empty();
+        }
+
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            UsuarioPrincipal principal = UsuarioPrincipal.builder()
+                .id(claims.get("id", Number.class).longValue())
+                .uuid(UUID.fromString(claims.get("uuid", String.class)))
+                .username(claims.getSubject())
+                .nombre(claims.get("nombre", String.class))
+                .apellido(claims.get("apellido", String.class))
+                .perfil(PerfilUsuario.valueOf(claims.get("perfil", String.class)))
+                .activo(true)
+                .build();
+            TokenVerificado verificado = new TokenVerificado(principal,
+                claims.getIssuedAt().toInstant(), claims.getExpiration().toInstant());
+            if (revocado(verificado)) {
+                log.debug("Token revocado del usuario {}", principal.getId());
+                return Optional.empty();
+            }
+            verificados.put(token, verificado);
+            return Optional.of(principal);
+        } catch (JwtException | IllegalArgumentException | NullPointerException e) {
+            log.debug("Token inválido: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private boolean revocado(TokenVerificado token) {
+        Instant revocadoHasta = revocados.getIfPresent(token.principal().getId());
+        return revocadoHasta != null && !token.emitidoEn().isAfter(revocadoHasta);
+    }
+
+    private static byte[] sha256(String secreto) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(secreto.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package co.empresa.gestioncontratos.service;
+
+import co.empresa.gestioncontratos.entity.Contrato;
+import co.empresa.gestioncontratos.entity.Servicio;
+import co.empresa.gestioncontratos.entity.Usuario;
+import co.empresa.gestioncontratos.enums.TipoPredio;
+import co.empresa.gestioncontratos.repository.ActividadRepository;
+import co.empresa.gestioncontratos.repository.ContratoRepository;
+import co.empresa.gestioncontratos.repository.ServicioRepository;
+import co.empresa.gestioncontratos.repository.UsuarioRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Liquidación de contratos por periodo: total de las actividades APROBADAS desglosado por
+// servicio, tipo de predio y operario. El periodo se parte en tramos de días que se leen en
+// paralelo, cada uno con su consulta en cursor; las filas se suman al acumulador de su contrato a
+// medida que llegan, en centavos con aritmética entera, y al final se combinan los acumuladores
+// de los tramos: la memoria depende de contratos, servicios, operarios e hilos, no del número de
+// actividades.
+@Service
+@Slf4j
+public class LiquidacionService {
+
+    private static final int TIPOS = TipoPredio.values().length;
+
+    private final ActividadRepository actividadRepository;
+    private final ContratoRepository contratoRepository;
+    private final ServicioRepository servicioRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final TransactionTemplate lectura;
+    private final int paralelismo;
+    private final ForkJoinPool pool;
+
+    // Subtotal de una dimensión; cantidad en centésimas y total en centavos
+    public record Linea(long actividades, long cantidadCentesimas, long totalCentavos) {
+
+        public BigDecimal getCantidad() {
+            return MatrizTarifas.aDecimal(cantidadCentesimas);
+        }
+
+        public BigDecimal getTotal() {
+            return MatrizTarifas.aDecimal(totalCentavos);
+        }
+    }
+
+    // Resultado inmutable; "sinPrecio" son actividades aprobadas sin precio aplicado (no suman al total)
+    public record Liquidacion(Long contratoId, LocalDate desde, LocalDate hasta,
+                              long actividades, long sinPrecio, long totalCentavos,
+                              Map<Long, Linea> porServicio, Map<TipoPredio, Linea> porTipoPredio,
+                              Map<Long, Linea> porOperario, LocalDateTime generada) {
+
+        public Liquidacion {
+            porServicio = Map.copyOf(porServicio);
+            Map<TipoPredio, Linea> tipos = new EnumMap<>(TipoPredio.class);
+            tipos.putAll(porTipoPredio);
+            porTipoPredio = Collections.unmodifiableMap(tipos);
+            porOperario = Map.copyOf(porOperario);
+        }
+
+        public BigDecimal getTotal() {
+            return MatrizTarifas.aDecimal(totalCentavos);
+        }
+    }
+
+    public LiquidacionService(ActividadRepository actividadRepository,
+                              ContratoRepository contratoRepository,
+                              ServicioRepository servicioRepository,
+                              UsuarioRepository usuarioRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.liquidacion.paralelismo:4}") int paralelismo) {
+        this.actividadRepository = actividadRepository;
+        this.contratoRepository = contratoRepository;
+        this.servicioRepository = servicioRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setReadOnly(true);
+        this.paralelismo = Math.max(1, paralelismo);
+        // Pool propio y acotado: cada hilo ocupa una conexión mientras lee su tramo
+        this.pool = new ForkJoinPool(this.paralelismo, p -> {
+            ForkJoinWorkerThread hilo = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            hilo.setName("liquidacion-" + hilo.getPoolIndex());
+            return hilo;
+        }, null, false);
+    }
+
+    @PreDestroy
+    public void detener() {
+        pool.shutdownNow();
+    }
+
+    // ==================== LIQUIDACIÓN ====================
+
+    // contratoId y supervisorId son opcionales: sin ellos se liquidan todos los contratos del periodo
+    public List<Liquidacion> liquidar(LocalDate desde, LocalDate hasta, Long contratoId, Long supervisorId) {
+        if (desde == null || hasta == null || hasta.isBefore(desde)) {
+            throw new RuntimeException("Periodo de liquidación inválido");
+        }
+        long inicio = System.nanoTime();
+
+        Map<Long, Acumulador> porContrato = new HashMap<>();
+        for (Map<Long, Acumulador> tramo : leerPorTramos(desde, hasta, contratoId, supervisorId)) {
+            tramo.forEach((id, acumulador) -> porContrato.merge(id, acumulador, Acumulador::combinar));
+        }
+        List<Liquidacion> liquidaciones = new ArrayList<>(porContrato.size());
+        porContrato.forEach((id, acumulador) -> liquidaciones.add(acumulador.aLiquidacion(id, desde, hasta)));
+        liquidaciones.sort(Comparator.comparing(Liquidacion::contratoId));
+
+        log.info("Liquidación {} a {}: {} contratos, {} actividades en {} ms", desde, hasta, liquidaciones.size(),
+            liquidaciones.stream().mapToLong(Liquidacion::actividades).sum(), (System.nanoTime() - inicio) / 1_000_000);
+        return liquidaciones;
+    }
+
+    public Optional<Liquidacion> liquidarContrato(Long contratoId, LocalDate desde, LocalDate hasta) {
+        return liquidar(desde, hasta, contratoId, null).stream().findFirst();
+    }
+
+    // Un tramo de días consecutivos por hilo, cada uno en su propia transacción de lectura. Se parte
+    // por fecha y no por grupos de contratos: actividades no tiene columna de contrato, así que cada
+    // fila se lee una sola vez y, con la tabla particionada, cada tramo solo recorre sus meses
+    private List<Map<Long, Acumulador>> leerPorTramos(LocalDate desde, LocalDate hasta, Long contratoId,
+                                                     Long supervisorId) {
+        long dias = ChronoUnit.DAYS.between(desde, hasta) + 1;
+        int tramos = (int) Math.min(paralelismo, dias);
+        if (tramos == 1) {
+            return List.of(lectura.execute(status -> leer(desde, hasta, contratoId, supervisorId)));
+        }
+        long diasPorTramo = (dias + tramos - 1) / tramos;
+        List<Callable<Map<Long, Acumulador>>> tareas = new ArrayList<>();
+        for (LocalDate inicio = desde; !inicio.isAfter(hasta); inicio = inicio.plusDays(diasPorTramo)) {
+            LocalDate desdeTramo = inicio;
+            LocalDate fin = inicio.plusDays(diasPorTramo - 1);
+            LocalDate hastaTramo = fin.isAfter(hasta) ? hasta : fin;
+            tareas.add(() -> lectura.execute(status -> leer(desdeTramo, hastaTramo, contratoId, supervisorId)));
+        }
+
+        List<Map<Long, Acumulador>> resultados = new ArrayList<>(tareas.size());
+        try {
+            for (Future<Map<Long, Acumulador>> tramo : pool.invokeAll(tareas)) {
+                resultados.add(tramo.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Liquidación interrumpida");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error al liquidar: " + e.getCause().getMessage(), e.getCause());
+        }
+        return resultados;
+    }
+
+    // Cada fila se suma y se descarta; el cursor no retiene entidades
+    private Map<Long, Acumulador> leer(LocalDate desde, LocalDate hasta, Long contratoId, Long supervisorId) {
+        Map<Long, Acumulador> porContrato = new HashMap<>();
+        try (Stream<Object[]> filas = actividadRepository.streamParaLiquidar(desde, hasta, contratoId, supervisorId)) {
+            filas.forEach(fila -> porContrato
+                .computeIfAbsent((Long) fila[0], id -> new Acumulador())
+                .acumular((Long) fila[1], (TipoPredio) fila[2], (Long) fila[3], (Long) fila[4], (Long) fila[5]));
+        }
+        return porContrato;
+    }
+
+    // Versión para la API: ids traducidos a uuid y nombre con una consulta por tipo de entidad
+    public List<Map<String, Object>> describir(List<Liquidacion> liquidaciones) {
+        return lectura.execute(status -> {
+            Map<Long, Contrato> contratos = porId(contratoRepository.findAllById(
+                liquidaciones.stream().map(Liquidacion::contratoId).toList()), Contrato::getId);
+            Map<Long, Servicio> servicios = porId(servicioRepository.findAllById(liquidaciones.stream()
+                .flatMap(l -> l.porServicio().keySet().stream()).collect(Collectors.toSet())), Servicio::getId);
+            Map<Long, Usuario> operarios = porId(usuarioRepository.findAllById(liquidaciones.stream()
+                .flatMap(l -> l.porOperario().keySet().stream()).collect(Collectors.toSet())), Usuario::getId);
+
+            List<Map<String, Object>> resultado = new ArrayList<>();
+            for (Liquidacion liquidacion : liquidaciones) {
+                Contrato contrato = contratos.get(liquidacion.contratoId());
+                Map<String, Object> mapa = new LinkedHashMap<>();
+                mapa.put("contratoUuid", contrato != null ? contrato.getUuid() : null);
+                mapa.put("numeroContrato", contrato != null ? contrato.getNumeroContrato() : null);
+                mapa.put("desde", liquidacion.desde());
+                mapa.put("hasta", liquidacion.hasta());
+                mapa.put("actividades", liquidacion.actividades());
+                mapa.put("sinPrecio", liquidacion.sinPrecio());
+                mapa.put("total", liquidacion.getTotal());
+                mapa.put("porServicio", lineas(liquidacion.porServicio(), id -> {
+                    Servicio servicio = servicios.get(id);
+                    return servicio != null ? Map.of("uuid", servicio.getUuid(), "nombre", servicio.getNombre()) : Map.of();
+                }));
+                mapa.put("porTipoPredio", liquidacion.porTipoPredio().entrySet().stream()
+                    .map(e -> linea(Map.of("tipo", e.getKey()), e.getValue())).toList());
+                mapa.put("porOperario", lineas(liquidacion.porOperario(), id -> {
+                    Usuario operario = operarios.get(id);
+                    return operario != null
+                        ? Map.of("uuid", operario.getUuid(), "nombre", operario.getNombreCompleto()) : Map.of();
+                }));
+                mapa.put("generada", liquidacion.generada());
+                resultado.add(mapa);
+            }
+            return resultado;
+        });
+    }
+
+    private static List<Map<String, Object>> lineas(Map<Long, Linea> lineas, Function<Long, Map<String, Object>> clave) {
+        return lineas.entrySet().stream()
+            .sorted(Comparator.comparingLong((Map.Entry<Long, Linea> e) -> e.getValue().totalCentavos()).reversed())
+            .map(e -> linea(clave.apply(e.getKey()), e.getValue()))
+            .toList();
+    }
+
+    private static Map<String, Object> linea(Map<String, Object> clave, Linea linea) {
+        Map<String, Object> mapa = new LinkedHashMap<>(clave);
+        mapa.put("actividades", linea.actividades());
+        mapa.put("cantidad", linea.getCantidad());
+        mapa.put("total", linea.getTotal());
+        return mapa;
+    }
+
+    private static <T> Map<Long, T> porId(List<T> entidades, Function<T, Long> id) {
+        return entidades.stream().collect(Collectors.toMap(id, Function.identity()));
+    }
+
+    // ==================== ESTRUCTURAS INTERNAS ====================
+
+    // Acumulador mutable de un contrato; cada subtotal es {actividades, cantidad, centavos}
+    private static final class Acumulador {
+        final Map<Long, long[]> porServicio = new HashMap<>();
+        final long[][] porTipo = new long[TIPOS][3];
+        final Map<Long, long[]> porOperario = new HashMap<>();
+        long actividades;
+        long sinPrecio;
+        long totalCentavos;
+
+        void acumular(Long servicioId, TipoPredio tipo, Long operarioId, Long precioCentavos, Long cantidadCentesimas) {
+            long cantidad = cantidadCentesimas != null ? cantidadCentesimas : 100;
+            long total = 0;
+            if (precioCentavos == null) {
+                sinPrecio++;
+            } else {
+                total = MatrizTarifas.totalCentavos(precioCentavos, cantidad);
+            }
+            actividades++;
+            totalCentavos += total;
+            sumar(porServicio.computeIfAbsent(servicioId, k -> new long[3]), cantidad, total);
+            sumar(porTipo[tipo.ordinal()], cantidad, total);
+            sumar(porOperario.computeIfAbsent(operarioId, k -> new long[3]), cantidad, total);
+        }
+
+        // Suma otro acumulador del mismo contrato (otro tramo del periodo)
+        Acumulador combinar(Acumulador otro) {
+            otro.porServicio.forEach((id, valores) -> sumar(porServicio.computeIfAbsent(id, k -> new long[3]), valores));
+            for (int i = 0; i < TIPOS; i++) {
+                sumar(porTipo[i], otro.porTipo[i]);
+            }
+            otro.porOperario.forEach((id, valores) -> sumar(porOperario.computeIfAbsent(id, k -> new long[3]), valores));
+            actividades += otro.actividades;
+            sinPrecio += otro.sinPrecio;
+            totalCentavos += otro.totalCentavos;
+            return this;
+        }
+
+        Liquidacion aLiquidacion(Long contratoId, LocalDate desde, LocalDate hasta) {
+            Map<TipoPredio, Linea> tipos = new EnumMap<>(TipoPredio.class);
+            for (TipoPredio tipo : TipoPredio.values()) {
+                if (porTipo[tipo.ordinal()][0] > 0) {
+                    tipos.put(tipo, linea(porTipo[tipo.ordinal()]));
+                }
+            }
+            return new Liquidacion(contratoId, desde, hasta, actividades, sinPrecio, totalCentavos,
+                lineas(porServicio), tipos, lineas(porOperario), LocalDateTime.now());
+        }
+
+        private static Map<Long, Linea> lineas(Map<Long, long[]> subtotales) {
+            Map<Long, Linea> lineas = new HashMap<>();
+            subtotales.forEach((id, valores) -> lineas.put(id, linea(valores)));
+            return lineas;
+        }
+
+        private static Linea linea(long[] valores) {
+            return new Linea(valores[0], valores[1], valores[2]);
+        }
+
+        private static void sumar(long[] subtotal, long cantidad, long total) {
+            subtotal[0]++;
+            subtotal[1] += cantidad;
+            subtotal[2] += total;
+        }
+
+        private static void sumar(long[] subtotal, long[] otro) {
+            subtotal[0] += otro[0];
+            subtotal[1] += otro[1];
+            subtotal[2] += otro[2];
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package co.empresa.gestioncontratos.service;
+
+import co.empresa.gestioncontratos.enums.TipoPredio;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// Instantánea inmutable de las tarifas vigentes. Los precios se guardan en centavos en un
+// arreglo plano indexado por (plan, servicio, tipo de predio); los ids y uuids de planes y
+// servicios se traducen a índices con mapas. Consultar un precio no toca la base de datos.
+public final class MatrizTarifas {
+
+    public static final long SIN_TARIFA = -1L;
+
+    private static final int TIPOS = TipoPredio.values().length;
+
+    private final long version;
+    private final Map<Long, Integer> planes;
+    private final Map<Long, Integer> servicios;
+    private final Map<UUID, Long> planPorUuid;
+    private final Map<UUID, Long> servicioPorUuid;
+    private final long[] centavos;
+
+    private MatrizTarifas(long version, Map<Long, Integer> planes, Map<Long, Integer> servicios,
+                          Map<UUID, Long> planPorUuid, Map<UUID, Long> servicioPorUuid, long[] centavos) {
+        this.version = version;
+        this.planes = planes;
+        this.servicios = servicios;
+        this.planPorUuid = planPorUuid;
+        this.servicioPorUuid = servicioPorUuid;
+        this.centavos = centavos;
+    }
+
+    public static MatrizTarifas vacia() {
+        return new MatrizTarifas(0, Map.of(), Map.of(), Map.of(), Map.of(), new long[0]);
+    }
+
+    // Filas: [planId, planUuid, servicioId, servicioUuid, precioUrbano, precioRural]
+    public static MatrizTarifas construir(long version, List<Object[]> filas) {
+        Map<Long, Integer> planes = new HashMap<>();
+        Map<Long, Integer> servicios = new HashMap<>();
+        Map<UUID, Long> planPorUuid = new HashMap<>();
+        Map<UUID, Long> servicioPorUuid = new HashMap<>();
+        for (Object[] fila : filas) {
+            planes.putIfAbsent((Long) fila[0], planes.size());
+            planPorUuid.put((UUID) fila[1], (Long) fila[0]);
+            servicios.putIfAbsent((Long) fila[2], servicios.size());
+            servicioPorUuid.put((UUID) fila[3], (Long) fila[2]);
+        }
+
+        long[] centavos = new long[planes.size() * servicios.size() * TIPOS];
+        Arrays.fill(centavos, SIN_TARIFA);
+        for (Object[] fila : filas) {
+            int base = (planes.get((Long) fila[0]) * servicios.size() + servicios.get((Long) fila[2])) * TIPOS;
+            centavos[base + TipoPredio.URBANO.ordinal()] = aCentavos((BigDecimal) fila[4]);
+            centavos[base + TipoPredio.RURAL.ordinal()] = aCentavos((BigDecimal) fila[5]);
+        }
+        return new MatrizTarifas(version, Map.copyOf(planes), Map.copyOf(servicios),
+            Map.copyOf(planPorUuid), Map.copyOf(servicioPorUuid), centavos);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int getTotalTarifas() {
+        int total = 0;
+        for (long precio : centavos) {
+            if (precio != SIN_TARIFA) {
+                total++;
+            }
+        }
+        return total / TIPOS;
+    }
+
+    // Precio unitario en centavos o SIN_TARIFA
+    public long precioCentavos(Long planId, Long servicioId, TipoPredio tipo) {
+        Integer plan = planId != null ? planes.get(planId) : null;
+        Integer servicio = servicioId != null ? servicios.get(servicioId) : null;
+        if (plan == null || servicio == null || tipo == null) {
+            return SIN_TARIFA;
+        }
+        return centavos[(plan * servicios.size() + servicio) * TIPOS + tipo.ordinal()];
+    }
+
+    public long precioCentavos(UUID planUuid, UUID servicioUuid, TipoPredio tipo) {
+        return precioCentavos(planPorUuid.get(planUuid), servicioPorUuid.get(servicioUuid), tipo);
+    }
+
+    // Mismo contenido de precios (para no publicar una versión nueva sin cambios)
+    public boolean mismosPrecios(MatrizTarifas otra) {
+        if (!planes.equals(otra.planes) || !servicios.equals(otra.servicios)) {
+            return false;
+        }
+        return Arrays.equals(centavos, otra.centavos);
+    }
+
+    public static long aCentavos(BigDecimal valor) {
+        return valor.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal aDecimal(long centavos) {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    // Total de una línea: precio unitario por cantidad, redondeado al centavo
+    public static long totalCentavos(long precioCentavos, BigDecimal cantidad) {
+        return BigDecimal.valueOf(precioCentavos).multiply(cantidad)
+            .setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    // Mismo redondeo en aritmética entera: cantidad en centésimas (2 decimales), valores no negativos
+    public static long totalCentavos(long precioCentavos, long cantidadCentesimas) {
+        return Math.addExact(Math.multiplyExact(precioCentavos, cantidadCentesimas), 50) / 100;
+    }
+}
@@ -0,0 +1,317 @@
+package co.empresa.gestioncontratos.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+// Particionado mensual de actividades por fecha_actividad (PostgreSQL). La tabla que crea
+// Hibernate se convierte una sola vez en tabla particionada; después se crean por adelantado
+// las particiones de los meses siguientes y la retención se aplica desvinculando o eliminando
+// particiones completas, sin DELETE masivo. La partición por defecto recibe fechas sin mes creado.
+// Con otra base de datos (H2 en pruebas) la tabla queda normal; en ambos casos se asegura la
+// unicidad de uuid de las actividades (actividad_uuids y, sin particionar, índice único).
+@Service
+@Slf4j
+public class ParticionesActividadService {
+
+    public enum AccionRetencion { DESVINCULAR, ELIMINAR }
+
+    private static final String TABLA = "actividades";
+    private static final String DEFECTO = "actividades_defecto";
+    private static final DateTimeFormatter SUFIJO = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean habilitadas;
+    private final int mesesAdelante;
+    private final int retencionMeses;
+    private final AccionRetencion accionRetencion;
+
+    private volatile Boolean postgres;
+
+    public ParticionesActividadService(JdbcTemplate jdbcTemplate,
+                                       DataSource dataSource,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${app.actividades.particiones.habilitadas:true}") boolean habilitadas,
+                                       @Value("${app.actividades.particiones.meses-adelante:3}") int mesesAdelante,
+                                       @Value("${app.actividades.particiones.retencion-meses:0}") int retencionMeses,
+                                       @Value("${app.actividades.particiones.retencion-accion:DESVINCULAR}") AccionRetencion accionRetencion) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.habilitadas = habilitadas;
+        this.mesesAdelante = mesesAdelante;
+        this.retencionMeses = retencionMeses;
+        this.accionRetencion = accionRetencion;
+    }
+
+    // ==================== CONSULTAS ====================
+
+    public boolean activas() {
+        return habilitadas && esPostgres() && esParticionada();
+    }
+
+    // Primer día conservado según la política de retención (vacío si no hay retención)
+    public Optional<LocalDate> inicioRetenido() {
+        if (retencionMeses <= 0 || !activas()) {
+            return Optional.empty();
+        }
+        return Optional.of(YearMonth.now().minusMonths(retencionMeses).atDay(1));
+    }
+
+    // Particiones vinculadas con filas estimadas y tamaño en disco
+    public List<Map<String, Object>> listar() {
+        if (!activas()) {
+            return List.of();
+        }
+        return jdbcTemplate.queryForList(
+            "SELECT c.relname AS \"nombre\", c.reltuples::bigint AS \"filasEstimadas\", " +
+            "pg_size_pretty(pg_total_relation_size(c.oid)) AS \"tamano\", " +
+            "pg_get_expr(c.relpartbound, c.oid) AS \"rango\" " +
+            "FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = 'actividades'::regclass ORDER BY c.relname");
+    }
+
+    // ==================== INICIALIZACIÓN ====================
+
+    // Se llama al arrancar, antes de instalar los triggers de sincronización sobre la tabla
+    public void inicializar() {
+        if (!esPostgres()) {
+            log.debug("Base de datos distinta de PostgreSQL, actividades sin particionar");
+        } else if (habilitadas) {
+            try {
+                if (!esParticionada()) {
+                    convertir();
+                }
+                asegurarParticiones();
+            } catch (Exception e) {
+                log.error("No se pudo particionar actividades: {}", e.getMessage());
+            }
+        }
+        asegurarUnicidadUuid();
+    }
+
+    // Conversión en una transacción (el DDL de PostgreSQL es transaccional): o queda todo o nada
+    private void convertir() {
+        transactionTemplate.executeWithoutResult(status -> {
+            log.info("Convirtiendo actividades en tabla particionada por mes");
+            // LIKE no copia las claves foráneas (contrato, predio, operario, servicio): se guardan
+            // con su nombre para volver a crearlas sobre la tabla particionada
+            List<Map<String, Object>> foraneas = jdbcTemplate.queryForList(
+                "SELECT conname AS nombre, pg_get_constraintdef(oid) AS definicion FROM pg_constraint " +
+                "WHERE conrelid = 'actividades'::regclass AND contype = 'f'");
+            jdbcTemplate.execute("ALTER TABLE actividades RENAME TO actividades_legado");
+            jdbcTemplate.execute("CREATE TABLE actividades " +
+                "(LIKE actividades_legado INCLUDING DEFAULTS INCLUDING CONSTRAINTS) " +
+                "PARTITION BY RANGE (fecha_actividad)");
+
+            // Una tabla particionada no admite IDENTITY (antes de PostgreSQL 17): el id sale de la
+            // secuencia de la entidad, que SecuenciasInitializer adelanta al máximo copiado
+            jdbcTemplate.execute("ALTER TABLE actividades ALTER COLUMN id SET DEFAULT nextval('actividades_seq')");
+
+            LocalDate minima = jdbcTemplate.queryForObject(
+                "SELECT MIN(fecha_actividad) FROM actividades_legado", LocalDate.class);
+            YearMonth desde = minima != null ? YearMonth.from(minima) : YearMonth.now();
+            for (YearMonth mes = desde; !mes.isAfter(YearMonth.now().plusMonths(mesesAdelante)); mes = mes.plusMonths(1)) {
+                crearParticion(mes);
+            }
+            jdbcTemplate.execute("CREATE TABLE " + DEFECTO + " PARTITION OF actividades DEFAULT");
+
+            int copiadas = jdbcTemplate.update("INSERT INTO actividades SELECT * FROM actividades_legado");
+            jdbcTemplate.execute("DROP TABLE actividades_legado");
+
+            // Índices después de la carga y de borrar la tabla anterior, que usaba los mismos nombres.
+            // Toda clave única debe incluir la columna de partición: la unicidad por uuid (y con ella
+            // el índice uk_actividades_uuid) pasa a actividad_uuids
+            jdbcTemplate.execute("ALTER TABLE actividades ADD PRIMARY KEY (id, fecha_actividad)");
+            jdbcTemplate.execute("CREATE INDEX idx_actividades_uuid ON actividades (uuid)");
+            jdbcTemplate.execute("CREATE INDEX idx_actividades_operario_fecha ON actividades (operario_id, fecha_actividad)");
+            jdbcTemplate.execute("CREATE INDEX idx_actividades_operario_cambio ON actividades (operario_id, version_cambio)");
+            jdbcTemplate.execute("CREATE INDEX idx_actividades_contrato_predio ON actividades (contrato_predio_id)");
+            for (Map<String, Object> foranea : foraneas) {
+                jdbcTemplate.execute("ALTER TABLE actividades ADD CONSTRAINT " + foranea.get("nombre") + " " +
+                    foranea.get("definicion"));
+            }
+            log.info("actividades particionada: {} filas desde {}", copiadas, desde);
+        });
+    }
+
+    // Sin particionar, índice único sobre uuid. Particionada, la unicidad por uuid solo la da
+    // actividad_uuids, que se llena con lo ya existente la primera vez (tabla nueva tras actualizar)
+    private void asegurarUnicidadUuid() {
+        if (jdbcTemplate.queryForList("SELECT 1 FROM actividad_uuids LIMIT 1").isEmpty()) {
+            int registrados = registrarUuids();
+            if (registrados > 0) {
+                log.info("actividad_uuids: {} uuids registrados desde actividades", registrados);
+            }
+        }
+        if (esPostgres() && esParticionada()) {
+            return;
+        }
+        try {
+            jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS uk_actividades_uuid ON actividades (uuid)");
+        } catch (Exception e) {
+            log.error("No se pudo crear el índice único de uuid en actividades (¿uuids repetidos?): {}", e.getMessage());
+        }
+    }
+
+    // Registra en actividad_uuids los uuids de actividades que aún no están (arranque y cargas
+    // masivas que insertan directamente en actividades, como el generador de datos)
+    public int registrarUuids() {
+        return jdbcTemplate.update("INSERT INTO actividad_uuids (uuid, fecha_actividad) " +
+            "SELECT a.uuid, MIN(a.fecha_actividad) FROM actividades a " +
+            "WHERE NOT EXISTS (SELECT 1 FROM actividad_uuids u WHERE u.uuid = a.uuid) GROUP BY a.uuid");
+    }
+
+    // ==================== MANTENIMIENTO ====================
+
+    @Scheduled(cron = "${app.actividades.particiones.mantenimiento-cron:0 15 2 * * *}")
+    public void mantenimientoProgramado() {
+        if (!activas()) {
+            return;
+        }
+        asegurarParticiones();
+        aplicarRetencion();
+    }
+
+    // Crea las particiones del mes actual y de los siguientes que falten
+    public void asegurarParticiones() {
+        Set<String> existentes = existentes();
+        for (int i = 0; i <= mesesAdelante; i++) {
+            crearSiFalta(YearMonth.now().plusMonths(i), existentes);
+        }
+    }
+
+    // Particiones de meses pasados que falten, antes de una carga histórica (generador de datos):
+    // sin ellas todas esas filas irían a la partición por defecto
+    public void asegurarParticionesDesde(YearMonth desde) {
+        if (!activas()) {
+            return;
+        }
+        Set<String> existentes = existentes();
+        for (YearMonth mes = desde; mes.isBefore(YearMonth.now()); mes = mes.plusMonths(1)) {
+            crearSiFalta(mes, existentes);
+        }
+    }
+
+    public void aplicarRetencion() {
+        inicioRetenido().ifPresent(inicio -> {
+            YearMonth primero = YearMonth.from(inicio);
+            for (String particion : existentes()) {
+                YearMonth mes = mes(particion);
+                if (mes != null && mes.isBefore(primero)) {
+                    if (accionRetencion == AccionRetencion.ELIMINAR) {
+                        eliminar(mes);
+                    } else {
+                        desvincular(mes);
+                    }
+                }
+            }
+        });
+    }
+
+    // La partición queda como tabla independiente (para archivarla) y sale de las consultas
+    public void desvincular(YearMonth mes) {
+        exigirParticion(mes);
+        jdbcTemplate.execute("ALTER TABLE actividades DETACH PARTITION " + nombre(mes));
+        log.info("Partición {} desvinculada de actividades", nombre(mes));
+    }
+
+    // Con la partición salen sus uuids de actividad_uuids; las desvinculadas los conservan
+    public void eliminar(YearMonth mes) {
+        exigirParticion(mes);
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("DROP TABLE " + nombre(mes));
+            jdbcTemplate.update("DELETE FROM actividad_uuids WHERE fecha_actividad >= ? AND fecha_actividad < ?",
+                mes.atDay(1), mes.plusMonths(1).atDay(1));
+        });
+        log.info("Partición {} eliminada", nombre(mes));
+    }
+
+    // Reescribe una partición de un mes cerrado sin espacio muerto (bloquea solo esa partición)
+    public void compactar(YearMonth mes) {
+        exigirParticion(mes);
+        if (!mes.isBefore(YearMonth.now())) {
+            throw new RuntimeException("Solo se compactan particiones de meses cerrados");
+        }
+        jdbcTemplate.execute("VACUUM (FULL, ANALYZE) " + nombre(mes));
+        log.info("Partición {} compactada", nombre(mes));
+    }
+
+    // ==================== MÉTODOS AUXILIARES ====================
+
+    private void crearSiFalta(YearMonth mes, Set<String> existentes) {
+        if (existentes.contains(nombre(mes))) {
+            return;
+        }
+        // Si la partición por defecto ya tiene filas de ese mes PostgreSQL rechaza crearla
+        Long enDefecto = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + DEFECTO +
+            " WHERE fecha_actividad >= ? AND fecha_actividad < ?", Long.class,
+            mes.atDay(1), mes.plusMonths(1).atDay(1));
+        if (enDefecto != null && enDefecto > 0) {
+            log.warn("No se crea {}: la partición por defecto tiene {} filas de ese mes", nombre(mes), enDefecto);
+            return;
+        }
+        crearParticion(mes);
+        log.info("Partición {} creada", nombre(mes));
+    }
+
+    private void crearParticion(YearMonth mes) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + nombre(mes) + " PARTITION OF actividades " +
+            "FOR VALUES FROM ('" + mes.atDay(1) + "') TO ('" + mes.plusMonths(1).atDay(1) + "')");
+    }
+
+    private void exigirParticion(YearMonth mes) {
+        if (!activas() || !existentes().contains(nombre(mes))) {
+            throw new RuntimeException("No existe la partición " + nombre(mes));
+        }
+    }
+
+    private Set<String> existentes() {
+        return new TreeSet<>(jdbcTemplate.queryForList(
+            "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = 'actividades'::regclass", String.class));
+    }
+
+    private boolean esParticionada() {
+        Boolean particionada = jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(?))",
+            Boolean.class, TABLA);
+        return Boolean.TRUE.equals(particionada);
+    }
+
+    private static String nombre(YearMonth mes) {
+        return TABLA + "_" + mes.format(SUFIJO);
+    }
+
+    private static YearMonth mes(String particion) {
+        try {
+            return YearMonth.parse(particion.substring(TABLA.length() + 1), SUFIJO);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private boolean esPostgres() {
+        if (postgres == null) {
+            try (Connection connection = dataSource.getConnection()) {
+                postgres = "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+            } catch (Exception e) {
+                return false;
+            }
+        }
+        return postgres;
+    }
+}
@@ -0,0 +1,33 @@
+package co.empresa.gestioncontratos.service;
+
+import co.empresa.gestioncontratos.entity.Actividad;
+import co.empresa.gestioncontratos.entity.Contrato;
+import jakarta.persistence.PrePersist;
+import org.springframework.beans.factory.ObjectProvider;
+
+// Precio de las actividades que se guardan por JPA (la ingesta por lotes lo calcula al armar el
+// INSERT): plan del contrato × servicio × tipo de predio según la matriz de tarifas vigente.
+// Sin tarifa el precio queda vacío, como en la ingesta. Hibernate lo crea con el contenedor de
+// Spring; el servicio se resuelve al usarlo porque la fábrica de JPA todavía se está creando
+public class PrecioActividadListener {
+
+    private final ObjectProvider<TarifaService> tarifaService;
+
+    public PrecioActividadListener(ObjectProvider<TarifaService> tarifaService) {
+        this.tarifaService = tarifaService;
+    }
+
+    @PrePersist
+    public void asignarPrecio(Actividad actividad) {
+        if (actividad.getPrecioAplicado() != null || actividad.getServicio() == null
+                || actividad.getPredio() == null || actividad.getContratoPredio() == null) {
+            return;
+        }
+        Contrato contrato = actividad.getContratoPredio().getContrato();
+        if (contrato == null || contrato.getPlanTarifa() == null) {
+            return;
+        }
+        tarifaService.getObject().asignarPrecio(actividad, contrato.getPlanTarifa().getId(),
+            actividad.getServicio().getId(), actividad.getPredio().getTipo());
+    }
+}
@@ -4,9 +4,12 @@ import co.empresa.gestioncontratos.dto.PredioDTO;
 import co.empresa.gestioncontratos.entity.*;
 import co.empresa.gestioncontratos.enums.TipoPredio;
 import co.empresa.gestioncontratos.enums.EstadoContrato;
+import co.empresa.gestioncontratos.event.DatosModificadosEvent;
+import co.empresa.gestioncontratos.mapper.PredioMapper;
 import co.empresa.gestioncontratos.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -26,6 +29,9 @@ public class PredioService {
     private final PredioRepository predioRepository;
     private final SectorRepository sectorRepository;
     private final ContratoPredioRepository contratoPredioRepository;
+    private final SectorRollupService sectorRollupService;
+    private final PredioMapper predioMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ==================== CONSULTAS ====================
 
@@ -75,6 +81,38 @@ public class PredioService {
         return predioRepository.findAll(spec, pageable);
     }
 
+    // ==================== CONSULTAS PARA LA API ====================
+    // Proyectan solo las columnas del DTO con el sector en la misma consulta (sin N+1)
+
+    @Transactional(readOnly = true)
+    public List<PredioDTO> listarResumen() {
+        return predioMapper.toDTOs(predioRepository.listarResumen());
+    }
+
+    @Transactional(readOnly = true)
+    public Page<PredioDTO> buscarResumen(String filtro, UUID sectorUuid, TipoPredio tipo, Pageable pageable) {
+        String filtroNormalizado = filtro != null ? filtro.toLowerCase().trim() : "";
+        return predioRepository.buscarResumen(filtroNormalizado, sectorUuid, tipo, pageable)
+            .map(predioMapper::toDTO);
+    }
+
+    @Transactional(readOnly = true)
+    public PredioDTO obtenerResumen(UUID uuid) {
+        return predioRepository.findResumenByUuid(uuid)
+            .map(predioMapper::toDTO)
+            .orElseThrow(() -> new RuntimeException("Predio no encontrado"));
+    }
+
+    @Transactional(readOnly = true)
+    public List<PredioDTO> listarResumenDisponibles() {
+        return predioMapper.toDTOs(predioRepository.listarResumenDisponibles());
+    }
+
+    @Transactional(readOnly = true)
+    public List<PredioDTO> listarResumenDisponiblesParaContrato(UUID contratoUuid) {
+        return predioMapper.toDTOs(predioRepository.listarResumenDisponiblesParaContrato(contratoUuid));
+    }
+
     @Transactional(readOnly = true)
     public Predio buscarPorUuid(UUID uuid) {
         return predioRepository.findByUuid(uuid)
@@ -115,13 +153,17 @@ public class PredioService {
             .activo(true)
             .build();
         
-        return predioRepository.save(predio);
+        Predio guardado = predioRepository.save(predio);
+        sectorRollupService.predioCreado(guardado);
+        eventPublisher.publishEvent(new DatosModificadosEvent("predio"));
+        return guardado;
     }
 
     public Predio actualizar(UUID uuid, PredioDTO predioDTO) {
         log.info("Actualizando predio: {}", uuid);
         
         Predio predio = buscarPorUuid(uuid);
+        SectorRollupService.AportePredio antes = SectorRollupService.AportePredio.de(predio);
         
         predio.setDireccion(predioDTO.getDireccion());
         predio.setTipo(predioDTO.getTipo());
@@ -132,16 +174,22 @@ public class PredioService {
             predio.setSector(sector);
         }
         
-        return predioRepository.save(predio);
+        Predio guardado = predioRepository.save(predio);
+        sectorRollupService.predioActualizado(antes, guardado);
+        eventPublisher.publishEvent(new DatosModificadosEvent("predio"));
+        return guardado;
     }
 
     public void cambiarEstado(UUID uuid) {
         log.info("Cambiando estado del predio: {}", uuid);
         
         Predio predio = buscarPorUuid(uuid);
+        SectorRollupService.AportePredio antes = SectorRollupService.AportePredio.de(predio);
         predio.setActivo(!predio.getActivo());
         
         predioRepository.save(predio);
+        sectorRollupService.predioActualizado(antes, predio);
+        eventPublisher.publishEvent(new DatosModificadosEvent("predio"));
     }
 
     public void eliminar(UUID uuid) {
@@ -159,7 +207,10 @@ public class PredioService {
             throw new RuntimeException("No se puede eliminar el predio porque tiene actividades registradas");
         }
         
+        SectorRollupService.AportePredio antes = SectorRollupService.AportePredio.de(predio);
         predioRepository.delete(predio);
+        sectorRollupService.predioEliminado(antes);
+        eventPublisher.publishEvent(new DatosModificadosEvent("predio"));
     }
 
     // ==================== CONSULTAS ESPECÍFICAS ====================
@@ -304,14 +355,7 @@ public class PredioService {
     // ==================== UTILIDADES ====================
 
     public PredioDTO convertirADTO(Predio predio) {
-        return PredioDTO.builder()
-            .uuid(predio.getUuid())
-            .direccion(predio.getDireccion())
-            .sectorUuid(predio.getSector().getUuid())
-            .sectorNombre(predio.getSector().getNombre())
-            .tipo(predio.getTipo())
-            .activo(predio.getActivo())
-            .build();
+        return predioMapper.toDTO(predio);
     }
 
     @Transactional(readOnly = true)
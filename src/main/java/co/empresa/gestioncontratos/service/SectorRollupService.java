@@ -0,0 +1,248 @@
+package co.empresa.gestioncontratos.service;
+
+import co.empresa.gestioncontratos.entity.Contrato;
+import co.empresa.gestioncontratos.entity.Predio;
+import co.empresa.gestioncontratos.entity.Sector;
+import co.empresa.gestioncontratos.entity.SectorRollup;
+import co.empresa.gestioncontratos.enums.EstadoContrato;
+import co.empresa.gestioncontratos.enums.TipoPredio;
+import co.empresa.gestioncontratos.repository.ContratoRepository;
+import co.empresa.gestioncontratos.repository.PredioRepository;
+import co.empresa.gestioncontratos.repository.SectorRepository;
+import co.empresa.gestioncontratos.repository.SectorRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Mantiene sector_rollup: las escrituras aplican deltas en la misma transacción que el cambio
+// y un job periódico recalcula desde las tablas base para reparar desviaciones. El recálculo
+// bloquea las filas antes de leer las tablas base: un delta confirmado antes ya está en la base
+// leída y uno posterior espera y se suma al valor reparado
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class SectorRollupService {
+
+    private final SectorRollupRepository sectorRollupRepository;
+    private final SectorRepository sectorRepository;
+    private final PredioRepository predioRepository;
+    private final ContratoRepository contratoRepository;
+
+    // Lo que un predio aporta a los agregados de su sector
+    public record AportePredio(Long sectorId, TipoPredio tipo, double area, boolean activo) {
+        public static AportePredio de(Predio predio) {
+            return new AportePredio(
+                predio.getSector() != null ? predio.getSector().getId() : null,
+                predio.getTipo(),
+                predio.getArea() != null ? predio.getArea() : 0.0,
+                Boolean.TRUE.equals(predio.getActivo()));
+        }
+    }
+
+    // Lo que un contrato aporta a los agregados de su sector
+    public record AporteContrato(Long sectorId, EstadoContrato estado) {
+        public static AporteContrato de(Contrato contrato) {
+            return new AporteContrato(
+                contrato.getSector() != null ? contrato.getSector().getId() : null,
+                contrato.getEstado());
+        }
+    }
+
+    // ==================== CONSULTAS ====================
+
+    @Transactional(readOnly = true)
+    public SectorRollup obtener(Sector sector) {
+        return sectorRollupRepository.findById(sector.getId())
+            .orElseGet(() -> calcularDesdeBase(sector.getId()));
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, SectorRollup> obtenerTodos() {
+        return sectorRollupRepository.findAll().stream()
+            .collect(Collectors.toMap(SectorRollup::getSectorId, Function.identity()));
+    }
+
+    // ==================== MANTENIMIENTO INCREMENTAL ====================
+
+    public void sectorCreado(Sector sector) {
+        if (!sectorRollupRepository.existsById(sector.getId())) {
+            sectorRollupRepository.save(SectorRollup.vacio(sector.getId()));
+        }
+    }
+
+    public void sectorEliminado(Sector sector) {
+        sectorRollupRepository.deleteById(sector.getId());
+    }
+
+    public void predioCreado(Predio predio) {
+        aplicar(AportePredio.de(predio), 1);
+    }
+
+    public void predioActualizado(AportePredio antes, Predio predio) {
+        AportePredio despues = AportePredio.de(predio);
+        if (antes.equals(despues)) {
+            return;
+        }
+        aplicar(antes, -1);
+        aplicar(despues, 1);
+    }
+
+    public void predioEliminado(AportePredio antes) {
+        aplicar(antes, -1);
+    }
+
+    public void contratoCreado(Contrato contrato) {
+        aplicar(AporteContrato.de(contrato), 1);
+    }
+
+    public void contratoActualizado(AporteContrato antes, Contrato contrato) {
+        AporteContrato despues = AporteContrato.de(contrato);
+        if (antes.equals(despues)) {
+            return;
+        }
+        aplicar(antes, -1);
+        aplicar(despues, 1);
+    }
+
+    public void contratoEliminado(AporteContrato antes) {
+        aplicar(antes, -1);
+    }
+
+    private void aplicar(AportePredio aporte, int signo) {
+        if (aporte.sectorId() == null) {
+            return;
+        }
+        int filas = sectorRollupRepository.aplicarDeltaPredios(
+            aporte.sectorId(),
+            signo,
+            aporte.activo() ? signo : 0,
+            aporte.tipo() == TipoPredio.URBANO ? signo : 0,
+            aporte.tipo() == TipoPredio.RURAL ? signo : 0,
+            signo * aporte.area());
+        if (filas == 0) {
+            // Sin fila todavía: se crea desde las tablas base, que ya incluyen este cambio
+            reconstruirSector(aporte.sectorId());
+        }
+    }
+
+    private void aplicar(AporteContrato aporte, int signo) {
+        if (aporte.sectorId() == null) {
+            return;
+        }
+        int filas = sectorRollupRepository.aplicarDeltaContratos(
+            aporte.sectorId(),
+            signo,
+            aporte.estado() == EstadoContrato.ACTIVO ? signo : 0,
+            aporte.estado() == EstadoContrato.FINALIZADO ? signo : 0,
+            aporte.estado() == EstadoContrato.SUSPENDIDO ? signo : 0);
+        if (filas == 0) {
+            reconstruirSector(aporte.sectorId());
+        }
+    }
+
+    // ==================== RECONSTRUCCIÓN Y VERIFICACIÓN ====================
+
+    public SectorRollup reconstruirSector(Long sectorId) {
+        SectorRollup rollup = sectorRollupRepository.findParaReconstruir(sectorId)
+            .orElseGet(() -> SectorRollup.vacio(sectorId));
+        rollup.copiarContadores(calcularDesdeBase(sectorId));
+        return sectorRollupRepository.save(rollup);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        if (sectorRollupRepository.count() == 0 && sectorRepository.count() > 0) {
+            log.info("sector_rollup vacío, reconstruyendo desde tablas base");
+            verificarYReparar();
+        }
+    }
+
+    @Scheduled(cron = "${app.rollup.sector.verificacion-cron:0 30 2 * * *}")
+    public void verificacionProgramada() {
+        verificarYReparar();
+    }
+
+    // Recalcula todos los sectores y corrige las filas que no coinciden; retorna los reparados
+    public int verificarYReparar() {
+        log.info("Verificando sector_rollup contra las tablas base");
+
+        Map<Long, SectorRollup> actuales = sectorRollupRepository.findAllParaReconstruir().stream()
+            .collect(Collectors.toMap(SectorRollup::getSectorId, Function.identity()));
+        Map<Long, SectorRollup> calculados = calcularTodosDesdeBase();
+        int reparados = 0;
+
+        for (SectorRollup calculado : calculados.values()) {
+            SectorRollup actual = actuales.remove(calculado.getSectorId());
+            if (actual == null) {
+                sectorRollupRepository.save(calculado);
+                reparados++;
+            } else if (!actual.coincideCon(calculado)) {
+                log.warn("Desviación en sector_rollup del sector {}: actual={}, esperado={}",
+                    calculado.getSectorId(), actual, calculado);
+                actual.copiarContadores(calculado);
+                sectorRollupRepository.save(actual);
+                reparados++;
+            }
+        }
+
+        // Filas de sectores que ya no existen
+        if (!actuales.isEmpty()) {
+            sectorRollupRepository.deleteAllById(actuales.keySet());
+            reparados += actuales.size();
+        }
+
+        log.info("Verificación de sector_rollup completada: {} sectores, {} reparados",
+            calculados.size(), reparados);
+        return reparados;
+    }
+
+    private SectorRollup calcularDesdeBase(Long sectorId) {
+        SectorRollup rollup = SectorRollup.vacio(sectorId);
+        predioRepository.agregarPorSector(sectorId).forEach(fila -> aplicarFilaPredios(rollup, fila));
+        contratoRepository.agregarPorSector(sectorId).forEach(fila -> aplicarFilaContratos(rollup, fila));
+        return rollup;
+    }
+
+    private Map<Long, SectorRollup> calcularTodosDesdeBase() {
+        Map<Long, SectorRollup> rollups = new HashMap<>();
+        sectorRepository.findAllIds().forEach(id -> rollups.put(id, SectorRollup.vacio(id)));
+
+        for (Object[] fila : predioRepository.agregarPorSector()) {
+            SectorRollup rollup = rollups.get(((Number) fila[0]).longValue());
+            if (rollup != null) {
+                aplicarFilaPredios(rollup, fila);
+            }
+        }
+        for (Object[] fila : contratoRepository.agregarPorSector()) {
+            SectorRollup rollup = rollups.get(((Number) fila[0]).longValue());
+            if (rollup != null) {
+                aplicarFilaContratos(rollup, fila);
+            }
+        }
+        return rollups;
+    }
+
+    private void aplicarFilaPredios(SectorRollup rollup, Object[] fila) {
+        rollup.setTotalPredios(((Number) fila[1]).longValue());
+        rollup.setPrediosActivos(((Number) fila[2]).longValue());
+        rollup.setPrediosUrbanos(((Number) fila[3]).longValue());
+        rollup.setPrediosRurales(((Number) fila[4]).longValue());
+        rollup.setAreaTotalPredios(((Number) fila[5]).doubleValue());
+    }
+
+    private void aplicarFilaContratos(SectorRollup rollup, Object[] fila) {
+        rollup.setTotalContratos(((Number) fila[1]).longValue());
+        rollup.setContratosActivos(((Number) fila[2]).longValue());
+        rollup.setContratosFinalizados(((Number) fila[3]).longValue());
+        rollup.setContratosSuspendidos(((Number) fila[4]).longValue());
+    }
+}
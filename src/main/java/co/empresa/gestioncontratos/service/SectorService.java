@@ -2,8 +2,8 @@ package co.empresa.gestioncontratos.service;
 
 import co.empresa.gestioncontratos.dto.SectorDTO;
 import co.empresa.gestioncontratos.entity.Sector;
-import co.empresa.gestioncontratos.enums.EstadoContrato;
-import co.empresa.gestioncontratos.enums.TipoPredio;
+import co.empresa.gestioncontratos.entity.SectorRollup;
+import co.empresa.gestioncontratos.mapper.SectorMapper;
 import co.empresa.gestioncontratos.repository.SectorRepository;
 import co.empresa.gestioncontratos.repository.PredioRepository;
 import co.empresa.gestioncontratos.repository.ContratoRepository;
@@ -28,6 +28,8 @@ public class SectorService {
     private final SectorRepository sectorRepository;
     private final PredioRepository predioRepository;
     private final ContratoRepository contratoRepository;
+    private final SectorRollupService sectorRollupService;
+    private final SectorMapper sectorMapper;
 
     // ==================== CONSULTAS ====================
 
@@ -130,7 +132,9 @@ public class SectorService {
             .activo(true)
             .build();
         
-        return sectorRepository.save(sector);
+        Sector guardado = sectorRepository.save(sector);
+        sectorRollupService.sectorCreado(guardado);
+        return guardado;
     }
 
     public Sector actualizar(UUID uuid, SectorDTO sectorDTO) {
@@ -190,6 +194,7 @@ public class SectorService {
             throw new RuntimeException("No se puede eliminar el sector porque tiene predios o contratos asociados");
         }
         
+        sectorRollupService.sectorEliminado(sector);
         sectorRepository.delete(sector);
     }
 
@@ -205,27 +210,25 @@ public class SectorService {
         // Información básica
         stats.put("sector", sector);
         
+        // Agregados mantenidos en sector_rollup (una sola fila)
+        SectorRollup rollup = sectorRollupService.obtener(sector);
+        
         // Cantidad de predios
-        long totalPredios = predioRepository.countBySector(sector);
-        long prediosActivos = predioRepository.countBySectorAndActivoTrue(sector);
-        stats.put("totalPredios", totalPredios);
-        stats.put("prediosActivos", prediosActivos);
+        stats.put("totalPredios", rollup.getTotalPredios());
+        stats.put("prediosActivos", rollup.getPrediosActivos());
         
         // Tipos de predios
         Map<String, Long> prediosPorTipo = new HashMap<>();
-        prediosPorTipo.put("urbanos", predioRepository.countBySectorAndTipo(sector, TipoPredio.URBANO));
-        prediosPorTipo.put("rurales", predioRepository.countBySectorAndTipo(sector, TipoPredio.RURAL));
+        prediosPorTipo.put("urbanos", rollup.getPrediosUrbanos());
+        prediosPorTipo.put("rurales", rollup.getPrediosRurales());
         stats.put("prediosPorTipo", prediosPorTipo);
         
         // Contratos
-        long contratosActivos = contratoRepository.countBySectorAndEstado(sector, EstadoContrato.ACTIVO);
-        long totalContratos = contratoRepository.countBySector(sector);
-        stats.put("contratosActivos", contratosActivos);
-        stats.put("totalContratos", totalContratos);
+        stats.put("contratosActivos", rollup.getContratosActivos());
+        stats.put("totalContratos", rollup.getTotalContratos());
         
         // Área total de predios
-        Double areaTotalPredios = predioRepository.sumAreaBySector(sector);
-        stats.put("areaTotalPredios", areaTotalPredios != null ? areaTotalPredios : 0.0);
+        stats.put("areaTotalPredios", rollup.getAreaTotalPredios());
         
         return stats;
     }
@@ -235,14 +238,16 @@ public class SectorService {
         log.info("Obteniendo resumen de todos los sectores");
         
         List<Sector> sectores = listarActivos();
+        Map<Long, SectorRollup> rollups = sectorRollupService.obtenerTodos();
         
         return sectores.stream().map(sector -> {
+            SectorRollup rollup = rollups.getOrDefault(sector.getId(), SectorRollup.vacio(sector.getId()));
             Map<String, Object> resumen = new HashMap<>();
             resumen.put("uuid", sector.getUuid());
             resumen.put("nombre", sector.getNombre());
             resumen.put("codigo", sector.getCodigo());
-            resumen.put("totalPredios", predioRepository.countBySector(sector));
-            resumen.put("contratosActivos", contratoRepository.countBySectorAndEstado(sector, EstadoContrato.ACTIVO));
+            resumen.put("totalPredios", rollup.getTotalPredios());
+            resumen.put("contratosActivos", rollup.getContratosActivos());
             resumen.put("area", sector.getArea());
             resumen.put("poblacion", sector.getPoblacion());
             
@@ -278,19 +283,20 @@ public class SectorService {
     // ==================== UTILIDADES ====================
 
     public SectorDTO convertirADTO(Sector sector) {
-        return SectorDTO.builder()
-            .uuid(sector.getUuid())
-            .nombre(sector.getNombre())
-            .codigo(sector.getCodigo())
-            .descripcion(sector.getDescripcion())
-            .limiteNorte(sector.getLimiteNorte())
-            .limiteSur(sector.getLimiteSur())
-            .limiteEste(sector.getLimiteEste())
-            .limiteOeste(sector.getLimiteOeste())
-            .area(sector.getArea())
-            .poblacion(sector.getPoblacion())
-            .activo(sector.getActivo())
-            .build();
+        return sectorMapper.toDTO(sector);
+    }
+
+    // Sectores con sus totales de predios y contratos leídos de sector_rollup en una sola consulta
+    @Transactional(readOnly = true)
+    public List<SectorDTO> listarResumen() {
+        Map<Long, SectorRollup> rollups = sectorRollupService.obtenerTodos();
+        return sectorRepository.findAllByOrderByNombreAsc().stream()
+            .map(sector -> {
+                SectorDTO dto = sectorMapper.toDTO(sector);
+                sectorMapper.completarResumen(dto, rollups.getOrDefault(sector.getId(), SectorRollup.vacio(sector.getId())));
+                return dto;
+            })
+            .collect(Collectors.toList());
     }
 
     private String generarCodigo(String nombre) {
@@ -361,8 +367,10 @@ public class SectorService {
         
         List<Sector> sectores = soloActivos != null && soloActivos ? 
             listarActivos() : listarTodos();
+        Map<Long, SectorRollup> rollups = sectorRollupService.obtenerTodos();
         
         return sectores.stream().map(sector -> {
+            SectorRollup rollup = rollups.getOrDefault(sector.getId(), SectorRollup.vacio(sector.getId()));
             Map<String, Object> data = new HashMap<>();
             data.put("codigo", sector.getCodigo());
             data.put("nombre", sector.getNombre());
@@ -374,8 +382,8 @@ public class SectorService {
             data.put("area", sector.getArea());
             data.put("poblacion", sector.getPoblacion());
             data.put("activo", sector.getActivo());
-            data.put("totalPredios", predioRepository.countBySector(sector));
-            data.put("contratosActivos", contratoRepository.countBySectorAndEstado(sector, EstadoContrato.ACTIVO));
+            data.put("totalPredios", rollup.getTotalPredios());
+            data.put("contratosActivos", rollup.getContratosActivos());
             
             return data;
         }).collect(Collectors.toList());
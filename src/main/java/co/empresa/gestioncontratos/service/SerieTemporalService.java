@@ -0,0 +1,271 @@
+package co.empresa.gestioncontratos.service;
+
+import co.empresa.gestioncontratos.entity.Contrato;
+import co.empresa.gestioncontratos.enums.EstadoActividad;
+import co.empresa.gestioncontratos.enums.EstadoContrato;
+import co.empresa.gestioncontratos.enums.EstadoPredio;
+import co.empresa.gestioncontratos.enums.IntervaloSerie;
+import co.empresa.gestioncontratos.enums.SerieEstadistica;
+import co.empresa.gestioncontratos.repository.ActividadDiariaRepository;
+import co.empresa.gestioncontratos.repository.ActividadRepository;
+import co.empresa.gestioncontratos.repository.ContratoPredioRepository;
+import co.empresa.gestioncontratos.repository.ContratoRepository;
+import co.empresa.gestioncontratos.repository.PredioOperarioRepository;
+import co.empresa.gestioncontratos.repository.PuntoSerieRepository;
+import co.empresa.gestioncontratos.repository.UsuarioRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+// Series temporales para los gráficos del dashboard. Cada escritura suma un delta al punto
+// del día (serie_temporal) y las consultas agregan esos puntos por día, semana o mes, de modo
+// que un gráfico de un año lee unos cientos de puntos y no las tablas base.
+// Las actividades por operario se leen de actividad_diaria, que ya está agregada por día.
+// Los puntos por contrato u operario guardan el id interno; la API recibe y devuelve uuids.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class SerieTemporalService {
+
+    private static final int MAX_INTERVALOS = 400;
+
+    // Qué identifica la clave de cada serie
+    private enum Dimension { ESTADO, CONTRATO, OPERARIO }
+
+    private final PuntoSerieRepository puntoSerieRepository;
+    private final ActividadDiariaRepository actividadDiariaRepository;
+    private final ContratoRepository contratoRepository;
+    private final ContratoPredioRepository contratoPredioRepository;
+    private final ActividadRepository actividadRepository;
+    private final PredioOperarioRepository predioOperarioRepository;
+    private final UsuarioRepository usuarioRepository;
+
+    // ==================== MANTENIMIENTO INCREMENTAL ====================
+
+    public void contratoCreado(Contrato contrato) {
+        registrar(SerieEstadistica.CONTRATOS_ESTADO, contrato.getEstado(), 1);
+    }
+
+    public void contratoCambioEstado(EstadoContrato antes, EstadoContrato despues) {
+        if (antes == despues) {
+            return;
+        }
+        registrar(SerieEstadistica.CONTRATOS_ESTADO, antes, -1);
+        registrar(SerieEstadistica.CONTRATOS_ESTADO, despues, 1);
+    }
+
+    public void contratoEliminado(EstadoContrato estado) {
+        registrar(SerieEstadistica.CONTRATOS_ESTADO, estado, -1);
+    }
+
+    // Una reversión (sale de COMPLETADO) se descuenta del día en que se contó el completado, que es
+    // la última actualización del predio antes del cambio: el día de hoy no queda con un valor negativo
+    public void estadoPredioCambiado(Long contratoId, EstadoPredio antes, EstadoPredio despues,
+                                     LocalDate fechaEstadoAnterior) {
+        if (antes == despues) {
+            return;
+        }
+        if (despues == EstadoPredio.COMPLETADO) {
+            registrar(SerieEstadistica.PREDIOS_COMPLETADOS, contratoId, 1);
+        } else if (antes == EstadoPredio.COMPLETADO) {
+            registrar(SerieEstadistica.PREDIOS_COMPLETADOS, contratoId,
+                fechaEstadoAnterior != null ? fechaEstadoAnterior : LocalDate.now(), -1);
+        }
+    }
+
+    // Solo se revisan actividades pendientes: cada revisión suma al día de hoy, sin reversiones
+    public void actividadesRevisadas(EstadoActividad estado, long total) {
+        if (estado == EstadoActividad.PENDIENTE || total == 0) {
+            return;
+        }
+        registrar(SerieEstadistica.REVISIONES_ACTIVIDAD, estado, total);
+    }
+
+    private void registrar(SerieEstadistica serie, Object clave, long delta) {
+        registrar(serie, clave, LocalDate.now(), delta);
+    }
+
+    private void registrar(SerieEstadistica serie, Object clave, LocalDate fecha, long delta) {
+        if (clave == null) {
+            return;
+        }
+        puntoSerieRepository.aplicarDelta(serie.name(), clave.toString(), fecha, delta);
+    }
+
+    // ==================== CONSULTAS ====================
+
+    // Devuelve las etiquetas (inicio de cada intervalo) y, por clave, un valor por etiqueta. La clave
+    // de las series por contrato u operario es su uuid, con su nombre aparte. Con supervisorId solo
+    // entran sus contratos y los operarios asignados en ellos; las series por estado son globales y
+    // quedan para administradores
+    @Transactional(readOnly = true)
+    public Map<String, Object> consultar(SerieEstadistica serie, IntervaloSerie intervalo,
+                                         LocalDate desde, LocalDate hasta, String clave, Long supervisorId) {
+        if (hasta.isBefore(desde)) {
+            throw new RuntimeException("La fecha final no puede ser anterior a la inicial");
+        }
+        Dimension dimension = dimension(serie);
+        if (supervisorId != null && dimension == Dimension.ESTADO) {
+            throw new RuntimeException("La serie " + serie.getDescripcion() + " solo está disponible para administradores");
+        }
+
+        // Ids visibles (null = todos) y clave tal como se guarda
+        Set<Long> permitidos = null;
+        if (supervisorId != null) {
+            permitidos = new HashSet<>(dimension == Dimension.CONTRATO
+                ? contratoRepository.findIdsBySupervisorId(supervisorId)
+                : predioOperarioRepository.findOperarioIdsPorSupervisor(supervisorId));
+        }
+        Long id = clave != null && dimension != Dimension.ESTADO ? idDeClave(dimension, clave) : null;
+        if (id != null && permitidos != null && !permitidos.contains(id)) {
+            throw new RuntimeException("No tiene acceso a la clave " + clave);
+        }
+        String claveGuardada = id != null ? id.toString() : clave;
+
+        List<LocalDate> etiquetas = new ArrayList<>();
+        for (LocalDate inicio = intervalo.inicio(desde); !inicio.isAfter(hasta); inicio = intervalo.siguiente(inicio)) {
+            etiquetas.add(inicio);
+            if (etiquetas.size() > MAX_INTERVALOS) {
+                throw new RuntimeException("El rango pedido genera más de " + MAX_INTERVALOS + " intervalos");
+            }
+        }
+        LocalDate desdeEfectivo = etiquetas.get(0);
+
+        List<Object[]> puntos = serie == SerieEstadistica.ACTIVIDADES_OPERARIO
+            ? actividadDiariaRepository.sumarPorOperarioYFecha(desdeEfectivo, hasta, id)
+            : puntoSerieRepository.buscarRango(serie, desdeEfectivo, hasta, claveGuardada);
+
+        // clave -> valores alineados con las etiquetas
+        Map<String, long[]> valores = new TreeMap<>();
+        for (Object[] punto : puntos) {
+            if (permitidos != null && !permitidos.contains(Long.valueOf(punto[0].toString()))) {
+                continue;
+            }
+            LocalDate fecha = (LocalDate) punto[1];
+            int indice = indiceIntervalo(etiquetas, intervalo.inicio(fecha), intervalo);
+            valores.computeIfAbsent(punto[0].toString(), k -> new long[etiquetas.size()])[indice] +=
+                ((Number) punto[2]).longValue();
+        }
+
+        if (serie.isAcumulada()) {
+            // Nivel al final de cada intervalo: acumulado previo + deltas del rango
+            for (Object[] fila : puntoSerieRepository.sumarAntesDe(serie, desdeEfectivo, claveGuardada)) {
+                valores.computeIfAbsent(fila[0].toString(), k -> new long[etiquetas.size()]);
+                valores.get(fila[0].toString())[0] += ((Number) fila[1]).longValue();
+            }
+            valores.values().forEach(v -> {
+                for (int i = 1; i < v.length; i++) {
+                    v[i] += v[i - 1];
+                }
+            });
+        }
+
+        Map<String, Object> series = new LinkedHashMap<>();
+        Map<String, String> nombres = new LinkedHashMap<>();
+        if (dimension == Dimension.ESTADO) {
+            valores.forEach(series::put);
+        } else {
+            // Los puntos de un contrato u operario ya eliminado no tienen uuid y se omiten
+            Map<Long, String[]> descripciones = describir(dimension,
+                valores.keySet().stream().map(Long::valueOf).toList());
+            valores.forEach((k, v) -> {
+                String[] descripcion = descripciones.get(Long.valueOf(k));
+                if (descripcion != null) {
+                    series.put(descripcion[0], v);
+                    nombres.put(descripcion[0], descripcion[1]);
+                }
+            });
+        }
+
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("serie", serie);
+        resultado.put("descripcion", serie.getDescripcion());
+        resultado.put("intervalo", intervalo);
+        resultado.put("acumulada", serie.isAcumulada());
+        resultado.put("etiquetas", etiquetas);
+        resultado.put("series", series);
+        if (dimension != Dimension.ESTADO) {
+            resultado.put("nombres", nombres);
+        }
+        return resultado;
+    }
+
+    private static Dimension dimension(SerieEstadistica serie) {
+        return switch (serie) {
+            case PREDIOS_COMPLETADOS -> Dimension.CONTRATO;
+            case ACTIVIDADES_OPERARIO -> Dimension.OPERARIO;
+            case CONTRATOS_ESTADO, REVISIONES_ACTIVIDAD -> Dimension.ESTADO;
+        };
+    }
+
+    private Long idDeClave(Dimension dimension, String clave) {
+        UUID uuid;
+        try {
+            uuid = UUID.fromString(clave);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("La clave debe ser el uuid del " +
+                (dimension == Dimension.CONTRATO ? "contrato" : "operario"));
+        }
+        return dimension == Dimension.CONTRATO
+            ? contratoRepository.findByUuid(uuid)
+                .orElseThrow(() -> new RuntimeException("Contrato no encontrado")).getId()
+            : usuarioRepository.findByUuid(uuid)
+                .orElseThrow(() -> new RuntimeException("Operario no encontrado")).getId();
+    }
+
+    // id -> [uuid, nombre] de los contratos u operarios de la serie
+    private Map<Long, String[]> describir(Dimension dimension, List<Long> ids) {
+        Map<Long, String[]> descripciones = new HashMap<>();
+        if (ids.isEmpty()) {
+            return descripciones;
+        }
+        if (dimension == Dimension.CONTRATO) {
+            for (Object[] fila : contratoRepository.findUuidsYNumerosPorIds(ids)) {
+                descripciones.put((Long) fila[0], new String[] {fila[1].toString(), (String) fila[2]});
+            }
+        } else {
+            for (Object[] fila : usuarioRepository.findUuidsYNombresPorIds(ids)) {
+                descripciones.put((Long) fila[0], new String[] {fila[1].toString(), fila[2] + " " + fila[3]});
+            }
+        }
+        return descripciones;
+    }
+
+    private static int indiceIntervalo(List<LocalDate> etiquetas, LocalDate inicio, IntervaloSerie intervalo) {
+        LocalDate primero = etiquetas.get(0);
+        long indice = switch (intervalo) {
+            case DIA -> ChronoUnit.DAYS.between(primero, inicio);
+            case SEMANA -> ChronoUnit.WEEKS.between(primero, inicio);
+            case MES -> ChronoUnit.MONTHS.between(primero, inicio);
+        };
+        return (int) indice;
+    }
+
+    // ==================== CARGA INICIAL ====================
+
+    // Con la tabla vacía se siembra desde el estado actual de las tablas base; el historial
+    // de cambios de estado anterior a esta carga no existe, solo las fechas de creación/actualización
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        if (puntoSerieRepository.countByIdSerie(SerieEstadistica.CONTRATOS_ESTADO) == 0) {
+            contratoRepository.agregarPorFechaCreacionYEstado().forEach(fila -> puntoSerieRepository.aplicarDelta(
+                SerieEstadistica.CONTRATOS_ESTADO.name(), fila[1].toString(), (LocalDate) fila[0], ((Number) fila[2]).longValue()));
+        }
+        if (puntoSerieRepository.countByIdSerie(SerieEstadistica.PREDIOS_COMPLETADOS) == 0) {
+            contratoPredioRepository.agregarCompletadosPorContratoYFecha().forEach(fila -> puntoSerieRepository.aplicarDelta(
+                SerieEstadistica.PREDIOS_COMPLETADOS.name(), fila[0].toString(), (LocalDate) fila[1], ((Number) fila[2]).longValue()));
+        }
+        if (puntoSerieRepository.countByIdSerie(SerieEstadistica.REVISIONES_ACTIVIDAD) == 0) {
+            actividadRepository.agregarRevisionesPorFecha().forEach(fila -> puntoSerieRepository.aplicarDelta(
+                SerieEstadistica.REVISIONES_ACTIVIDAD.name(), fila[0].toString(), (LocalDate) fila[1], ((Number) fila[2]).longValue()));
+        }
+    }
+}
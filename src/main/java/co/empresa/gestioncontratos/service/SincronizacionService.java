@@ -0,0 +1,167 @@
+package co.empresa.gestioncontratos.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+// Sincronización incremental de los clientes móviles de operarios. El cursor es una posición
+// en cambios_seq: cada consulta devuelve las asignaciones (predio_operarios), predios de contrato
+// y actividades del operario con version_cambio mayor, más las bajas físicas, en orden de versión.
+//
+// Una transacción puede confirmar después de otra que tomó una versión mayor. Para no saltarse
+// esas filas el cursor no pasa de un tope que ya no puede tener huecos: cada segundo se anota en
+// cambios_marcas el último valor de cambios_seq y, después, el xid de la transacción que lo anota.
+// Quien tomó una versión menor o igual ya tenía xid asignado, menor que el de la marca; cuando el
+// xmin del snapshot (pg_snapshot_xmin) supera ese xid, todas esas transacciones terminaron. Las
+// filas por encima del tope se envían igual y se reenvían en la siguiente sincronización (el
+// cliente aplica por uuid). Supone READ COMMITTED y cambios_seq sin CACHE.
+@Service
+@Slf4j
+@Transactional(readOnly = true)
+public class SincronizacionService {
+
+    private static final String SQL_ASIGNACIONES =
+        "SELECT po.uuid AS \"uuid\", p.uuid AS \"predioUuid\", c.uuid AS \"contratoUuid\", po.activo AS \"activo\", " +
+        "po.fecha_asignacion AS \"fechaAsignacion\", po.fecha_desasignacion AS \"fechaDesasignacion\", " +
+        "po.version_cambio AS \"version\" " +
+        "FROM predio_operarios po JOIN predios p ON p.id = po.predio_id JOIN contratos c ON c.id = po.contrato_id " +
+        "WHERE po.operario_id = :operarioId AND po.version_cambio > :cursor " +
+        "ORDER BY po.version_cambio LIMIT :limite";
+
+    // Un predio de contrato cambia para el operario si cambia la fila o si cambia su asignación
+    private static final String SQL_PREDIOS =
+        "SELECT cp.uuid AS \"uuid\", c.uuid AS \"contratoUuid\", c.numero_contrato AS \"numeroContrato\", " +
+        "p.uuid AS \"predioUuid\", p.direccion AS \"direccion\", p.tipo AS \"tipo\", cp.estado AS \"estado\", " +
+        "cp.activo AS \"activo\", GREATEST(cp.version_cambio, po.version) AS \"version\" " +
+        "FROM (SELECT predio_id, contrato_id, MAX(version_cambio) AS version " +
+        "      FROM predio_operarios WHERE operario_id = :operarioId GROUP BY predio_id, contrato_id) po " +
+        "JOIN contrato_predios cp ON cp.predio_id = po.predio_id AND cp.contrato_id = po.contrato_id " +
+        "JOIN predios p ON p.id = cp.predio_id JOIN contratos c ON c.id = cp.contrato_id " +
+        "WHERE GREATEST(cp.version_cambio, po.version) > :cursor " +
+        "ORDER BY GREATEST(cp.version_cambio, po.version) LIMIT :limite";
+
+    private static final String SQL_ACTIVIDADES =
+        "SELECT a.uuid AS \"uuid\", cp.uuid AS \"contratoPredioUuid\", s.uuid AS \"servicioUuid\", " +
+        "a.descripcion AS \"descripcion\", a.fecha_actividad AS \"fechaActividad\", a.cantidad AS \"cantidad\", " +
+        "a.precio_aplicado AS \"precioAplicado\", a.estado AS \"estado\", a.observaciones AS \"observaciones\", " +
+        "a.version_cambio AS \"version\" " +
+        "FROM actividades a JOIN contrato_predios cp ON cp.id = a.contrato_predio_id " +
+        "JOIN servicios s ON s.id = a.servicio_id " +
+        "WHERE a.operario_id = :operarioId AND a.version_cambio > :cursor " +
+        "ORDER BY a.version_cambio LIMIT :limite";
+
+    // Las bajas de contrato_predios no guardan operario: se filtran por las asignaciones del operario
+    private static final String SQL_ELIMINADOS =
+        "SELECT e.tabla AS \"tabla\", e.uuid AS \"uuid\", e.version_cambio AS \"version\" " +
+        "FROM cambios_eliminados e " +
+        "WHERE e.version_cambio > :cursor AND (e.operario_id = :operarioId OR (e.tabla = 'contrato_predios' " +
+        "AND EXISTS (SELECT 1 FROM predio_operarios po WHERE po.operario_id = :operarioId " +
+        "AND po.predio_id = e.predio_id AND po.contrato_id = e.contrato_id))) " +
+        "ORDER BY e.version_cambio LIMIT :limite";
+
+    // Versión más alta ya cubierta por el snapshot: marcas cuyo xid es anterior a todas las
+    // transacciones en curso
+    private static final String SQL_TOPE =
+        "SELECT COALESCE(MAX(version), 0) FROM cambios_marcas " +
+        "WHERE xid < pg_snapshot_xmin(pg_current_snapshot())::text::bigint";
+
+    // Primero se lee la secuencia y después se asigna el xid (en el INSERT): así toda versión
+    // anotada la tomó una transacción con xid menor que el de la marca
+    private static final String SQL_ULTIMA_VERSION =
+        "SELECT CASE WHEN is_called THEN last_value ELSE last_value - 1 END FROM cambios_seq";
+
+    private static final String SQL_MARCAR =
+        "INSERT INTO cambios_marcas (version, xid, fecha) VALUES (?, pg_current_xact_id()::text::bigint, now())";
+
+    // Las marcas por debajo de la última cubierta ya no pueden dar un tope mayor
+    private static final String SQL_PURGAR_MARCAS =
+        "DELETE FROM cambios_marcas WHERE version < (" + SQL_TOPE + ")";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    // Lo activa SincronizacionInitializer cuando la infraestructura existe (solo PostgreSQL)
+    private volatile boolean marcasActivas;
+
+    public SincronizacionService(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void activarMarcas() {
+        marcasActivas = true;
+        marcar();
+    }
+
+    // Fuera de transacción: va a la primaria y cada sentencia confirma por su cuenta
+    @Scheduled(fixedDelayString = "${app.sync.marca-ms:1000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void marcar() {
+        if (!marcasActivas) {
+            return;
+        }
+        try {
+            Long version = jdbcTemplate.getJdbcTemplate().queryForObject(SQL_ULTIMA_VERSION, Long.class);
+            jdbcTemplate.getJdbcTemplate().update(SQL_MARCAR, version);
+            jdbcTemplate.getJdbcTemplate().update(SQL_PURGAR_MARCAS);
+        } catch (DataAccessException e) {
+            log.warn("No se pudo anotar la marca de sincronización: {}", e.getMessage());
+        }
+    }
+
+    public Map<String, Object> cambiosDesde(Long operarioId, long cursor, int limite) {
+        long tope = jdbcTemplate.getJdbcTemplate().queryForObject(SQL_TOPE, Long.class);
+        MapSqlParameterSource parametros = new MapSqlParameterSource()
+            .addValue("operarioId", operarioId)
+            .addValue("cursor", cursor)
+            .addValue("limite", limite + 1);
+
+        Map<String, List<Map<String, Object>>> porTipo = new LinkedHashMap<>();
+        porTipo.put("asignaciones", jdbcTemplate.queryForList(SQL_ASIGNACIONES, parametros));
+        porTipo.put("predios", jdbcTemplate.queryForList(SQL_PREDIOS, parametros));
+        porTipo.put("actividades", jdbcTemplate.queryForList(SQL_ACTIVIDADES, parametros));
+        porTipo.put("eliminados", jdbcTemplate.queryForList(SQL_ELIMINADOS, parametros));
+
+        // Cada lista viene ordenada y limitada: las "limite" versiones menores del conjunto están
+        // entre ellas. Se toman esas y el resto queda para la página siguiente
+        List<Long> versiones = new ArrayList<>();
+        porTipo.values().forEach(filas -> filas.forEach(fila -> versiones.add(version(fila))));
+        Collections.sort(versiones);
+        boolean hayMas = versiones.size() > limite;
+        long ultima = versiones.isEmpty() ? cursor : versiones.get(Math.min(limite, versiones.size()) - 1);
+
+        long nuevoCursor = ultima;
+        Map<String, Object> respuesta = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Map<String, Object>>> entrada : porTipo.entrySet()) {
+            List<Map<String, Object>> incluidas = new ArrayList<>();
+            for (Map<String, Object> fila : entrada.getValue()) {
+                long version = version(fila);
+                if (version > ultima) {
+                    continue;
+                }
+                if (version > tope) {
+                    nuevoCursor = Math.min(nuevoCursor, version - 1);
+                }
+                incluidas.add(fila);
+            }
+            respuesta.put(entrada.getKey(), incluidas);
+        }
+        nuevoCursor = Math.max(nuevoCursor, cursor);
+
+        respuesta.put("cursor", nuevoCursor);
+        // Si el cursor no avanzó no tiene sentido pedir la página siguiente de inmediato
+        respuesta.put("hayMas", hayMas && nuevoCursor > cursor);
+        log.debug("Sincronización operario {} desde {}: {} cambios, cursor {} (tope {})",
+            operarioId, cursor, Math.min(limite, versiones.size()), nuevoCursor, tope);
+        return respuesta;
+    }
+
+    private static long version(Map<String, Object> fila) {
+        return ((Number) fila.get("version")).longValue();
+    }
+}
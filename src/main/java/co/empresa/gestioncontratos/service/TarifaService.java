@@ -0,0 +1,123 @@
+package co.empresa.gestioncontratos.service;
+
+import co.empresa.gestioncontratos.entity.Actividad;
+import co.empresa.gestioncontratos.enums.TipoPredio;
+import co.empresa.gestioncontratos.repository.TarifaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+// Motor de precios de actividades: publica la matriz de tarifas vigentes como instantánea
+// inmutable con número de versión. Se recarga al modificar tarifas (tras confirmar) y
+// periódicamente para recoger cambios de otros nodos; solo cambia de versión si cambian precios.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TarifaService {
+
+    private final TarifaRepository tarifaRepository;
+
+    private volatile MatrizTarifas matriz = MatrizTarifas.vacia();
+
+    // Resultado de cotizar una línea; precio y total en null si no hay tarifa
+    public record Cotizacion(BigDecimal precioUnitario, BigDecimal total, long version) {
+        public boolean tieneTarifa() {
+            return precioUnitario != null;
+        }
+    }
+
+    public record LineaCotizacion(UUID planTarifaUuid, UUID servicioUuid, TipoPredio tipoPredio, BigDecimal cantidad) {
+    }
+
+    // ==================== CONSULTAS ====================
+
+    public MatrizTarifas getMatriz() {
+        return matriz;
+    }
+
+    public Cotizacion cotizar(Long planId, Long servicioId, TipoPredio tipo, BigDecimal cantidad) {
+        MatrizTarifas actual = matriz;
+        return cotizacion(actual, actual.precioCentavos(planId, servicioId, tipo), cantidad);
+    }
+
+    public Cotizacion cotizar(UUID planUuid, UUID servicioUuid, TipoPredio tipo, BigDecimal cantidad) {
+        MatrizTarifas actual = matriz;
+        return cotizacion(actual, actual.precioCentavos(planUuid, servicioUuid, tipo), cantidad);
+    }
+
+    // Cotiza un lote completo contra una sola versión de la matriz
+    public List<Cotizacion> cotizarLote(List<LineaCotizacion> lineas) {
+        MatrizTarifas actual = matriz;
+        List<Cotizacion> resultado = new ArrayList<>(lineas.size());
+        for (LineaCotizacion linea : lineas) {
+            resultado.add(cotizacion(actual,
+                actual.precioCentavos(linea.planTarifaUuid(), linea.servicioUuid(), linea.tipoPredio()),
+                linea.cantidad()));
+        }
+        return resultado;
+    }
+
+    // Fija precioAplicado de una actividad nueva según el plan de su contrato, el servicio y el tipo de predio
+    public boolean asignarPrecio(Actividad actividad, Long planId, Long servicioId, TipoPredio tipo) {
+        long centavos = matriz.precioCentavos(planId, servicioId, tipo);
+        if (centavos == MatrizTarifas.SIN_TARIFA) {
+            return false;
+        }
+        actividad.setPrecioAplicado(MatrizTarifas.aDecimal(centavos));
+        return true;
+    }
+
+    private static Cotizacion cotizacion(MatrizTarifas matriz, long centavos, BigDecimal cantidad) {
+        if (centavos == MatrizTarifas.SIN_TARIFA) {
+            return new Cotizacion(null, null, matriz.getVersion());
+        }
+        BigDecimal unidades = cantidad != null ? cantidad : BigDecimal.ONE;
+        return new Cotizacion(MatrizTarifas.aDecimal(centavos),
+            MatrizTarifas.aDecimal(MatrizTarifas.totalCentavos(centavos, unidades)), matriz.getVersion());
+    }
+
+    // ==================== RECARGA ====================
+
+    // Llamar desde las escrituras de tarifas, planes o servicios
+    public void tarifasModificadas() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recargar();
+                }
+            });
+        } else {
+            recargar();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargarAlIniciar() {
+        recargar();
+    }
+
+    @Scheduled(fixedDelayString = "${app.tarifas.recarga-ms:300000}",
+               initialDelayString = "${app.tarifas.recarga-ms:300000}")
+    public synchronized void recargar() {
+        try {
+            MatrizTarifas actual = matriz;
+            MatrizTarifas nueva = MatrizTarifas.construir(actual.getVersion() + 1, tarifaRepository.findTarifasVigentes());
+            if (actual.getVersion() > 0 && nueva.mismosPrecios(actual)) {
+                return;
+            }
+            matriz = nueva;
+            log.info("Matriz de tarifas publicada: versión {}, {} tarifas", nueva.getVersion(), nueva.getTotalTarifas());
+        } catch (Exception e) {
+            log.warn("No se pudo cargar la matriz de tarifas: {}", e.getMessage());
+        }
+    }
+}
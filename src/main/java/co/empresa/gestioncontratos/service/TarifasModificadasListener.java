@@ -0,0 +1,24 @@
+package co.empresa.gestioncontratos.service;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+// Toda escritura JPA de tarifas, planes o servicios republica la matriz de precios al confirmar
+// la transacción. Las cargas por JDBC (generador) llaman a TarifaService.tarifasModificadas
+public class TarifasModificadasListener {
+
+    private final ObjectProvider<TarifaService> tarifaService;
+
+    public TarifasModificadasListener(ObjectProvider<TarifaService> tarifaService) {
+        this.tarifaService = tarifaService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void modificada(Object entidad) {
+        tarifaService.getObject().tarifasModificadas();
+    }
+}
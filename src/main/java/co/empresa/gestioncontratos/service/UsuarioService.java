@@ -1,18 +1,24 @@
 package co.empresa.gestioncontratos.service;
 
+import co.empresa.gestioncontratos.dto.UsuarioBusquedaDTO;
 import co.empresa.gestioncontratos.dto.UsuarioDTO;
 import co.empresa.gestioncontratos.entity.Usuario;
 import co.empresa.gestioncontratos.enums.PerfilUsuario;
+import co.empresa.gestioncontratos.event.DatosModificadosEvent;
+import co.empresa.gestioncontratos.mapper.UsuarioMapper;
 import co.empresa.gestioncontratos.repository.UsuarioRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -23,6 +29,11 @@ public class UsuarioService {
 
     private final UsuarioRepository usuarioRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CustomUserDetailsService userDetailsService;
+    private final IndiceUnicidadUsuarios indiceUnicidad;
+    private final UsuarioMapper usuarioMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JwtService jwtService;
 
     // ==================== CONSULTAS ====================
 
@@ -46,7 +57,7 @@ public class UsuarioService {
         
         try {
             Page<Usuario> usuarios = usuarioRepository.findUsuariosConFiltros(perfil, 
-                    filtro != null ? filtro.trim() : null, pageable);
+                    Usuario.normalizarBusqueda(filtro), pageable);
             log.info("✅ Usuarios encontrados con filtros: {}", usuarios.getTotalElements());
             return usuarios;
         } catch (Exception e) {
@@ -55,6 +66,21 @@ public class UsuarioService {
         }
     }
 
+    @Transactional(readOnly = true)
+    public Page<UsuarioBusquedaDTO> buscarResumen(PerfilUsuario perfil, String filtro, Pageable pageable) {
+        String filtroNormalizado = Usuario.normalizarBusqueda(filtro);
+        if (perfil == null && filtroNormalizado.isEmpty()) {
+            return usuarioRepository.listarResumen(pageable);
+        }
+        return usuarioRepository.buscarResumen(perfil, filtroNormalizado, pageable);
+    }
+
+    // Para búsqueda al teclear: sin consulta COUNT
+    @Transactional(readOnly = true)
+    public Slice<UsuarioBusquedaDTO> buscarResumenSlice(PerfilUsuario perfil, String filtro, Pageable pageable) {
+        return usuarioRepository.buscarResumenSlice(perfil, Usuario.normalizarBusqueda(filtro), pageable);
+    }
+
     @Transactional(readOnly = true)
     public Usuario buscarPorUuid(UUID uuid) {
         log.info("=== BUSCANDO USUARIO POR UUID: {} ===", uuid);
@@ -70,6 +96,12 @@ public class UsuarioService {
         }
     }
 
+    // Referencia sin cargar la entidad, para pasar el usuario autenticado a consultas
+    @Transactional(readOnly = true)
+    public Usuario referencia(Long id) {
+        return usuarioRepository.getReferenceById(id);
+    }
+
     @Transactional(readOnly = true)
     public Usuario buscarPorUsername(String username) {
         log.info("=== BUSCANDO USUARIO POR USERNAME: {} ===", username);
@@ -97,14 +129,16 @@ public class UsuarioService {
             
             log.info("Validando unicidad de username: {}", usuarioDTO.getUsername());
             // Validar que no exista el username
-            if (usuarioRepository.existsByUsernameAndActivoTrue(usuarioDTO.getUsername())) {
+            if (indiceUnicidad.existeUsername(usuarioDTO.getUsername(), (Long) null).orElse(false) ||
+                usuarioRepository.existsByUsernameAndActivoTrue(usuarioDTO.getUsername())) {
                 log.error("Username ya existe: {}", usuarioDTO.getUsername());
                 throw new RuntimeException("Ya existe un usuario con el username: " + usuarioDTO.getUsername());
             }
 
             log.info("Validando unicidad de email: {}", usuarioDTO.getEmail());
             // Validar que no exista el email
-            if (usuarioRepository.existsByEmailAndActivoTrue(usuarioDTO.getEmail())) {
+            if (indiceUnicidad.existeEmail(usuarioDTO.getEmail(), (Long) null).orElse(false) ||
+                usuarioRepository.existsByEmailAndActivoTrue(usuarioDTO.getEmail())) {
                 log.error("Email ya existe: {}", usuarioDTO.getEmail());
                 throw new RuntimeException("Ya existe un usuario con el email: " + usuarioDTO.getEmail());
             }
@@ -128,6 +162,8 @@ public class UsuarioService {
             log.info("Guardando en base de datos...");
             
             Usuario usuarioGuardado = usuarioRepository.save(usuario);
+            indiceUnicidad.registrarAlConfirmar(usuarioGuardado);
+            eventPublisher.publishEvent(new DatosModificadosEvent("usuario"));
             
             log.info("✅ Usuario guardado con ID: {}", usuarioGuardado.getId());
             log.info("✅ Usuario guardado con UUID: {}", usuarioGuardado.getUuid());
@@ -161,17 +197,20 @@ public class UsuarioService {
         try {
             Usuario usuario = buscarPorUuid(uuid);
             log.info("Usuario encontrado para actualizar: {}", usuario.getUsername());
+            String usernameAnterior = usuario.getUsername();
 
             // Limpiar espacios
             usuarioDTO.trim();
 
             // Validar username único (excluyendo el usuario actual)
-            if (usuarioRepository.existsByUsernameAndIdNotAndActivoTrue(usuarioDTO.getUsername(), usuario.getId())) {
+            if (indiceUnicidad.existeUsername(usuarioDTO.getUsername(), usuario.getId()).orElse(false) ||
+                usuarioRepository.existsByUsernameAndIdNotAndActivoTrue(usuarioDTO.getUsername(), usuario.getId())) {
                 throw new RuntimeException("Ya existe otro usuario con el username: " + usuarioDTO.getUsername());
             }
 
             // Validar email único (excluyendo el usuario actual)
-            if (usuarioRepository.existsByEmailAndIdNotAndActivoTrue(usuarioDTO.getEmail(), usuario.getId())) {
+            if (indiceUnicidad.existeEmail(usuarioDTO.getEmail(), usuario.getId()).orElse(false) ||
+                usuarioRepository.existsByEmailAndIdNotAndActivoTrue(usuarioDTO.getEmail(), usuario.getId())) {
                 throw new RuntimeException("Ya existe otro usuario con el email: " + usuarioDTO.getEmail());
             }
 
@@ -191,6 +230,9 @@ public class UsuarioService {
             }
 
             Usuario usuarioActualizado = usuarioRepository.save(usuario);
+            userDetailsService.invalidar(usernameAnterior, usuarioActualizado.getUsername());
+            indiceUnicidad.registrarAlConfirmar(usuarioActualizado);
+            eventPublisher.publishEvent(new DatosModificadosEvent("usuario"));
             log.info("✅ Usuario actualizado: {} ({})", usuarioActualizado.getUsername(), usuarioActualizado.getPerfil());
             
             return usuarioActualizado;
@@ -211,6 +253,12 @@ public class UsuarioService {
             usuario.setActivo(!usuario.getActivo());
             
             Usuario usuarioActualizado = usuarioRepository.save(usuario);
+            userDetailsService.invalidar(usuario.getUsername());
+            if (!usuarioActualizado.getActivo()) {
+                jwtService.revocar(usuarioActualizado.getId());
+            }
+            indiceUnicidad.registrarAlConfirmar(usuarioActualizado);
+            eventPublisher.publishEvent(new DatosModificadosEvent("usuario"));
             log.info("✅ Estado del usuario {} cambiado de {} a {}", 
                     usuario.getUsername(), estadoAnterior, usuario.getActivo());
             
@@ -232,6 +280,10 @@ public class UsuarioService {
             // (aquí puedes agregar validaciones adicionales)
             
             usuarioRepository.delete(usuario);
+            userDetailsService.invalidar(usuario.getUsername());
+            jwtService.revocar(usuario.getId());
+            indiceUnicidad.eliminarAlConfirmar(usuario.getId());
+            eventPublisher.publishEvent(new DatosModificadosEvent("usuario"));
             log.info("✅ Usuario eliminado: {}", usuario.getUsername());
             
         } catch (Exception e) {
@@ -246,6 +298,12 @@ public class UsuarioService {
     public boolean existeUsername(String username, UUID uuidExcluir) {
         log.debug("Validando username: {} (excluir UUID: {})", username, uuidExcluir);
         
+        Optional<Boolean> enIndice = indiceUnicidad.existeUsername(username, uuidExcluir);
+        if (enIndice.isPresent()) {
+            return enIndice.get();
+        }
+        
+        // Índice aún sin cargar: se consulta la base de datos
         try {
             if (uuidExcluir != null) {
                 Usuario usuarioExistente = usuarioRepository.findByUuid(uuidExcluir).orElse(null);
@@ -267,6 +325,11 @@ public class UsuarioService {
     public boolean existeEmail(String email, UUID uuidExcluir) {
         log.debug("Validando email: {} (excluir UUID: {})", email, uuidExcluir);
         
+        Optional<Boolean> enIndice = indiceUnicidad.existeEmail(email, uuidExcluir);
+        if (enIndice.isPresent()) {
+            return enIndice.get();
+        }
+        
         try {
             if (uuidExcluir != null) {
                 Usuario usuarioExistente = usuarioRepository.findByUuid(uuidExcluir).orElse(null);
@@ -326,17 +389,13 @@ public class UsuarioService {
 
     public UsuarioDTO convertirADTO(Usuario usuario) {
         log.debug("Convirtiendo usuario a DTO: {}", usuario.getUsername());
-        
-        return UsuarioDTO.builder()
-                .uuid(usuario.getUuid())
-                .username(usuario.getUsername())
-                .nombre(usuario.getNombre())
-                .apellido(usuario.getApellido())
-                .email(usuario.getEmail())
-                .telefono(usuario.getTelefono())
-                .perfil(usuario.getPerfil())
-                .activo(usuario.getActivo())
-                .build();
+        return usuarioMapper.toDTO(usuario);
+    }
+
+    // Usuarios activos de un perfil proyectados directamente a DTO, sin cargar entidades
+    @Transactional(readOnly = true)
+    public List<UsuarioDTO> listarActivosPorPerfil(PerfilUsuario perfil) {
+        return usuarioMapper.toDTOs(usuarioRepository.listarResumenActivosPorPerfil(perfil));
     }
     @Transactional(readOnly = true)
     public List<Usuario> findSupervisoresActivos() {
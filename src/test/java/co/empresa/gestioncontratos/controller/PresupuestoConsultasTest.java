@@ -0,0 +1,90 @@
+package co.empresa.gestioncontratos.controller;
+
+import co.empresa.gestioncontratos.config.MedicionConsultas;
+import co.empresa.gestioncontratos.config.PresupuestoConsultas;
+import co.empresa.gestioncontratos.dto.UsuarioPrincipal;
+import co.empresa.gestioncontratos.enums.PerfilUsuario;
+import co.empresa.gestioncontratos.service.EscenarioActividades;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Los listados con @PresupuestoConsultas no deben crecer en sentencias con la cantidad de filas:
+// varios contratos y sectores tienen que caber en el mismo presupuesto
+@SpringBootTest
+@ActiveProfiles("test")
+class PresupuestoConsultasTest {
+
+    private static final int ESCENARIOS = 3;
+
+    @Autowired
+    private ApplicationContext contexto;
+
+    @Autowired
+    private SectorController sectorController;
+
+    @Autowired
+    private ContratoController contratoController;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private EscenarioActividades escenario;
+
+    @BeforeEach
+    void preparar() {
+        for (int i = 0; i < ESCENARIOS; i++) {
+            escenario = EscenarioActividades.crear(contexto);
+        }
+    }
+
+    @Test
+    void listarSectoresCabeEnSuPresupuesto() throws Exception {
+        int presupuesto = SectorController.class.getMethod("listarTodos")
+            .getAnnotation(PresupuestoConsultas.class).value();
+
+        try (MedicionConsultas medicion = MedicionConsultas.iniciar()) {
+            ResponseEntity<? extends List<?>> respuesta = sectorController.listarTodos();
+
+            assertThat(respuesta.getBody()).hasSizeGreaterThanOrEqualTo(ESCENARIOS);
+            assertThat(medicion.sentencias()).isPositive().isLessThanOrEqualTo(presupuesto);
+        }
+    }
+
+    @Test
+    void listarContratosCabeEnSuPresupuesto() throws Exception {
+        int presupuesto = ContratoController.class.getMethod("listarContratosAPI", UsuarioPrincipal.class)
+            .getAnnotation(PresupuestoConsultas.class).value();
+        UsuarioPrincipal administrador = UsuarioPrincipal.de(escenario.supervisor).toBuilder()
+            .perfil(PerfilUsuario.ADMINISTRADOR).build();
+
+        try (MedicionConsultas medicion = MedicionConsultas.iniciar()) {
+            ResponseEntity<? extends List<?>> respuesta = contratoController.listarContratosAPI(administrador);
+
+            assertThat(respuesta.getBody()).hasSizeGreaterThanOrEqualTo(ESCENARIOS);
+            assertThat(medicion.sentencias()).isPositive().isLessThanOrEqualTo(presupuesto);
+        }
+    }
+
+    // La medición es del DataSource: también cuenta JdbcTemplate y las filas que se leen
+    @Test
+    void cuentaSentenciasYFilasDeJdbcTemplate() {
+        long sectores = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sectores", Long.class);
+
+        try (MedicionConsultas medicion = MedicionConsultas.iniciar()) {
+            List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM sectores", Long.class);
+
+            assertThat(medicion.sentencias()).isEqualTo(1);
+            assertThat(medicion.filas()).isEqualTo(sectores).isEqualTo(ids.size());
+        }
+    }
+}
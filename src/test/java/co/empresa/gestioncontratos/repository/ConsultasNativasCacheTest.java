@@ -0,0 +1,71 @@
+package co.empresa.gestioncontratos.repository;
+
+import co.empresa.gestioncontratos.entity.Sector;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Los deltas de los acumulados (sentencias nativas) no deben vaciar la caché de segundo nivel
+@SpringBootTest
+@ActiveProfiles("test")
+class ConsultasNativasCacheTest {
+
+    @Autowired
+    private SectorRepository sectorRepository;
+
+    @Autowired
+    private ActividadDiariaRepository actividadDiariaRepository;
+
+    @Autowired
+    private PuntoSerieRepository puntoSerieRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long sectorId;
+
+    @BeforeEach
+    void preparar() {
+        String sufijo = UUID.randomUUID().toString().substring(0, 8);
+        sectorId = sectorRepository.save(Sector.builder()
+            .nombre("Sector " + sufijo).codigo("S" + sufijo).activo(true).build()).getId();
+        sectorRepository.findById(sectorId);
+        assertThat(cache().containsEntity(Sector.class, sectorId)).isTrue();
+    }
+
+    @Test
+    void deltaDiarioConservaLaCacheDeSectores() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+            actividadDiariaRepository.aplicarDelta(1L, LocalDate.now(), "PENDIENTE", 1, BigDecimal.TEN));
+
+        assertThat(cache().containsEntity(Sector.class, sectorId)).isTrue();
+    }
+
+    @Test
+    void deltaDeSerieConservaLaCacheDeSectores() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+            puntoSerieRepository.aplicarDelta("REVISIONES_ACTIVIDAD", "APROBADA", LocalDate.now(), 1));
+
+        assertThat(cache().containsEntity(Sector.class, sectorId)).isTrue();
+    }
+
+    private Cache cache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+}
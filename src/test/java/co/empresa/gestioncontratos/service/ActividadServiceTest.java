@@ -0,0 +1,187 @@
+package co.empresa.gestioncontratos.service;
+
+import co.empresa.gestioncontratos.dto.ActividadLoteDTO;
+import co.empresa.gestioncontratos.dto.RevisionMasivaDTO;
+import co.empresa.gestioncontratos.enums.EstadoActividad;
+import co.empresa.gestioncontratos.repository.ActividadRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ActividadServiceTest {
+
+    @Autowired
+    private ApplicationContext contexto;
+
+    @Autowired
+    private ActividadService actividadService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    private ActividadRepository actividadRepository;
+
+    private EscenarioActividades escenario;
+
+    @BeforeEach
+    void preparar() {
+        escenario = EscenarioActividades.crear(contexto);
+    }
+
+    // ==================== INGESTA ====================
+
+    @Test
+    void reenviarElLoteNoDuplica() {
+        LocalDate ayer = LocalDate.now().minusDays(1);
+        List<ActividadLoteDTO> lote = List.of(
+            escenario.actividad(UUID.randomUUID(), ayer),
+            escenario.actividad(UUID.randomUUID(), ayer));
+
+        List<Map<String, Object>> primero = actividadService.registrarLote(escenario.operario.getId(), lote);
+        List<Map<String, Object>> reenvio = actividadService.registrarLote(escenario.operario.getId(), lote);
+
+        assertThat(primero).extracting(r -> r.get("estado")).containsOnly(ActividadService.CREADA);
+        assertThat(reenvio).extracting(r -> r.get("estado")).containsOnly(ActividadService.DUPLICADA);
+        assertThat(actividadesDelOperario()).isEqualTo(2);
+    }
+
+    @Test
+    void reenvioConLaFechaCorregidaTambienEsDuplicado() {
+        UUID uuid = UUID.randomUUID();
+
+        actividadService.registrarLote(escenario.operario.getId(),
+            List.of(escenario.actividad(uuid, LocalDate.now().minusDays(40))));
+        List<Map<String, Object>> reenvio = actividadService.registrarLote(escenario.operario.getId(),
+            List.of(escenario.actividad(uuid, LocalDate.now().minusDays(1))));
+
+        assertThat(reenvio.get(0).get("estado")).isEqualTo(ActividadService.DUPLICADA);
+        assertThat(actividadesDelOperario()).isEqualTo(1);
+    }
+
+    @Test
+    void uuidRepetidoEnElMismoLoteSeInsertaUnaVez() {
+        UUID uuid = UUID.randomUUID();
+        LocalDate ayer = LocalDate.now().minusDays(1);
+
+        List<Map<String, Object>> resultados = actividadService.registrarLote(escenario.operario.getId(),
+            List.of(escenario.actividad(uuid, ayer), escenario.actividad(uuid, ayer)));
+
+        assertThat(resultados).extracting(r -> r.get("estado"))
+            .containsExactly(ActividadService.CREADA, ActividadService.DUPLICADA);
+        assertThat(actividadesDelOperario()).isEqualTo(1);
+    }
+
+    // ==================== REVISIÓN MASIVA ====================
+
+    @Test
+    void aprobarCambiaEstadoYRegistraLaRevision() {
+        List<UUID> uuids = registrar(3);
+
+        Map<String, Object> resultado = actividadService.revisarMasivo(
+            RevisionMasivaDTO.builder().estado(EstadoActividad.APROBADA).actividadUuids(uuids).build(),
+            escenario.revisor());
+
+        assertThat(resultado.get("seleccionadas")).isEqualTo(3);
+        assertThat(resultado.get("revisadas")).isEqualTo(3L);
+        assertThat(resultado.get("omitidas")).isEqualTo(0L);
+        assertThat(enEstado(EstadoActividad.APROBADA)).isEqualTo(3);
+        assertThat(revisionesDelLote(resultado.get("lote"), EstadoActividad.APROBADA)).isEqualTo(3);
+        assertThat(notasDelLote(resultado.get("lote"))).containsOnlyNulls();
+        assertThat(diarias(EstadoActividad.PENDIENTE)).isZero();
+        assertThat(diarias(EstadoActividad.APROBADA)).isEqualTo(3);
+    }
+
+    @Test
+    void rechazarGuardaElMotivo() {
+        List<UUID> uuids = registrar(2);
+
+        Map<String, Object> resultado = actividadService.revisarMasivo(
+            RevisionMasivaDTO.builder().estado(EstadoActividad.RECHAZADA).nota("Sin evidencia")
+                .actividadUuids(uuids).build(),
+            escenario.revisor());
+
+        assertThat(resultado.get("revisadas")).isEqualTo(2L);
+        assertThat(enEstado(EstadoActividad.RECHAZADA)).isEqualTo(2);
+        assertThat(revisionesDelLote(resultado.get("lote"), EstadoActividad.RECHAZADA)).isEqualTo(2);
+        assertThat(notasDelLote(resultado.get("lote"))).containsExactly("Sin evidencia");
+        assertThat(diarias(EstadoActividad.RECHAZADA)).isEqualTo(2);
+    }
+
+    @Test
+    void lasQueDejaronDeEstarPendientesSeOmiten() {
+        List<UUID> uuids = registrar(3);
+        // Otra revisión aprueba la primera entre la selección y la actualización
+        doAnswer(invocacion -> {
+            @SuppressWarnings("unchecked")
+            List<Long> ids = (List<Long>) invocacion.callRealMethod();
+            jdbcTemplate.update("UPDATE actividades SET estado = 'APROBADA' WHERE id = ?", ids.get(0));
+            return ids;
+        }).when(actividadRepository).findIdsPendientesPorUuids(any(), any());
+
+        Map<String, Object> resultado = actividadService.revisarMasivo(
+            RevisionMasivaDTO.builder().estado(EstadoActividad.RECHAZADA).nota("Duplicada")
+                .actividadUuids(uuids).build(),
+            escenario.revisor());
+
+        assertThat(resultado.get("seleccionadas")).isEqualTo(3);
+        assertThat(resultado.get("revisadas")).isEqualTo(2L);
+        assertThat(resultado.get("omitidas")).isEqualTo(1L);
+        assertThat(revisionesDelLote(resultado.get("lote"), EstadoActividad.RECHAZADA)).isEqualTo(2);
+    }
+
+    private List<UUID> registrar(int cantidad) {
+        List<UUID> uuids = new ArrayList<>();
+        List<ActividadLoteDTO> lote = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            UUID uuid = UUID.randomUUID();
+            uuids.add(uuid);
+            lote.add(escenario.actividad(uuid, LocalDate.now().minusDays(1)));
+        }
+        actividadService.registrarLote(escenario.operario.getId(), lote);
+        return uuids;
+    }
+
+    private long enEstado(EstadoActividad estado) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM actividades WHERE operario_id = ? AND estado = ?",
+            Long.class, escenario.operario.getId(), estado.name());
+    }
+
+    private long revisionesDelLote(Object lote, EstadoActividad estado) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM actividad_revisiones " +
+            "WHERE lote = ? AND estado = ? AND estado_anterior = 'PENDIENTE' AND revisor_id = ?",
+            Long.class, lote, estado.name(), escenario.supervisor.getId());
+    }
+
+    private List<String> notasDelLote(Object lote) {
+        return jdbcTemplate.queryForList("SELECT DISTINCT nota FROM actividad_revisiones WHERE lote = ?",
+            String.class, lote);
+    }
+
+    private long diarias(EstadoActividad estado) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(total_actividades), 0) FROM actividad_diaria " +
+            "WHERE operario_id = ? AND estado = ?", Long.class, escenario.operario.getId(), estado.name());
+    }
+
+    private long actividadesDelOperario() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM actividades WHERE operario_id = ?",
+            Long.class, escenario.operario.getId());
+    }
+}
@@ -0,0 +1,92 @@
+package co.empresa.gestioncontratos.service;
+
+import co.empresa.gestioncontratos.dto.ActividadLoteDTO;
+import co.empresa.gestioncontratos.dto.UsuarioPrincipal;
+import co.empresa.gestioncontratos.entity.*;
+import co.empresa.gestioncontratos.enums.PerfilUsuario;
+import co.empresa.gestioncontratos.enums.TipoPredio;
+import co.empresa.gestioncontratos.repository.*;
+import org.springframework.context.ApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+// Un contrato activo con un predio asignado a un operario, un servicio y su tarifa, para las pruebas
+// de integración sobre H2 (también las de otros paquetes). Nombres únicos por escenario: las pruebas
+// comparten la base del contexto
+public class EscenarioActividades {
+
+    // Hash con formato BCrypt sin contraseña conocida: los usuarios del escenario no inician sesión
+    private static final String PASSWORD = "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z4rj7uJmX7B1L9Ct5pKpJX6e";
+
+    public Usuario supervisor;
+    public Usuario operario;
+    public Servicio servicio;
+    public Contrato contrato;
+    public Predio predio;
+    public ContratoPredio contratoPredio;
+
+    public static EscenarioActividades crear(ApplicationContext contexto) {
+        EscenarioActividades escenario = new EscenarioActividades();
+        String sufijo = UUID.randomUUID().toString().substring(0, 8);
+
+        UsuarioRepository usuarioRepository = contexto.getBean(UsuarioRepository.class);
+        escenario.supervisor = usuarioRepository.save(usuario("sup_" + sufijo, PerfilUsuario.SUPERVISOR));
+        escenario.operario = usuarioRepository.save(usuario("ope_" + sufijo, PerfilUsuario.OPERARIO));
+
+        PlanTarifa plan = contexto.getBean(PlanTarifaRepository.class)
+            .save(PlanTarifa.builder().nombre("Plan " + sufijo).activo(true).build());
+        escenario.servicio = contexto.getBean(ServicioRepository.class)
+            .save(Servicio.builder().nombre("Servicio " + sufijo).activo(true).build());
+        contexto.getBean(TarifaRepository.class).save(Tarifa.builder()
+            .planTarifa(plan).servicio(escenario.servicio)
+            .precioUrbano(new BigDecimal("10.50")).precioRural(new BigDecimal("12.00"))
+            .activo(true).build());
+
+        Sector sector = contexto.getBean(SectorRepository.class).save(Sector.builder()
+            .nombre("Sector " + sufijo).codigo("S" + sufijo).activo(true).build());
+        escenario.predio = contexto.getBean(PredioRepository.class).save(Predio.builder()
+            .direccion("Calle " + sufijo).sector(sector).tipo(TipoPredio.URBANO)
+            .codigoCatastral("PRUEBA-" + sufijo).activo(true).build());
+        escenario.contrato = contexto.getBean(ContratoRepository.class).save(Contrato.builder()
+            .numeroContrato("PRUEBA-" + sufijo).sector(sector).planTarifa(plan)
+            .fechaInicio(LocalDate.now().minusMonths(6)).fechaFin(LocalDate.now().plusMonths(6))
+            .objetivo("Contrato de prueba " + sufijo).supervisor(escenario.supervisor)
+            .build());
+        escenario.contratoPredio = contexto.getBean(ContratoPredioRepository.class).save(ContratoPredio.builder()
+            .contrato(escenario.contrato).predio(escenario.predio).operario(escenario.operario)
+            .activo(true).build());
+        contexto.getBean(PredioOperarioRepository.class).save(PredioOperario.builder()
+            .contrato(escenario.contrato).predio(escenario.predio).operario(escenario.operario)
+            .activo(true).build());
+        return escenario;
+    }
+
+    ActividadLoteDTO actividad(UUID uuid, LocalDate fecha) {
+        return ActividadLoteDTO.builder()
+            .uuid(uuid)
+            .contratoPredioUuid(contratoPredio.getUuid())
+            .servicioUuid(servicio.getUuid())
+            .descripcion("Actividad de prueba")
+            .fechaActividad(fecha)
+            .cantidad(BigDecimal.ONE)
+            .build();
+    }
+
+    UsuarioPrincipal revisor() {
+        return UsuarioPrincipal.de(supervisor);
+    }
+
+    private static Usuario usuario(String username, PerfilUsuario perfil) {
+        return Usuario.builder()
+            .username(username)
+            .password(PASSWORD)
+            .nombre("Nombre " + username)
+            .apellido("Apellido " + username)
+            .email(username + "@pruebas.local")
+            .perfil(perfil)
+            .activo(true)
+            .build();
+    }
+}
@@ -0,0 +1,70 @@
+package co.empresa.gestioncontratos.service;
+
+import co.empresa.gestioncontratos.dto.UsuarioPrincipal;
+import co.empresa.gestioncontratos.enums.PerfilUsuario;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtServiceTest {
+
+    private final JwtService jwtService = new JwtService("secreto-de-prueba", 86_400_000, 100, Duration.ofMinutes(5));
+
+    @Test
+    void tokenValidoSeVerifica() {
+        String token = jwtService.generarToken(usuario(1L));
+
+        assertThat(jwtService.verificar(token)).get().extracting(UsuarioPrincipal::getId).isEqualTo(1L);
+    }
+
+    @Test
+    void revocarInvalidaElTokenYaVerificado() {
+        String token = jwtService.generarToken(usuario(1L));
+        assertThat(jwtService.verificar(token)).isPresent();
+
+        jwtService.revocar(1L);
+
+        assertThat(jwtService.verificar(token)).isEmpty();
+    }
+
+    @Test
+    void revocarInvalidaElTokenAunNoVerificado() {
+        String token = jwtService.generarToken(usuario(1L));
+
+        jwtService.revocar(1L);
+
+        assertThat(jwtService.verificar(token)).isEmpty();
+    }
+
+    @Test
+    void revocarNoAfectaAOtrosUsuarios() {
+        String token = jwtService.generarToken(usuario(2L));
+
+        jwtService.revocar(1L);
+
+        assertThat(jwtService.verificar(token)).isPresent();
+    }
+
+    @Test
+    void tokenFirmadoConOtraClaveNoSeVerifica() {
+        String token = new JwtService("otro-secreto", 86_400_000, 100, Duration.ofMinutes(5))
+            .generarToken(usuario(1L));
+
+        assertThat(jwtService.verificar(token)).isEmpty();
+    }
+
+    private static UsuarioPrincipal usuario(Long id) {
+        return UsuarioPrincipal.builder()
+            .id(id)
+            .uuid(UUID.randomUUID())
+            .username("usuario" + id)
+            .nombre("Nombre")
+            .apellido("Apellido")
+            .perfil(PerfilUsuario.OPERARIO)
+            .activo(true)
+            .build();
+    }
+}
@@ -0,0 +1,95 @@
+package co.empresa.gestioncontratos.service;
+
+import co.empresa.gestioncontratos.enums.TipoPredio;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class LiquidacionServiceTest {
+
+    @Autowired
+    private ApplicationContext contexto;
+
+    @Autowired
+    private ActividadService actividadService;
+
+    @Autowired
+    private LiquidacionService liquidacionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private EscenarioActividades escenario;
+
+    @BeforeEach
+    void preparar() {
+        escenario = EscenarioActividades.crear(contexto);
+    }
+
+    // La consulta convierte precio y cantidad a centavos y centésimas (CAST(x * 100 AS Long));
+    // el total de cada actividad se redondea al centavo como en MatrizTarifas.totalCentavos
+    @Test
+    void convierteACentavosYCentesimas() {
+        LocalDate hoy = LocalDate.now();
+        aprobada(hoy.minusDays(1), "10.01", "1.50");   // 15.015 -> 15.02
+        aprobada(hoy.minusDays(4), "0.05", "0.10");    // 0.005 -> 0.01
+        aprobada(hoy.minusDays(7), "19.99", "3.33");   // 66.5667 -> 66.57
+        aprobada(hoy.minusDays(9), null, "1.00");      // sin precio: cuenta, no suma
+
+        LiquidacionService.Liquidacion liquidacion = liquidacionService
+            .liquidarContrato(escenario.contrato.getId(), hoy.minusDays(9), hoy).orElseThrow();
+
+        assertThat(liquidacion.actividades()).isEqualTo(4);
+        assertThat(liquidacion.sinPrecio()).isEqualTo(1);
+        assertThat(liquidacion.totalCentavos()).isEqualTo(1502 + 1 + 6657);
+        assertThat(liquidacion.getTotal()).isEqualByComparingTo(
+            total("10.01", "1.50").add(total("0.05", "0.10")).add(total("19.99", "3.33")));
+
+        LiquidacionService.Linea urbano = liquidacion.porTipoPredio().get(TipoPredio.URBANO);
+        assertThat(urbano.cantidadCentesimas()).isEqualTo(150 + 10 + 333 + 100);
+        assertThat(urbano.getCantidad()).isEqualByComparingTo("5.93");
+        assertThat(liquidacion.porOperario().get(escenario.operario.getId()).totalCentavos()).isEqualTo(8160);
+        assertThat(liquidacion.porServicio().get(escenario.servicio.getId()).actividades()).isEqualTo(4);
+    }
+
+    // Los tramos del periodo se leen por separado y se combinan: un día o un periodo largo dan lo mismo
+    @Test
+    void losTramosSumanLoMismoQueUnSoloDia() {
+        LocalDate hoy = LocalDate.now();
+        aprobada(hoy.minusDays(2), "7.25", "2.00");
+        aprobada(hoy.minusDays(2), "7.25", "0.50");
+
+        long unDia = liquidacionService.liquidarContrato(escenario.contrato.getId(), hoy.minusDays(2), hoy.minusDays(2))
+            .orElseThrow().totalCentavos();
+        long periodo = liquidacionService.liquidarContrato(escenario.contrato.getId(), hoy.minusDays(30), hoy)
+            .orElseThrow().totalCentavos();
+
+        assertThat(unDia).isEqualTo(1450 + 363);
+        assertThat(periodo).isEqualTo(unDia);
+    }
+
+    private void aprobada(LocalDate fecha, String precio, String cantidad) {
+        UUID uuid = UUID.randomUUID();
+        actividadService.registrarLote(escenario.operario.getId(), List.of(escenario.actividad(uuid, fecha)));
+        jdbcTemplate.update("UPDATE actividades SET estado = 'APROBADA', precio_aplicado = ?, cantidad = ? WHERE uuid = ?",
+            precio != null ? new BigDecimal(precio) : null, new BigDecimal(cantidad), uuid);
+    }
+
+    private static BigDecimal total(String precio, String cantidad) {
+        return new BigDecimal(precio).multiply(new BigDecimal(cantidad)).setScale(2, RoundingMode.HALF_UP);
+    }
+}
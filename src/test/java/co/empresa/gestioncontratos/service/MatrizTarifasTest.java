@@ -0,0 +1,144 @@
+package co.empresa.gestioncontratos.service;
+
+import co.empresa.gestioncontratos.enums.TipoPredio;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MatrizTarifasTest {
+
+    private static final UUID PLAN_A = UUID.fromString("00000000-0000-7000-8000-00000000000a");
+    private static final UUID PLAN_B = UUID.fromString("00000000-0000-7000-8000-00000000000b");
+    private static final UUID SERVICIO_X = UUID.fromString("00000000-0000-7000-8000-0000000000f1");
+    private static final UUID SERVICIO_Y = UUID.fromString("00000000-0000-7000-8000-0000000000f2");
+
+    // Plan 10 tiene tarifa para los servicios 1 y 2; plan 20 solo para el 2
+    private static List<Object[]> filas(String precioUrbanoPlan20) {
+        return List.of(
+            new Object[] {10L, PLAN_A, 1L, SERVICIO_X, new BigDecimal("10.50"), new BigDecimal("12.00")},
+            new Object[] {10L, PLAN_A, 2L, SERVICIO_Y, new BigDecimal("7.25"), new BigDecimal("8.10")},
+            new Object[] {20L, PLAN_B, 2L, SERVICIO_Y, new BigDecimal(precioUrbanoPlan20), new BigDecimal("9.99")});
+    }
+
+    // ==================== INDEXACIÓN ====================
+
+    @Test
+    void vaciaNoTieneTarifas() {
+        MatrizTarifas matriz = MatrizTarifas.vacia();
+
+        assertThat(matriz.getVersion()).isZero();
+        assertThat(matriz.getTotalTarifas()).isZero();
+        assertThat(matriz.precioCentavos(10L, 1L, TipoPredio.URBANO)).isEqualTo(MatrizTarifas.SIN_TARIFA);
+        assertThat(matriz.precioCentavos(PLAN_A, SERVICIO_X, TipoPredio.RURAL)).isEqualTo(MatrizTarifas.SIN_TARIFA);
+    }
+
+    @Test
+    void cadaCombinacionDevuelveSuPrecio() {
+        MatrizTarifas matriz = MatrizTarifas.construir(1, filas("6.00"));
+
+        assertThat(matriz.precioCentavos(10L, 1L, TipoPredio.URBANO)).isEqualTo(1050);
+        assertThat(matriz.precioCentavos(10L, 1L, TipoPredio.RURAL)).isEqualTo(1200);
+        assertThat(matriz.precioCentavos(10L, 2L, TipoPredio.URBANO)).isEqualTo(725);
+        assertThat(matriz.precioCentavos(10L, 2L, TipoPredio.RURAL)).isEqualTo(810);
+        assertThat(matriz.precioCentavos(20L, 2L, TipoPredio.URBANO)).isEqualTo(600);
+        assertThat(matriz.precioCentavos(20L, 2L, TipoPredio.RURAL)).isEqualTo(999);
+        assertThat(matriz.getTotalTarifas()).isEqualTo(3);
+    }
+
+    @Test
+    void porUuidEsIgualQuePorId() {
+        MatrizTarifas matriz = MatrizTarifas.construir(1, filas("6.00"));
+
+        for (TipoPredio tipo : TipoPredio.values()) {
+            assertThat(matriz.precioCentavos(PLAN_A, SERVICIO_X, tipo)).isEqualTo(matriz.precioCentavos(10L, 1L, tipo));
+            assertThat(matriz.precioCentavos(PLAN_A, SERVICIO_Y, tipo)).isEqualTo(matriz.precioCentavos(10L, 2L, tipo));
+            assertThat(matriz.precioCentavos(PLAN_B, SERVICIO_Y, tipo)).isEqualTo(matriz.precioCentavos(20L, 2L, tipo));
+        }
+    }
+
+    @Test
+    void combinacionSinTarifaODesconocida() {
+        MatrizTarifas matriz = MatrizTarifas.construir(1, filas("6.00"));
+
+        // Plan y servicio existen, pero no esa combinación
+        assertThat(matriz.precioCentavos(20L, 1L, TipoPredio.URBANO)).isEqualTo(MatrizTarifas.SIN_TARIFA);
+        assertThat(matriz.precioCentavos(PLAN_B, SERVICIO_X, TipoPredio.RURAL)).isEqualTo(MatrizTarifas.SIN_TARIFA);
+        assertThat(matriz.precioCentavos(99L, 1L, TipoPredio.URBANO)).isEqualTo(MatrizTarifas.SIN_TARIFA);
+        assertThat(matriz.precioCentavos(10L, 99L, TipoPredio.URBANO)).isEqualTo(MatrizTarifas.SIN_TARIFA);
+        assertThat(matriz.precioCentavos(UUID.randomUUID(), SERVICIO_X, TipoPredio.URBANO)).isEqualTo(MatrizTarifas.SIN_TARIFA);
+        assertThat(matriz.precioCentavos(null, 1L, TipoPredio.URBANO)).isEqualTo(MatrizTarifas.SIN_TARIFA);
+        assertThat(matriz.precioCentavos(10L, null, TipoPredio.URBANO)).isEqualTo(MatrizTarifas.SIN_TARIFA);
+        assertThat(matriz.precioCentavos(10L, 1L, null)).isEqualTo(MatrizTarifas.SIN_TARIFA);
+    }
+
+    // ==================== VERSIONES ====================
+
+    @Test
+    void conservaLaVersionConLaQueSeConstruye() {
+        assertThat(MatrizTarifas.construir(7, filas("6.00")).getVersion()).isEqualTo(7);
+    }
+
+    @Test
+    void mismosPreciosIgnoraLaVersion() {
+        MatrizTarifas anterior = MatrizTarifas.construir(1, filas("6.00"));
+        MatrizTarifas nueva = MatrizTarifas.construir(2, filas("6.00"));
+
+        assertThat(nueva.mismosPrecios(anterior)).isTrue();
+    }
+
+    @Test
+    void unPrecioDistintoEsOtraVersion() {
+        MatrizTarifas anterior = MatrizTarifas.construir(1, filas("6.00"));
+        MatrizTarifas nueva = MatrizTarifas.construir(2, filas("6.01"));
+
+        assertThat(nueva.mismosPrecios(anterior)).isFalse();
+    }
+
+    @Test
+    void unaTarifaNuevaEsOtraVersion() {
+        MatrizTarifas anterior = MatrizTarifas.construir(1, filas("6.00").subList(0, 2));
+        MatrizTarifas nueva = MatrizTarifas.construir(2, filas("6.00"));
+
+        assertThat(nueva.mismosPrecios(anterior)).isFalse();
+        assertThat(anterior.mismosPrecios(MatrizTarifas.vacia())).isFalse();
+    }
+
+    // ==================== REDONDEO ====================
+
+    @Test
+    void aCentavosRedondeaMitadHaciaArriba() {
+        assertThat(MatrizTarifas.aCentavos(new BigDecimal("12.345"))).isEqualTo(1235);
+        assertThat(MatrizTarifas.aCentavos(new BigDecimal("12.344"))).isEqualTo(1234);
+        assertThat(MatrizTarifas.aCentavos(new BigDecimal("7"))).isEqualTo(700);
+        assertThat(MatrizTarifas.aDecimal(1235)).isEqualByComparingTo("12.35");
+        assertThat(MatrizTarifas.aDecimal(1235).scale()).isEqualTo(2);
+    }
+
+    @Test
+    void totalCentavosRedondeaAlCentavo() {
+        // 10.01 × 1.5 = 15.015 -> 15.02
+        assertThat(MatrizTarifas.totalCentavos(1001, new BigDecimal("1.5"))).isEqualTo(1502);
+        // 10.00 × 0.333 = 3.33
+        assertThat(MatrizTarifas.totalCentavos(1000, new BigDecimal("0.333"))).isEqualTo(333);
+        // 0.05 × 0.1 = 0.005 -> 0.01
+        assertThat(MatrizTarifas.totalCentavos(5, new BigDecimal("0.1"))).isEqualTo(1);
+        // 0.04 × 0.1 = 0.004 -> 0.00
+        assertThat(MatrizTarifas.totalCentavos(4, new BigDecimal("0.1"))).isZero();
+        assertThat(MatrizTarifas.totalCentavos(1050, BigDecimal.ONE)).isEqualTo(1050);
+    }
+
+    @Test
+    void totalEnteroCoincideConElDecimal() {
+        for (long precio = 0; precio <= 2000; precio += 7) {
+            for (long centesimas = 0; centesimas <= 1000; centesimas += 3) {
+                assertThat(MatrizTarifas.totalCentavos(precio, centesimas))
+                    .as("precio %d, cantidad %d centésimas", precio, centesimas)
+                    .isEqualTo(MatrizTarifas.totalCentavos(precio, BigDecimal.valueOf(centesimas, 2)));
+            }
+        }
+    }
+}